@@ -0,0 +1,54 @@
+package com.flightapp.cache;
+
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.entity.Booking;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+/**
+ * Size-bounded cache of recently read bookings keyed by PNR. Entries are only
+ * populated from the indexed lookup and must be evicted whenever the booking is
+ * updated or deleted. A lookup is cached as its pending load, so concurrent reads
+ * share one query and an eviction that lands while the load is in flight drops its
+ * result instead of letting a stale booking be cached afterwards.
+ */
+@Component
+public class PnrBookingCache {
+	private final AsyncCache<String, Booking> cache;
+    private final Timer lookupTimer;
+
+    public PnrBookingCache(MeterRegistry meterRegistry,
+                           @Value("${flightapp.booking.pnr-cache.max-size:100000}") long maxSize) {
+        this.cache = Caffeine.newBuilder().maximumSize(maxSize).recordStats().buildAsync();
+        this.lookupTimer = Timer.builder("booking.pnr.lookup")
+                .description("Latency of booking lookups by PNR, cache hits included")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "booking.pnr");
+    }
+
+    public Mono<Booking> get(String pnr, Function<String, Mono<Booking>> loader) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start();
+            return Mono.fromFuture(cache.get(pnr, (key, executor) -> loader.apply(key).toFuture()), true)
+                    .doFinally(signal -> sample.stop(lookupTimer));
+        });
+    }
+
+    public void invalidate(String pnr) {
+        if (pnr != null) cache.synchronous().invalidate(pnr);
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+}
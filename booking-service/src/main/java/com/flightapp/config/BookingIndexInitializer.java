@@ -0,0 +1,36 @@
+package com.flightapp.config;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.entity.Booking;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class BookingIndexInitializer implements CommandLineRunner {
+	private final ReactiveMongoTemplate mongoTemplate;
+
+    public BookingIndexInitializer(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Blocks startup until the unique PNR index exists. PNR lookups and the booking cache assume a
+     * PNR names one booking, so the service must not take traffic without it; a failure here, such
+     * as duplicate PNRs already stored, fails startup.
+     */
+    @Override
+    public void run(String... args) {
+        String name = mongoTemplate.indexOps(Booking.class)
+            .createIndex(new Index().on("pnr", Sort.Direction.ASC).unique().named("pnr_unique"))
+            .onErrorMap(ex -> new IllegalStateException("Cannot create booking index pnr_unique; "
+                    + "bookings sharing a PNR must be resolved by hand: " + ex.getMessage(), ex))
+            .block();
+        log.info("Booking index ready: {}", name);
+    }
+}
@@ -6,6 +6,7 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -14,8 +15,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import com.flightapp.dto.BookingDTO;
 import com.flightapp.entity.Booking;
@@ -27,6 +30,7 @@ import reactor.core.publisher.Mono;
 @RestController
 @RequestMapping("/api/flight/bookings")
 public class BookingController {
+	static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 	private final BookingService bookingService;
 	private static final Logger logger = LoggerFactory.getLogger(BookingController.class);
 	
@@ -75,10 +79,32 @@ public class BookingController {
         return bookingService.getBookingByPnr(pnr).map(this::toDto);
     }
 
-    @GetMapping
+    /**
+     * One page of bookings in id order, reduced to the comma-separated {@code fields} (all fields if
+     * absent). When more follow, the {@value #NEXT_CURSOR_HEADER} header carries the {@code after}
+     * value for the next request.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
-    public Flux<BookingDTO> getAll() {
-        return bookingService.getAllBookings().map(this::toDto);
+    public Mono<ResponseEntity<Object>> getAll(@RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit, @RequestParam(required = false) String fields) {
+        return bookingService.listBookings(after, limit, fields)
+            .map(page -> {
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                if (page.getNextCursor() != null) response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+                return response.body((Object) page.getBookings());
+            })
+            .onErrorResume(ResponseStatusException.class, ex ->
+                Mono.just(ResponseEntity.status(ex.getStatusCode()).body(Map.of("error", ex.getReason())))
+            );
+    }
+
+    /** Streams every booking after {@code after} as newline-delimited JSON, read from Mongo as the client consumes it. */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public Flux<Map<String, Object>> streamAll(@RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit, @RequestParam(required = false) String fields) {
+        return bookingService.streamBookings(after, limit, fields);
     }
 
     @DeleteMapping("/{id}")
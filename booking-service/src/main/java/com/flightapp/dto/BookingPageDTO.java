@@ -0,0 +1,17 @@
+package com.flightapp.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One page of the booking listing, each booking reduced to the requested fields; {@code nextCursor} is {@code null} on the last page. */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingPageDTO {
+	private List<Map<String, Object>> bookings;
+	private String nextCursor;
+}
@@ -0,0 +1,14 @@
+package com.flightapp.dto;
+
+import java.util.Map;
+
+import lombok.Data;
+
+/** One entry of flight-service's batch flight lookup; {@code flight} is {@code null} and {@code message} set when it does not exist. */
+@Data
+public class FlightBatchItemDTO {
+	private String flightId;
+    private FlightDTO flight;
+    private Map<String, Boolean> seats;
+    private String message;
+}
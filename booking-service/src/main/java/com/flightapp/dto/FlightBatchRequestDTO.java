@@ -0,0 +1,16 @@
+package com.flightapp.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FlightBatchRequestDTO {
+	private List<String> flightIds;
+    private Map<String, List<String>> seatNumbers;
+}
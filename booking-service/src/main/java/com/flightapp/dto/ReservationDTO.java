@@ -0,0 +1,12 @@
+package com.flightapp.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class ReservationDTO {
+	private String flightId;
+    private List<String> seatNumbers;
+    private int availableSeats;
+}
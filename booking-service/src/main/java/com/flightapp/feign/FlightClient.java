@@ -5,9 +5,13 @@ import java.util.List;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import com.flightapp.dto.FlightBatchItemDTO;
+import com.flightapp.dto.FlightBatchRequestDTO;
 import com.flightapp.dto.FlightDTO;
 import com.flightapp.dto.SeatDTO;
 
@@ -18,6 +22,14 @@ public interface FlightClient {
 	@GetMapping("/api/flight/flights/{flightId}")
     FlightDTO getFlightById(@PathVariable String flightId);
 
+	/** Several flights in one call, in the order of {@code ids}. */
+	@GetMapping("/api/flight/flights/batch")
+    List<FlightBatchItemDTO> getFlightsByIds(@RequestParam("ids") List<String> ids);
+
+	/** Several flights plus the availability of the given seat numbers per flight id. */
+	@PostMapping("/api/flight/flights/batch")
+    List<FlightBatchItemDTO> getFlightsWithSeats(@RequestBody FlightBatchRequestDTO request);
+
     @PutMapping("/api/flight/flights/{id}")
     void updateFlight(@PathVariable String id, @RequestBody FlightDTO flight);
 
@@ -0,0 +1,67 @@
+package com.flightapp.listing;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flightapp.entity.Booking;
+
+/**
+ * Booking fields a listing can project, the same ones {@link com.flightapp.dto.BookingDTO} exposes;
+ * {@link #ID} is always included because it is the page cursor.
+ */
+public enum BookingField {
+	ID("id", Booking::getId),
+	PNR("pnr", Booking::getPnr),
+	EMAIL("email", Booking::getEmail),
+	FLIGHT_ID("flightId", Booking::getFlightId),
+	SEAT_COUNT("seatCount", Booking::getSeatCount),
+	PASSENGER_IDS("passengerIds", Booking::getPassengerIds),
+	SEAT_NUMBERS("seatNumbers", Booking::getSeatNumbers),
+	TOTAL_AMOUNT("totalAmount", booking -> Optional.ofNullable(booking.getTotalAmount()).orElse(0f));
+
+	private final String field;
+	private final Function<Booking, Object> getter;
+
+	BookingField(String field, Function<Booking, Object> getter) {
+		this.field = field;
+		this.getter = getter;
+	}
+
+	public String field() {
+		return field;
+	}
+
+	/** Parses a comma-separated list of field names; {@code null} or blank selects every field. */
+	public static Set<BookingField> parse(String fields) {
+		if (fields == null || fields.isBlank()) return EnumSet.allOf(BookingField.class);
+		Set<BookingField> selected = EnumSet.of(ID);
+		for (String name : fields.split(",")) {
+			String trimmed = name.trim();
+			if (trimmed.isEmpty()) continue;
+			selected.add(of(trimmed));
+		}
+		return selected;
+	}
+
+	/** The selected fields of the booking, in declaration order. */
+	public static Map<String, Object> project(Booking booking, Set<BookingField> fields) {
+		Map<String, Object> row = new LinkedHashMap<>();
+		for (BookingField field : fields) row.put(field.field, field.getter.apply(booking));
+		return row;
+	}
+
+	private static BookingField of(String name) {
+		for (BookingField field : values()) {
+			if (field.field.equalsIgnoreCase(name) || field.name().equals(name.toUpperCase(Locale.ROOT))) return field;
+		}
+		throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown field: " + name);
+	}
+}
@@ -0,0 +1,10 @@
+package com.flightapp.listing;
+
+import java.util.Set;
+
+/**
+ * Validated booking listing: bookings ordered by id starting after {@code afterId} (may be
+ * {@code null}), only the selected fields, at most {@code limit} rows ({@code null} for no limit).
+ */
+public record BookingListQuery(String afterId, Set<BookingField> fields, Integer limit) {
+}
@@ -0,0 +1,12 @@
+package com.flightapp.repository;
+
+import com.flightapp.entity.Booking;
+import com.flightapp.listing.BookingListQuery;
+
+import reactor.core.publisher.Flux;
+
+/** Custom fragment of {@link BookingRepository} for keyset-paginated, projected listing. */
+public interface BookingListRepository {
+	/** Bookings in id order with only the selected fields populated, read lazily as the subscriber requests them. */
+	Flux<Booking> list(BookingListQuery query);
+}
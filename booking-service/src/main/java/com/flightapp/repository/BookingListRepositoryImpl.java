@@ -0,0 +1,34 @@
+package com.flightapp.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.flightapp.entity.Booking;
+import com.flightapp.listing.BookingListQuery;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Walks the {@code _id} index from the cursor instead of skipping rows, so every page costs about
+ * {@code limit} documents however deep it is, and fetches only the projected fields.
+ */
+public class BookingListRepositoryImpl implements BookingListRepository {
+	private static final int BATCH_SIZE = 256;
+
+	private final ReactiveMongoTemplate mongoTemplate;
+
+    public BookingListRepositoryImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Flux<Booking> list(BookingListQuery query) {
+        Query mongoQuery = new Query().with(Sort.by(Sort.Order.asc("id"))).cursorBatchSize(BATCH_SIZE);
+        if (query.afterId() != null) mongoQuery.addCriteria(Criteria.where("id").gt(query.afterId()));
+        if (query.limit() != null) mongoQuery.limit(query.limit());
+        query.fields().forEach(field -> mongoQuery.fields().include(field.field()));
+        return mongoTemplate.find(mongoQuery, Booking.class);
+    }
+}
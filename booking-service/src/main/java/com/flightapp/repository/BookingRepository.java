@@ -6,7 +6,7 @@ import com.flightapp.entity.Booking;
 
 import reactor.core.publisher.Mono;
 
-public interface BookingRepository extends ReactiveMongoRepository<Booking, String>{
+public interface BookingRepository extends ReactiveMongoRepository<Booking, String>, BookingListRepository {
 	Mono<Booking> findByPnr(String pnr);
 	Mono<Booking> findByEmail(String email);
 }
@@ -1,7 +1,9 @@
 package com.flightapp.service;
 
 import java.util.List;
+import java.util.Map;
 
+import com.flightapp.dto.BookingPageDTO;
 import com.flightapp.entity.Booking;
 
 import reactor.core.publisher.Flux;
@@ -11,6 +13,8 @@ public interface BookingService {
 	Mono<Booking> createBooking(Booking booking);
     Mono<Booking> getBookingByPnr(String pnr);
     Flux<Booking> getAllBookings();
+    Mono<BookingPageDTO> listBookings(String after, Integer limit, String fields);
+    Flux<Map<String, Object>> streamBookings(String after, Integer limit, String fields);
     Mono<Void> deleteBooking(String id);
     Mono<Booking> updateSeatNumbers(String bookingId, List<String> seatNumbers);
     Mono<Booking> updatePassengerIds(String bookingId, List<String> passengerIds);
@@ -2,19 +2,26 @@ package com.flightapp.service.implementation;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
 
-import com.flightapp.dto.FlightDTO;
+import com.flightapp.cache.PnrBookingCache;
+import com.flightapp.dto.BookingPageDTO;
+import com.flightapp.dto.ReservationDTO;
 import com.flightapp.entity.Booking;
 import com.flightapp.events.BookingCancelledEvent;
 import com.flightapp.events.BookingCreatedEvent;
 import com.flightapp.kafka.BookingEventProducer;
+import com.flightapp.listing.BookingField;
+import com.flightapp.listing.BookingListQuery;
 import com.flightapp.repository.BookingRepository;
 import com.flightapp.service.BookingService;
 
@@ -24,22 +31,27 @@ import reactor.core.publisher.Mono;
 
 @Service
 public class BookingSImplementation implements BookingService {
+    private static final int DEFAULT_LIST_LIMIT = 100;
+    private static final int MAX_LIST_LIMIT = 1000;
     private final BookingRepository bookingRepo;
     private final BookingEventProducer bookingEventProducer;
     private final WebClient webClient;
+    private final PnrBookingCache pnrCache;
     @Value("${flightapp.internal.jwt}")
     private String internalJwt;
 
-    public BookingSImplementation(BookingRepository bookingRepo, BookingEventProducer bookingEventProducer, WebClient.Builder webClientBuilder) {
+    public BookingSImplementation(BookingRepository bookingRepo, BookingEventProducer bookingEventProducer,
+                                  WebClient.Builder webClientBuilder, PnrBookingCache pnrCache) {
         this.bookingRepo = bookingRepo;
         this.bookingEventProducer = bookingEventProducer;
         this.webClient = webClientBuilder.baseUrl("http://flight-service:8082").build();
+        this.pnrCache = pnrCache;
     }
     @Override
     @CircuitBreaker(name = "flightServiceBreaker", fallbackMethod = "bookFlightFallback")
     public Mono<Booking> bookFlight(Booking bookingRequest) {
     	return webClient.post()
-    		    .uri("/api/flight/seats/{id}/book", bookingRequest.getFlightId())
+    		    .uri("/api/flight/seats/{id}/reserve", bookingRequest.getFlightId())
     		    .header(HttpHeaders.AUTHORIZATION, "Bearer " + internalJwt)
     		    .bodyValue(bookingRequest.getSeatNumbers())
                 .retrieve()
@@ -55,17 +67,8 @@ public class BookingSImplementation implements BookingService {
                                 .flatMap(msg -> Mono.error(
                                         new IllegalStateException("Seat service error: " + msg)
                                 )))
-                .toBodilessEntity()
-                .then(webClient.put()
-                	    .uri("/api/flight/flights/{id}/inventory?add={delta}",
-                	         bookingRequest.getFlightId(),
-                	         -bookingRequest.getSeatCount())
-                	    .header(HttpHeaders.AUTHORIZATION, "Bearer " + internalJwt)
-                	    .retrieve().onStatus(HttpStatusCode::isError, resp ->
-                                        resp.bodyToMono(String.class).defaultIfEmpty("Inventory update failed")
-                                                .flatMap(msg -> Mono.error(new IllegalStateException("Inventory update failed: " + msg)
-                                                ))).bodyToMono(FlightDTO.class)
-                ).flatMap(flightDto -> {
+                .bodyToMono(ReservationDTO.class)
+                .flatMap(reservation -> {
                     bookingRequest.setId(UUID.randomUUID().toString());
                     bookingRequest.setPnr(
                             "PNR-" + bookingRequest.getId().substring(0, 6).toUpperCase());
@@ -95,9 +98,7 @@ public class BookingSImplementation implements BookingService {
 
     @Override
     public Mono<Booking> getBookingByPnr(String pnr) {
-        return bookingRepo.findAll()
-                .filter(b -> pnr.equals(b.getPnr()))
-                .singleOrEmpty();
+        return pnrCache.get(pnr, bookingRepo::findByPnr);
     }
 
     @Override
@@ -105,6 +106,28 @@ public class BookingSImplementation implements BookingService {
         return bookingRepo.findAll();
     }
 
+    @Override
+    public Mono<BookingPageDTO> listBookings(String after, Integer limit, String fields) {
+        int pageSize = limit == null ? DEFAULT_LIST_LIMIT : limit;
+        if (pageSize < 1 || pageSize > MAX_LIST_LIMIT)
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_LIST_LIMIT));
+        return Mono.fromCallable(() -> BookingField.parse(fields)).flatMap(selected ->
+            bookingRepo.list(new BookingListQuery(after, selected, pageSize + 1)).collectList().map(rows -> {
+                boolean more = rows.size() > pageSize;
+                List<Booking> page = more ? rows.subList(0, pageSize) : rows;
+                String nextCursor = more ? page.get(page.size() - 1).getId() : null;
+                return new BookingPageDTO(page.stream().map(booking -> BookingField.project(booking, selected)).toList(), nextCursor);
+            }));
+    }
+
+    @Override
+    public Flux<Map<String, Object>> streamBookings(String after, Integer limit, String fields) {
+        if (limit != null && limit < 1)
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be at least 1"));
+        return Mono.fromCallable(() -> BookingField.parse(fields)).flatMapMany(selected ->
+            bookingRepo.list(new BookingListQuery(after, selected, limit)).map(booking -> BookingField.project(booking, selected)));
+    }
+
     @Override
     public Mono<Void> deleteBooking(String id) {
         return bookingRepo.findById(id)
@@ -122,7 +145,8 @@ public class BookingSImplementation implements BookingService {
                     event.setSeatCount(booking.getSeatCount());
                     event.setReason("Cancelled by user");
                     bookingEventProducer.sendBookingCancelledEvent(event);
-                    return bookingRepo.delete(booking);
+                    return bookingRepo.delete(booking)
+                            .doOnSuccess(v -> pnrCache.invalidate(booking.getPnr()));
                 });
     }
 
@@ -132,7 +156,8 @@ public class BookingSImplementation implements BookingService {
                 .flatMap(b -> {
                     b.setSeatNumbers(seatNumbers);
                     return bookingRepo.save(b);
-                });
+                })
+                .doOnNext(saved -> pnrCache.invalidate(saved.getPnr()));
     }
 
     @Override
@@ -141,7 +166,8 @@ public class BookingSImplementation implements BookingService {
                 .flatMap(b -> {
                     b.setPassengerIds(passengerIds);
                     return bookingRepo.save(b);
-                });
+                })
+                .doOnNext(saved -> pnrCache.invalidate(saved.getPnr()));
     }
 
     @Override
@@ -150,7 +176,8 @@ public class BookingSImplementation implements BookingService {
                 .flatMap(b -> {
                     b.setTotalAmount(amount);
                     return bookingRepo.save(b);
-                });
+                })
+                .doOnNext(saved -> pnrCache.invalidate(saved.getPnr()));
     }
 
     public Mono<Booking> bookFlightFallback(Booking bookingRequest, Throwable ex) {
@@ -6,14 +6,19 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.flightapp.dto.BookingPageDTO;
 import com.flightapp.entity.Booking;
 import com.flightapp.enums.GENDER;
 import com.flightapp.enums.MEAL_PREFERENCE;
@@ -85,13 +90,38 @@ class BookingControllerTest {
 
     @Test
     void testGetAllBookings() {
-        when(bookingService.getAllBookings()).thenReturn(Flux.just(sampleBooking));
+        when(bookingService.listBookings(null, null, null)).thenReturn(Mono.just(
+                new BookingPageDTO(List.of(Map.of("id", sampleBooking.getId(), "pnr", "PNR-ABC123")), sampleBooking.getId())));
         webTestClient.get().uri("/api/flight/bookings")
             .exchange()
             .expectStatus().isOk()
+            .expectHeader().valueEquals(BookingController.NEXT_CURSOR_HEADER, sampleBooking.getId())
             .expectBody()
             .jsonPath("$[0].pnr").isEqualTo("PNR-ABC123");
-        verify(bookingService, times(1)).getAllBookings();
+        verify(bookingService, times(1)).listBookings(null, null, null);
+    }
+
+    @Test
+    void testGetAllBookings_InvalidLimit() {
+        when(bookingService.listBookings(null, 0, null)).thenReturn(Mono.error(
+                new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and 1000")));
+        webTestClient.get().uri("/api/flight/bookings?limit=0")
+            .exchange()
+            .expectStatus().isBadRequest()
+            .expectBody()
+            .jsonPath("$.error").isEqualTo("Limit must be between 1 and 1000");
+    }
+
+    @Test
+    void testStreamBookings_Ndjson() {
+        when(bookingService.streamBookings(null, null, "pnr")).thenReturn(Flux.just(
+                Map.of("pnr", "PNR-ABC123"), Map.of("pnr", "PNR-DEF456")));
+        webTestClient.get().uri("/api/flight/bookings?fields=pnr")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .expectBody(String.class).isEqualTo("{\"pnr\":\"PNR-ABC123\"}\n{\"pnr\":\"PNR-DEF456\"}\n");
     }
 
     @Test
@@ -1,5 +1,6 @@
 package com.flightapp.service.implementation;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -7,23 +8,31 @@ import static org.mockito.Mockito.*;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.context.annotation.Import;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.flightapp.cache.PnrBookingCache;
 import com.flightapp.config.Resilience4jTestConfig;
-import com.flightapp.dto.FlightDTO;
+import com.flightapp.dto.BookingPageDTO;
+import com.flightapp.dto.ReservationDTO;
 import com.flightapp.entity.Booking;
 import com.flightapp.kafka.BookingEventProducer;
+import com.flightapp.listing.BookingField;
+import com.flightapp.listing.BookingListQuery;
 import com.flightapp.repository.BookingRepository;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
 @Import(Resilience4jTestConfig.class)
@@ -38,15 +47,11 @@ class BookingSImplementationTest {
     @Mock private WebClient.RequestHeadersSpec postHeadersSpec;
     @Mock private WebClient.ResponseSpec postResponseSpec;
 
-    @Mock private WebClient.RequestBodyUriSpec putUriSpec;
-    @Mock private WebClient.RequestBodySpec putBodySpec;
-    @Mock private WebClient.RequestHeadersSpec<?> putHeadersSpec;
-    @Mock private WebClient.ResponseSpec putResponseSpec;
-
     @Mock private BookingRepository bookingRepo;
     @Mock private BookingEventProducer bookingEventProducer;
 
     private BookingSImplementation bookingService;
+    private PnrBookingCache pnrCache;
 
     private Booking booking;
 
@@ -66,7 +71,8 @@ class BookingSImplementationTest {
         booking.setSeatNumbers(List.of("1B"));
         booking.setEmail("test@example.com");
         booking.setBookingDate(LocalDateTime.now());
-        bookingService = new BookingSImplementation(bookingRepo, bookingEventProducer, webClientBuilder);
+        pnrCache = new PnrBookingCache(new SimpleMeterRegistry(), 100);
+        bookingService = new BookingSImplementation(bookingRepo, bookingEventProducer, webClientBuilder, pnrCache);
         doNothing().when(bookingEventProducer).sendBookingCreatedEvent(any());
         doNothing().when(bookingEventProducer).sendBookingCancelledEvent(any());
 
@@ -76,14 +82,7 @@ class BookingSImplementationTest {
         when(postBodySpec.bodyValue(any())).thenReturn(postHeadersSpec);
         when(postHeadersSpec.retrieve()).thenReturn(postResponseSpec);
         when(postResponseSpec.onStatus(any(), any())).thenReturn(postResponseSpec);
-        when(postResponseSpec.toBodilessEntity()).thenReturn(Mono.just(ResponseEntity.ok().build()));
-
-        when(webClient.put()).thenReturn(putUriSpec);
-        when(putUriSpec.uri(anyString(), any(Object[].class))).thenReturn(putBodySpec);
-        when(putBodySpec.header(anyString(), anyString())).thenReturn(putBodySpec);
-        when(putBodySpec.retrieve()).thenReturn(putResponseSpec);
-        when(putResponseSpec.onStatus(any(), any())).thenReturn(putResponseSpec);
-        when(putResponseSpec.bodyToMono(FlightDTO.class)).thenReturn(Mono.just(new FlightDTO()));
+        when(postResponseSpec.bodyToMono(ReservationDTO.class)).thenReturn(Mono.just(new ReservationDTO()));
     }
 
     @Test
@@ -105,16 +104,55 @@ class BookingSImplementationTest {
 
         verify(bookingRepo, times(1)).save(any());
         verify(webClient, times(1)).post();
-        verify(webClient, times(1)).put();
+        verify(postUriSpec).uri("/api/flight/seats/{id}/reserve", "FL123");
+        verify(webClient, never()).put();
     }
 
     @Test
     void testGetBookingByPnr() {
         booking.setPnr("PNR-TEST");
-        when(bookingRepo.findAll()).thenReturn(Flux.just(booking));
+        when(bookingRepo.findByPnr("PNR-TEST")).thenReturn(Mono.just(booking));
+        StepVerifier.create(bookingService.getBookingByPnr("PNR-TEST"))
+            .expectNext(booking)
+            .verifyComplete();
+        verify(bookingRepo, never()).findAll();
+    }
+
+    @Test
+    void testGetBookingByPnr_ServedFromCache() {
+        booking.setPnr("PNR-TEST");
+        when(bookingRepo.findByPnr("PNR-TEST")).thenReturn(Mono.just(booking));
+        StepVerifier.create(bookingService.getBookingByPnr("PNR-TEST")).expectNext(booking).verifyComplete();
+        StepVerifier.create(bookingService.getBookingByPnr("PNR-TEST")).expectNext(booking).verifyComplete();
+        verify(bookingRepo, times(1)).findByPnr("PNR-TEST");
+    }
+
+    @Test
+    void testGetBookingByPnr_InvalidatedWhileLoading() {
+        booking.setPnr("PNR-TEST");
+        Sinks.One<Booking> pending = Sinks.one();
+        when(bookingRepo.findByPnr("PNR-TEST")).thenReturn(pending.asMono(), Mono.just(booking));
         StepVerifier.create(bookingService.getBookingByPnr("PNR-TEST"))
+            .then(() -> {
+                pnrCache.invalidate("PNR-TEST");
+                pending.tryEmitValue(booking);
+            })
             .expectNext(booking)
             .verifyComplete();
+        StepVerifier.create(bookingService.getBookingByPnr("PNR-TEST")).expectNext(booking).verifyComplete();
+        verify(bookingRepo, times(2)).findByPnr("PNR-TEST");
+    }
+
+    @Test
+    void testGetBookingByPnr_InvalidatedOnUpdate() {
+        booking.setPnr("PNR-TEST");
+        when(bookingRepo.findByPnr("PNR-TEST")).thenReturn(Mono.just(booking));
+        when(bookingRepo.findById("1")).thenReturn(Mono.just(booking));
+        when(bookingRepo.save(any())).thenReturn(Mono.just(booking));
+        StepVerifier.create(bookingService.getBookingByPnr("PNR-TEST")).expectNext(booking).verifyComplete();
+        StepVerifier.create(bookingService.updateTotalAmount("1", 4200)).expectNext(booking).verifyComplete();
+        StepVerifier.create(bookingService.getBookingByPnr("PNR-TEST")).expectNext(booking).verifyComplete();
+        verify(bookingRepo, times(2)).findByPnr("PNR-TEST");
     }
 
     @Test
@@ -125,6 +163,28 @@ class BookingSImplementationTest {
             .verifyComplete();
     }
 
+    @Test
+    void testListBookings_ProjectsFieldsAndIssuesCursor() {
+        Booking next = new Booking();
+        next.setId("zzz");
+        ArgumentCaptor<BookingListQuery> query = ArgumentCaptor.forClass(BookingListQuery.class);
+        when(bookingRepo.list(query.capture())).thenReturn(Flux.just(booking, next));
+        StepVerifier.create(bookingService.listBookings(null, 1, "email,totalAmount"))
+            .expectNext(new BookingPageDTO(List.of(Map.of("id", booking.getId(), "email", "test@example.com", "totalAmount", 0f)),
+                    booking.getId()))
+            .verifyComplete();
+        assertEquals(
+                new BookingListQuery(null, Set.of(BookingField.ID, BookingField.EMAIL, BookingField.TOTAL_AMOUNT), 2), query.getValue());
+    }
+
+    @Test
+    void testStreamBookings_RejectsUnknownField() {
+        StepVerifier.create(bookingService.streamBookings(null, null, "password"))
+            .expectError(ResponseStatusException.class)
+            .verify();
+        verify(bookingRepo, never()).list(any());
+    }
+
     @Test
     void testDeleteBooking() {
         Booking existingBooking = new Booking();
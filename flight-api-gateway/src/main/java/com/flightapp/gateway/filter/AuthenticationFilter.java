@@ -1,7 +1,6 @@
 package com.flightapp.gateway.filter;
 
 import java.nio.charset.StandardCharsets;
-import java.util.List;
 
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
@@ -36,11 +35,9 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
                 String authHeader = exchange.getRequest().getHeaders().get(HttpHeaders.AUTHORIZATION).get(0);
                 if (authHeader != null && authHeader.startsWith("Bearer ")) authHeader = authHeader.substring(7);
                 try {
-                    jwtUtils.validateToken(authHeader);
-                    List<String> roles = jwtUtils.getRolesFromToken(authHeader);
-                    String rolesString = String.join(",", roles);
+                    String roles = jwtUtils.verify(authHeader).roles();
                     exchange = exchange.mutate()
-                        .request(exchange.getRequest().mutate().header("X-Auth-Roles", rolesString).build()).build();
+                        .request(exchange.getRequest().mutate().header("X-Auth-Roles", roles).build()).build();
                 } catch (Exception e) {
                     System.err.println("Invalid Token: " + e.getMessage());
                     return onError(exchange, "Unauthorized access to application", HttpStatus.UNAUTHORIZED);
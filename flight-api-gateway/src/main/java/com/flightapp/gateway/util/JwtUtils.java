@@ -1,37 +1,104 @@
 package com.flightapp.gateway.util;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
 import java.util.List;
-import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MissingClaimException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
-
+/**
+ * Verifies bearer tokens with a signing key and parser built once at startup. Tokens that passed
+ * verification are remembered by their SHA-256 digest until they expire, capped at
+ * {@code max-ttl}, so repeat requests of a session skip parsing and signature checks. The raw
+ * token is never kept. Sign-out revocation is local to the security service and not checked here:
+ * a signed-out token keeps passing the gateway until it expires.
+ */
 @Component
 public class JwtUtils {
-	@Value("${flightapp.app.jwtSecret}") 
-    private String jwtSecret;
+	/** Roles of a verified token, already joined for the {@code X-Auth-Roles} header. */
+	public record VerifiedToken(String roles, long expiresAtMillis) {}
 
-    public void validateToken(final String token) {
-        Jwts.parserBuilder().setSigningKey(getSignKey()).build().parseClaimsJws(token);
-    }
+	private final JwtParser parser;
+	private final Cache<String, VerifiedToken> verified;
+	private final long maxTtlMillis;
 
-    private Key getSignKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public JwtUtils(@Value("${flightapp.app.jwtSecret}") String jwtSecret,
+                    @Value("${flightapp.gateway.token-cache.max-entries:10000}") long maxEntries,
+                    @Value("${flightapp.gateway.token-cache.max-ttl:5m}") Duration maxTtl,
+                    MeterRegistry meterRegistry) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.maxTtlMillis = maxTtl.toMillis();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String digest, VerifiedToken token, long currentTime) {
+                        return Duration.ofMillis(Math.max(0, token.expiresAtMillis() - System.currentTimeMillis())).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "gatewayVerifiedTokens");
     }
-    public List<String> getRolesFromToken(String token) {
-        return getClaimFromToken(token, claims -> claims.get("roles", List.class));
+
+    /**
+     * Roles of the token, verifying it only if it has not been verified before. Throws the
+     * parser's exception for tokens that are malformed, expired, wrongly signed or carry no
+     * {@code roles} claim.
+     */
+    public VerifiedToken verify(String token) {
+        String digest = digest(token);
+        VerifiedToken known = verified.getIfPresent(digest);
+        if (known != null && known.expiresAtMillis() > System.currentTimeMillis()) return known;
+        Jws<Claims> jws = parser.parseClaimsJws(token);
+        Claims claims = jws.getBody();
+        List<?> roles = claims.get("roles", List.class);
+        if (roles == null) throw new MissingClaimException(jws.getHeader(), claims, "Token has no roles claim");
+        String joined = String.join(",", roles.stream().map(String::valueOf).toList());
+        long cap = System.currentTimeMillis() + maxTtlMillis;
+        Date expiration = claims.getExpiration();
+        VerifiedToken result = new VerifiedToken(joined, expiration == null ? cap : Math.min(expiration.getTime(), cap));
+        verified.put(digest, result);
+        return result;
     }
 
-    public <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = Jwts.parserBuilder().setSigningKey(getSignKey()).build().parseClaimsJws(token).getBody();
-        return claimsResolver.apply(claims);
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
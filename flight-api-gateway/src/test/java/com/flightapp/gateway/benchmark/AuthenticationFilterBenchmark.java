@@ -0,0 +1,119 @@
+package com.flightapp.gateway.benchmark;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.flightapp.gateway.filter.AuthenticationFilter;
+import com.flightapp.gateway.filter.RouteValidator;
+import com.flightapp.gateway.util.JwtUtils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Cost of authenticating one request in the gateway. {@code doubleParse} replays the previous
+ * filter, which rebuilt the signing key and parsed the token twice per request; {@code singleParse}
+ * runs the current filter with every request carrying a token it has not seen, and
+ * {@code cachedToken} with a session repeating its token. Run with {@code mvn test-compile
+ * exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.flightapp.gateway.benchmark.AuthenticationFilterBenchmark}.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AuthenticationFilterBenchmark {
+	private static final String SECRET = "ThisIsASecretKeyForFlightAppThatMustBeVeryLongToSatisfyTheHS512AlgorithmRequirementsAndBeSecureEnoughForProductionUse1234567890";
+	private static final GatewayFilterChain CHAIN = exchange -> Mono.empty();
+	private static final int TOKENS = 4096;
+
+	@State(Scope.Benchmark)
+	public static class Gateway {
+		String token;
+		String[] distinctTokens;
+		GatewayFilter cachingFilter;
+		GatewayFilter uncachedFilter;
+		int next;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+			Date expiration = new Date(System.currentTimeMillis() + Duration.ofHours(1).toMillis());
+			distinctTokens = new String[TOKENS];
+			for (int i = 0; i < TOKENS; i++)
+				distinctTokens[i] = Jwts.builder().setSubject("user" + i).claim("roles", List.of("ROLE_USER"))
+						.setExpiration(expiration).signWith(key, SignatureAlgorithm.HS512).compact();
+			token = distinctTokens[0];
+			cachingFilter = new AuthenticationFilter(new RouteValidator(),
+					new JwtUtils(SECRET, 10_000, Duration.ofMinutes(5), new SimpleMeterRegistry())).apply(new AuthenticationFilter.Config());
+			uncachedFilter = new AuthenticationFilter(new RouteValidator(),
+					new JwtUtils(SECRET, 0, Duration.ofMinutes(5), new SimpleMeterRegistry())).apply(new AuthenticationFilter.Config());
+		}
+
+		String nextDistinct() {
+			next = (next + 1) % TOKENS;
+			return distinctTokens[next];
+		}
+	}
+
+	@Benchmark
+	public Object doubleParse(Gateway gateway) {
+		ServerWebExchange exchange = exchange(gateway.token);
+		String token = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION).substring(7);
+		Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET))).build().parseClaimsJws(token);
+		Claims claims = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET))).build()
+				.parseClaimsJws(token).getBody();
+		List<?> roles = claims.get("roles", List.class);
+		String joined = String.join(",", roles.stream().map(String::valueOf).toList());
+		return exchange.mutate().request(exchange.getRequest().mutate().header("X-Auth-Roles", joined).build()).build();
+	}
+
+	@Benchmark
+	public Object singleParse(Gateway gateway) {
+		return gateway.uncachedFilter.filter(exchange(gateway.nextDistinct()), CHAIN).block();
+	}
+
+	@Benchmark
+	public Object cachedToken(Gateway gateway) {
+		return gateway.cachingFilter.filter(exchange(gateway.token), CHAIN).block();
+	}
+
+	private static ServerWebExchange exchange(String token) {
+		return MockServerWebExchange.from(MockServerHttpRequest.get("/api/flight/seats/F101")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(AuthenticationFilterBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,69 @@
+package com.flightapp.gateway.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MissingClaimException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtUtilsTest {
+	static final String SECRET = "ThisIsASecretKeyForFlightAppThatMustBeVeryLongToSatisfyTheHS512AlgorithmRequirementsAndBeSecureEnoughForProductionUse1234567890";
+
+	private JwtUtils jwtUtils;
+
+    @BeforeEach
+    void setup() {
+        jwtUtils = new JwtUtils(SECRET, 100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testVerifyJoinsRolesAndCapsCacheLifetime() {
+        long expiresAt = System.currentTimeMillis() + Duration.ofHours(1).toMillis();
+        JwtUtils.VerifiedToken verified = jwtUtils.verify(token(SECRET, new Date(expiresAt)));
+        assertEquals("ROLE_USER,ROLE_ADMIN", verified.roles());
+        assertEquals(true, verified.expiresAtMillis() <= System.currentTimeMillis() + Duration.ofMinutes(5).toMillis());
+    }
+
+    @Test
+    void testRepeatedTokenServedFromCache() {
+        String token = token(SECRET, new Date(System.currentTimeMillis() + 60_000));
+        JwtUtils.VerifiedToken first = jwtUtils.verify(token);
+        assertEquals(first, jwtUtils.verify(token));
+    }
+
+    @Test
+    void testRejectsExpiredAndForeignTokens() {
+        assertThrows(ExpiredJwtException.class, () -> jwtUtils.verify(token(SECRET, new Date(System.currentTimeMillis() - 1000))));
+        String otherSecret = SECRET.replace("Secret", "Another");
+        assertThrows(SignatureException.class, () -> jwtUtils.verify(token(otherSecret, new Date(System.currentTimeMillis() + 60_000))));
+    }
+
+    @Test
+    void testRejectsTokenWithoutRoles() {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        String token = Jwts.builder().setSubject("alice").setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000)).signWith(key, SignatureAlgorithm.HS512).compact();
+        assertThrows(MissingClaimException.class, () -> jwtUtils.verify(token));
+        assertThrows(MissingClaimException.class, () -> jwtUtils.verify(token));
+    }
+
+    static String token(String secret, Date expiration) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        return Jwts.builder().setSubject("alice").claim("roles", List.of("ROLE_USER", "ROLE_ADMIN"))
+                .setIssuedAt(new Date()).setExpiration(expiration).signWith(key, SignatureAlgorithm.HS512).compact();
+    }
+}
@@ -1,25 +1,69 @@
 package com.flightapp.config;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.bson.Document;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Component;
 
-import com.flightapp.entity.ERole;
-import com.flightapp.entity.Role;
-import com.flightapp.repository.RoleRepository;
+import com.flightapp.entity.User;
+import com.mongodb.DBRef;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
 
+/**
+ * Creates the user lookup indexes and rewrites users saved while roles were {@code @DBRef}s to
+ * the embedded role names, so no read ever has to resolve the {@code roles} collection. The
+ * migration only touches documents that still hold references and blocks startup until done,
+ * since such documents no longer map onto {@link User}.
+ */
+@Slf4j
 @Component
 public class DataInitializer implements CommandLineRunner{
-	private final RoleRepository roleRepo;
+	private final ReactiveMongoTemplate mongoTemplate;
 
-    public DataInitializer(RoleRepository roleRepo) {
-        this.roleRepo = roleRepo;
+    public DataInitializer(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
     }
 
     @Override
     public void run(String... args) throws Exception {
-    	roleRepo.findByName(ERole.ROLE_USER)
-            .switchIfEmpty(roleRepo.save(new Role(null, ERole.ROLE_USER))).subscribe();
-    	roleRepo.findByName(ERole.ROLE_ADMIN)
-            .switchIfEmpty(roleRepo.save(new Role(null, ERole.ROLE_ADMIN))).subscribe();            
+        mongoTemplate.indexOps(User.class)
+            .createIndex(new Index().on("username", Sort.Direction.ASC).unique().named("user_username_unique"))
+            .subscribe(name -> log.info("User index ready: {}", name),
+                       ex -> log.error("Failed to create user username index: {}", ex.getMessage()));
+        mongoTemplate.indexOps(User.class)
+            .createIndex(new Index().on("email", Sort.Direction.ASC).unique().named("user_email_unique"))
+            .subscribe(name -> log.info("User index ready: {}", name),
+                       ex -> log.error("Failed to create user email index: {}", ex.getMessage()));
+        Long migrated = migrateRoleReferences().block();
+        if (migrated != null && migrated > 0) log.info("Embedded roles for {} users", migrated);
+    }
+
+    Mono<Long> migrateRoleReferences() {
+        return mongoTemplate.findAll(Document.class, "roles")
+            .collectMap(role -> role.get("_id"), role -> role.getString("name"))
+            .flatMap(names -> mongoTemplate.find(new BasicQuery("{ 'roles.$ref': { $exists: true } }"), Document.class, "users")
+                .concatMap(user -> mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(user.get("_id"))),
+                        Update.update("roles", embeddedRoles(user.getList("roles", Object.class), names)), "users"))
+                .count());
+    }
+
+    private static List<String> embeddedRoles(List<Object> roles, Map<Object, String> names) {
+        return roles.stream()
+            .map(role -> role instanceof DBRef ref ? names.get(ref.getId()) : String.valueOf(role))
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
     }
 }
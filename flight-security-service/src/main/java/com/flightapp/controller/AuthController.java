@@ -2,29 +2,38 @@ package com.flightapp.controller;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.flightapp.entity.ERole;
-import com.flightapp.entity.Role;
 import com.flightapp.entity.User;
 import com.flightapp.payload.request.LoginRequest;
 import com.flightapp.payload.request.SignupRequest;
 import com.flightapp.payload.response.JwtResponse;
 import com.flightapp.payload.response.MessageResponse;
-import com.flightapp.repository.RoleRepository;
 import com.flightapp.repository.UserRepository;
 import com.flightapp.security.jwt.JwtUtils;
+import com.flightapp.security.jwt.TokenRevocations;
+import com.flightapp.security.service.CachedUserDetailsService;
+import com.flightapp.security.service.LoginThrottle;
+import com.flightapp.security.service.PasswordHashingPool;
 import com.flightapp.security.service.UserImplementation;
 
+import io.jsonwebtoken.Claims;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
@@ -35,21 +44,36 @@ import reactor.core.publisher.Mono;
 public class AuthController {
 	private final ReactiveAuthenticationManager authenticationManager;
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
-    private final PasswordEncoder encoder;
+    private final PasswordHashingPool hashingPool;
     private final JwtUtils jwtUtils;
+    private final TokenRevocations revocations;
+    private final LoginThrottle loginThrottle;
+    private final CachedUserDetailsService userDetailsService;
+
+    @Value("${flightapp.security.login-throttle.trust-forwarded-for:true}")
+    private boolean trustForwardedFor;
 
     @PostMapping("/signin")
-    public Mono<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public Mono<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest, ServerHttpRequest request) {
+        String username = loginRequest.getUsername();
+        String client = clientAddress(request);
+        if (!loginThrottle.admit(username, client))
+            return Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(loginThrottle.window().toSeconds()))
+                    .body(new MessageResponse("Error: Too many failed sign-in attempts, try again later!")));
         return authenticationManager
             .authenticate(new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()))
-            .map(authentication -> {
+            .<ResponseEntity<?>>map(authentication -> {
                 String jwt = jwtUtils.generateJwtToken(authentication);
                 UserImplementation userDetails = (UserImplementation) authentication.getPrincipal();             
                 java.util.List<String> roles = userDetails.getAuthorities().stream()
                     .map(item -> item.getAuthority()).collect(Collectors.toList());
                 return ResponseEntity.ok(new JwtResponse(jwt,userDetails.getId(), userDetails.getUsername(), userDetails.getEmail(), roles));
-            });
+            })
+            .doOnNext(response -> loginThrottle.recordSuccess(username, client))
+            .doOnError(ex -> !(ex instanceof BadCredentialsException), ex -> loginThrottle.release(username, client))
+            .doOnCancel(() -> loginThrottle.release(username, client))
+            .onErrorMap(RejectedExecutionException.class, PasswordHashingPool::overloaded);
     }
     @PostMapping("/signup")
     public Mono<ResponseEntity<?>> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {        
@@ -57,29 +81,50 @@ public class AuthController {
         boolean isAdminRequest = strRoles != null &&
                 strRoles.stream().anyMatch(r ->
                     r.equalsIgnoreCase("admin") || r.equalsIgnoreCase("ROLE_ADMIN"));        
-        Mono<Role> roleMono;
-        String finalMessage;
-        if (isAdminRequest) {
-            roleMono = roleRepository.findByName(ERole.ROLE_ADMIN).switchIfEmpty(Mono.error(new RuntimeException("Error: Role ADMIN is not found.")));
-            finalMessage = "Admin registered successfully!";
-        } else {
-            roleMono = roleRepository.findByName(ERole.ROLE_USER).switchIfEmpty(Mono.error(new RuntimeException("Error: Role USER is not found.")));
-            finalMessage = "User registered successfully!";
-        }
+        ERole role = isAdminRequest ? ERole.ROLE_ADMIN : ERole.ROLE_USER;
+        String finalMessage = isAdminRequest ? "Admin registered successfully!" : "User registered successfully!";
         return userRepository.existsByUsername(signUpRequest.getUsername())
             .flatMap(exists -> {
                 if (exists) return Mono.just(ResponseEntity.badRequest().body(new MessageResponse("Error: Username is already taken!")));
                 return userRepository.existsByEmail(signUpRequest.getEmail())
                     .flatMap(emailExists -> {
                         if (emailExists) return Mono.just(ResponseEntity.badRequest().body(new MessageResponse("Error: Email is already in use!")));
-                        User user = new User(signUpRequest.getUsername(), signUpRequest.getEmail(), encoder.encode(signUpRequest.getPassword()));
-                        return roleMono.flatMap(role -> {
-                                Set<Role> roles = new HashSet<>();
+                        return hashingPool.encode(signUpRequest.getPassword())
+                            .map(hash -> new User(signUpRequest.getUsername(), signUpRequest.getEmail(), hash))
+                            .flatMap(user -> {
+                                Set<ERole> roles = new HashSet<>();
                                 roles.add(role);
                                 user.setRoles(roles);
                                 return userRepository.save(user);
-                            }).map(savedUser -> ResponseEntity.ok(new MessageResponse(finalMessage)));
+                            }).map(savedUser -> {
+                                userDetailsService.evict(savedUser.getUsername());
+                                return ResponseEntity.ok(new MessageResponse(finalMessage));
+                            });
                     });
             });
     }
+    @PostMapping("/signout")
+    public Mono<ResponseEntity<?>> signoutUser(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+        Claims claims = authHeader != null && authHeader.startsWith("Bearer ") ? jwtUtils.parseJwtToken(authHeader.substring(7)) : null;
+        if (claims == null || claims.getSubject() == null)
+            return Mono.just(ResponseEntity.badRequest().body(new MessageResponse("Error: A valid token is required to sign out!")));
+        return revocations.revoke(claims.getSubject())
+            .doOnNext(generation -> userDetailsService.evict(claims.getSubject()))
+            .thenReturn(ResponseEntity.ok(new MessageResponse("Signed out successfully!")));
+    }
+
+    /**
+     * The address the sign-in is throttled by. Behind the gateway, the only way this service is
+     * meant to be reached, that is the last X-Forwarded-For entry, which the gateway appends;
+     * earlier entries are client-supplied. If the service is reachable directly, anyone can send
+     * that header, so trust-forwarded-for must be off and the connection's peer address is used.
+     */
+    private String clientAddress(ServerHttpRequest request) {
+        String forwarded = trustForwardedFor ? request.getHeaders().getFirst("X-Forwarded-For") : null;
+        if (forwarded != null && !forwarded.isBlank()) {
+            String[] hops = forwarded.split(",");
+            return hops[hops.length - 1].trim();
+        }
+        return request.getRemoteAddress() == null ? null : request.getRemoteAddress().getAddress().getHostAddress();
+    }
 }
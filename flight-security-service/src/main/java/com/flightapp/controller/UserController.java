@@ -0,0 +1,52 @@
+package com.flightapp.controller;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.flightapp.entity.ERole;
+import com.flightapp.payload.response.MessageResponse;
+import com.flightapp.repository.UserRepository;
+import com.flightapp.security.jwt.TokenRevocations;
+import com.flightapp.security.service.CachedUserDetailsService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserController {
+	private final UserRepository userRepository;
+    private final CachedUserDetailsService userDetailsService;
+    private final TokenRevocations revocations;
+
+    /**
+     * Replaces the user's roles and drops their cached details. Tokens carrying the old roles are
+     * revoked only on this instance, see {@link TokenRevocations}: the API gateway keeps honouring
+     * their roles claim until they expire, so a demotion takes full effect only then.
+     */
+    @PutMapping("/{username}/roles")
+    public Mono<ResponseEntity<?>> updateRoles(@PathVariable String username, @RequestBody Set<ERole> roles) {
+        if (roles == null || roles.isEmpty())
+            return Mono.just(ResponseEntity.badRequest().body(new MessageResponse("Error: At least one role is required!")));
+        return userRepository.findByUsername(username)
+            .flatMap(user -> {
+                user.setRoles(new HashSet<>(roles));
+                return userRepository.save(user);
+            })
+            .flatMap(saved -> revocations.revoke(username)
+                .then(Mono.fromRunnable(() -> userDetailsService.evict(username)))
+                .thenReturn(saved))
+            .<ResponseEntity<?>>map(saved -> ResponseEntity.ok(new MessageResponse("Roles updated for " + username
+                    + "; tokens issued before keep their old roles until they expire")))
+            .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse("Error: User not found!")));
+    }
+}
@@ -1,18 +0,0 @@
-package com.flightapp.entity;
-
-import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.Document;
-
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-@Document(collection= "roles")
-public class Role {
-	@Id
-	private String id;
-	private ERole name;
-}
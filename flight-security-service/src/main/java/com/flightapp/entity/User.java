@@ -4,7 +4,6 @@ import java.util.HashSet;
 import java.util.Set;
 
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.Email;
@@ -31,8 +30,9 @@ public class User {
 	@NotBlank
 	@Size(max = 120)
 	private String password;
-	@DBRef
-	private Set<Role> roles = new HashSet<>();
+	private Set<ERole> roles = new HashSet<>();
+	/** Bumped on sign-out and role changes; tokens carrying an older generation are revoked. */
+	private long tokenGeneration;
 	public User(String username, String email, String password) {
 	  this.username = username;
 	  this.email = email;
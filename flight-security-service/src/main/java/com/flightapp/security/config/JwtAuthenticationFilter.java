@@ -1,9 +1,11 @@
 package com.flightapp.security.config;
 
+import java.util.List;
+
 import org.springframework.http.HttpHeaders;
-import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextImpl;
 import org.springframework.security.web.server.context.ServerSecurityContextRepository;
@@ -11,17 +13,25 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 
 import com.flightapp.security.jwt.JwtUtils;
+import com.flightapp.security.jwt.TokenRevocations;
+
+import io.jsonwebtoken.Claims;
 import reactor.core.publisher.Mono;
 
+/**
+ * Builds the security context from the bearer token alone: the signed subject and {@code roles}
+ * claim are trusted as issued at sign-in, so authenticated requests do no user lookup and no
+ * password hashing. Tokens of users that signed out are rejected through {@link TokenRevocations}.
+ */
 @Component
 public class JwtAuthenticationFilter implements ServerSecurityContextRepository {
 
     private final JwtUtils jwtUtils;
-    private final ReactiveAuthenticationManager authenticationManager;
+    private final TokenRevocations revocations;
 
-    public JwtAuthenticationFilter(JwtUtils jwtUtils, ReactiveAuthenticationManager authenticationManager) {
+    public JwtAuthenticationFilter(JwtUtils jwtUtils, TokenRevocations revocations) {
         this.jwtUtils = jwtUtils;
-        this.authenticationManager = authenticationManager;
+        this.revocations = revocations;
     }
 
     @Override
@@ -33,12 +43,14 @@ public class JwtAuthenticationFilter implements ServerSecurityContextRepository
     public Mono<SecurityContext> load(ServerWebExchange exchange) {
         String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = authHeader.substring(7);
-            if (jwtUtils.validateJwtToken(token)) {
-                String username = jwtUtils.getUserNameFromJwtToken(token);
-                Authentication auth = new UsernamePasswordAuthenticationToken(username, token);
-                return authenticationManager.authenticate(auth)
-                        .map(SecurityContextImpl::new);
+            Claims claims = jwtUtils.parseJwtToken(authHeader.substring(7));
+            if (claims != null && claims.getSubject() != null
+                    && !revocations.isRevoked(claims.getSubject(), JwtUtils.generationOf(claims))) {
+                List<?> roles = claims.get("roles", List.class);
+                List<GrantedAuthority> authorities = roles == null ? List.of()
+                        : roles.stream().map(role -> (GrantedAuthority) new SimpleGrantedAuthority(String.valueOf(role))).toList();
+                return Mono.just(new SecurityContextImpl(
+                        new UsernamePasswordAuthenticationToken(claims.getSubject(), null, authorities)));
             }
         }
         return Mono.empty();
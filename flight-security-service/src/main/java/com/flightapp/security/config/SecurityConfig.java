@@ -7,23 +7,26 @@ import org.springframework.security.authentication.UserDetailsRepositoryReactive
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 
+import com.flightapp.security.service.PasswordHashingPool;
+
 @Configuration
 @EnableWebFluxSecurity
 public class SecurityConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingPool hashingPool) {
+        return hashingPool.encoder();
     }
 
     @Bean
-    public ReactiveAuthenticationManager reactiveAuthenticationManager(ReactiveUserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
+    public ReactiveAuthenticationManager reactiveAuthenticationManager(ReactiveUserDetailsService userDetailsService, PasswordEncoder passwordEncoder,
+            PasswordHashingPool hashingPool) {
         UserDetailsRepositoryReactiveAuthenticationManager authManager = new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
         authManager.setPasswordEncoder(passwordEncoder);
+        authManager.setScheduler(hashingPool.scheduler());
         return authManager;
     }
 
@@ -31,6 +34,7 @@ public class SecurityConfig {
     public SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http, JwtAuthenticationFilter jwtFilter) {
         return http.csrf(ServerHttpSecurity.CsrfSpec::disable)
             .authorizeExchange(ex -> ex.pathMatchers("/api/auth/**", "/actuator/**").permitAll()
+                .pathMatchers("/api/users/**").hasAuthority("ROLE_ADMIN")
                 .anyExchange().authenticated()).securityContextRepository(jwtFilter).build();
     }
 }
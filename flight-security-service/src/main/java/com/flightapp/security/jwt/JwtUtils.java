@@ -11,6 +11,8 @@ import org.springframework.stereotype.Component;
 
 import com.flightapp.security.service.UserImplementation;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.ExpiredJwtException;
@@ -19,15 +21,25 @@ import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
 
 @Component
 public class JwtUtils {
 	private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
+	/** The user's token generation at sign-in, see {@link TokenRevocations}. */
+	public static final String GENERATION_CLAIM = "gen";
+
+	  private final Key key;
+	  private final JwtParser parser;
+	  private final int jwtExpirationMs;
+
+	  public JwtUtils(@Value("${flightapp.app.jwtSecret}") String jwtSecret,
+			  @Value("${flightapp.app.jwtExpirationMs}") int jwtExpirationMs) {
+		  this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+		  this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+		  this.jwtExpirationMs = jwtExpirationMs;
+	  }
 
-	  @Value("${flightapp.app.jwtSecret}")
-	  private String jwtSecret;
-	  @Value("${flightapp.app.jwtExpirationMs}")
-	  private int jwtExpirationMs;
 	  public String generateJwtToken(Authentication authentication) {
 		  UserImplementation userPrincipal = (UserImplementation) authentication.getPrincipal();
 		    java.util.List<String> roles = userPrincipal.getAuthorities().stream()
@@ -36,35 +48,46 @@ public class JwtUtils {
 		    return Jwts.builder()
 		        .setSubject((userPrincipal.getUsername()))
 		        .claim("roles", roles)
+		        .claim(GENERATION_CLAIM, userPrincipal.getTokenGeneration())
 		        .setIssuedAt(new Date())
 		        .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-		        .signWith(key(), SignatureAlgorithm.HS256)
+		        .signWith(key, SignatureAlgorithm.HS256)
 		        .compact();
 		  }
 
-	  private Key key() {
-	    return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+	  /** Generation the token was issued at; tokens from before generations were issued count as 0. */
+	  public static long generationOf(Claims claims) {
+	    Number generation = claims.get(GENERATION_CLAIM, Number.class);
+	    return generation == null ? 0 : generation.longValue();
+	  }
+
+	  public long getJwtExpirationMs() {
+	    return jwtExpirationMs;
 	  }
 
 	  public String getUserNameFromJwtToken(String token) {
-	    return Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(token).getBody().getSubject();
+	    return parser.parseClaimsJws(token).getBody().getSubject();
 	  }
 
 	  public boolean validateJwtToken(String authToken) {
+	    return parseJwtToken(authToken) != null;
+	  }
+
+	  /** Claims of a token whose signature and expiry check out, or null if it does not. */
+	  public Claims parseJwtToken(String authToken) {
 	    try {
-	      Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(authToken);
-	      return true;
+	      return parser.parseClaimsJws(authToken).getBody();
 	    } catch (MalformedJwtException e) {
 	      logger.error("Invalid JWT token: {}", e.getMessage());
 	    } catch (ExpiredJwtException e) {
 	      logger.error("JWT token is expired: {}", e.getMessage());
 	    } catch (UnsupportedJwtException e) {
 	      logger.error("JWT token is unsupported: {}", e.getMessage());
+	    } catch (SignatureException e) {
+	      logger.error("Invalid JWT signature: {}", e.getMessage());
 	    } catch (IllegalArgumentException e) {
 	      logger.error("JWT claims string is empty: {}", e.getMessage());
 	    }
-	    return false;
+	    return null;
 	  }
-	  
-	  
 }
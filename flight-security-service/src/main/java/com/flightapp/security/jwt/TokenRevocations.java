@@ -0,0 +1,67 @@
+package com.flightapp.security.jwt;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.entity.User;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Revokes a user's tokens by bumping the token generation stored on the user; tokens carry the
+ * generation they were issued at, so a sign-in right after a revocation, even within the same
+ * second, gets a token that is not revoked. The stored generation is shared by every instance and
+ * survives restarts, but the check itself is local: only the instance that revoked remembers the
+ * new generation, for as long as a token from before it could still be unexpired. Other instances
+ * of this service and the API gateway, which verifies tokens on its own, accept a revoked token
+ * until it expires.
+ */
+@Component
+public class TokenRevocations {
+	/** Generation below which a user's tokens are rejected, and when it was set. */
+	private record Revocation(long generation, long revokedAt) {}
+
+	private final Map<String, Revocation> revocations = new ConcurrentHashMap<>();
+	private final ReactiveMongoTemplate mongoTemplate;
+	private final boolean enabled;
+	private final long retentionMs;
+
+    public TokenRevocations(@Value("${flightapp.app.jwt-revocation.enabled:true}") boolean enabled,
+                            JwtUtils jwtUtils, ReactiveMongoTemplate mongoTemplate) {
+        this.enabled = enabled;
+        this.retentionMs = jwtUtils.getJwtExpirationMs();
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Rejects every token of the user issued so far and emits the new generation; empty when
+     * revocation is off or the user does not exist. Callers drop the user's cached details
+     * afterwards, so the next sign-in is issued the new generation.
+     */
+    public Mono<Long> revoke(String username) {
+        if (!enabled) return Mono.empty();
+        return mongoTemplate.findAndModify(new Query(Criteria.where("username").is(username)),
+                        new Update().inc("tokenGeneration", 1), FindAndModifyOptions.options().returnNew(true), User.class)
+                .map(User::getTokenGeneration)
+                .doOnNext(generation -> {
+                    long now = System.currentTimeMillis();
+                    revocations.merge(username, new Revocation(generation, now),
+                            (previous, next) -> previous.generation() >= next.generation() ? previous : next);
+                    revocations.values().removeIf(revocation -> revocation.revokedAt() < now - retentionMs);
+                });
+    }
+
+    public boolean isRevoked(String username, long generation) {
+        if (!enabled || revocations.isEmpty()) return false;
+        Revocation revocation = revocations.get(username);
+        return revocation != null && generation < revocation.generation();
+    }
+}
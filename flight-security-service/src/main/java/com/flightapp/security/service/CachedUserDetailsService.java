@@ -0,0 +1,50 @@
+package com.flightapp.security.service;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bounded, time-limited cache of user details in front of {@link UserServiceImplementation}.
+ * Concurrent sign-ins for the same user share one in-flight lookup, and unknown usernames are not
+ * cached. Entries are evicted when the user signs up or their roles change; anything else, such as
+ * a password changed outside this service, shows up once the entry expires.
+ */
+@Primary
+@Service
+public class CachedUserDetailsService implements ReactiveUserDetailsService {
+	private final UserServiceImplementation delegate;
+	private final AsyncCache<String, UserDetails> cache;
+
+    public CachedUserDetailsService(UserServiceImplementation delegate, MeterRegistry meterRegistry,
+                                    @Value("${flightapp.security.user-cache.max-entries:10000}") long maxEntries,
+                                    @Value("${flightapp.security.user-cache.ttl:5m}") Duration ttl) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+    }
+
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        return Mono.fromFuture(cache.get(username, (key, executor) -> delegate.findByUsername(key).toFuture()), true);
+    }
+
+    public void evict(String username) {
+        cache.synchronous().invalidate(username);
+    }
+}
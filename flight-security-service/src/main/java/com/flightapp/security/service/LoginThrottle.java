@@ -0,0 +1,197 @@
+package com.flightapp.security.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counts failed sign-ins per username and per client address over a sliding window, so a source
+ * that keeps guessing is turned away before any user lookup or BCrypt work. Every attempt is
+ * counted when it is admitted, before the password is checked, so a burst of concurrent guesses
+ * cannot all slip in ahead of their failures; a correct password or an attempt that ends without
+ * a verdict gives its slot back. Each key costs one
+ * packed {@code long}: the index of the current fixed window and the failure counts of that window
+ * and the one before it. The sliding count weights the previous window by how much of it still
+ * overlaps, which bounds the error without keeping a timestamp per attempt. Keys whose windows
+ * have both passed are swept once per window, and each tracker holds at most {@code max-keys}: once
+ * it is full, attempts for keys it does not know are refused until the sweep makes room, so spraying
+ * usernames cannot switch the per-user limit off.
+ */
+@Component
+public class LoginThrottle {
+	private static final int MAX_COUNT = 0xFFFF;
+	/** Rough heap cost of a map entry, its boxed value and key object, excluding the key's characters. */
+	private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+	private final Tracker users;
+	private final Tracker clients;
+	private final long windowMillis;
+	private final LongSupplier clock;
+
+    @Autowired
+    public LoginThrottle(MeterRegistry meterRegistry,
+                         @Value("${flightapp.security.login-throttle.window:10m}") Duration window,
+                         @Value("${flightapp.security.login-throttle.max-failures-per-user:5}") int maxPerUser,
+                         @Value("${flightapp.security.login-throttle.max-failures-per-client:20}") int maxPerClient,
+                         @Value("${flightapp.security.login-throttle.max-keys:100000}") int maxKeys) {
+        this(meterRegistry, window, maxPerUser, maxPerClient, maxKeys, System::currentTimeMillis);
+    }
+
+    LoginThrottle(MeterRegistry meterRegistry, Duration window, int maxPerUser, int maxPerClient, int maxKeys, LongSupplier clock) {
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+        this.users = new Tracker("username", maxPerUser, maxKeys, meterRegistry);
+        this.clients = new Tracker("client", maxPerClient, maxKeys, meterRegistry);
+    }
+
+    /**
+     * Counts the attempt against the username and the client, unless either has failed too often
+     * already; then nothing is counted beyond the rejection and {@code false} is returned.
+     */
+    public boolean admit(String username, String client) {
+        long now = clock.getAsLong();
+        if (!users.reserve(username, now)) return false;
+        if (clients.reserve(client, now)) return true;
+        users.release(username, now);
+        return false;
+    }
+
+    /** A correct password clears the username's failures and gives the client its attempt back. */
+    public void recordSuccess(String username, String client) {
+        if (username != null) users.windows.remove(username);
+        clients.release(client, clock.getAsLong());
+    }
+
+    /** Gives back an admitted attempt that ended without checking the password, e.g. when hashing was overloaded. */
+    public void release(String username, String client) {
+        long now = clock.getAsLong();
+        users.release(username, now);
+        clients.release(client, now);
+    }
+
+    public Duration window() {
+        return Duration.ofMillis(windowMillis);
+    }
+
+    private final class Tracker {
+        private final Map<String, Long> windows = new ConcurrentHashMap<>();
+        private final int limit;
+        private final int maxKeys;
+        private final Counter rejected;
+        private final Counter full;
+        private volatile long sweptWindow;
+
+        private Tracker(String kind, int limit, int maxKeys, MeterRegistry meterRegistry) {
+            this.limit = limit;
+            this.maxKeys = maxKeys;
+            this.rejected = Counter.builder("login.throttle.rejected")
+                    .description("Sign-in attempts refused before checking the password")
+                    .tag("key", kind)
+                    .register(meterRegistry);
+            this.full = Counter.builder("login.throttle.full")
+                    .description("Sign-in attempts refused because the tracker was full")
+                    .tag("key", kind)
+                    .register(meterRegistry);
+            Gauge.builder("login.throttle.keys", windows, Map::size)
+                    .description("Usernames or clients with recent failures")
+                    .tag("key", kind)
+                    .register(meterRegistry);
+            Gauge.builder("login.throttle.memory", this, Tracker::estimatedBytes)
+                    .description("Estimated heap held by the failure tracker")
+                    .tag("key", kind)
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+
+        /**
+         * Counts an attempt unless the key is at its limit, checked and counted in one atomic step.
+         * A key the tracker does not know is refused while the tracker is full.
+         */
+        private boolean reserve(String key, long now) {
+            if (key == null) return true;
+            sweep(now);
+            if (windows.size() >= maxKeys && !windows.containsKey(key)) {
+                full.increment();
+                return false;
+            }
+            long index = now / windowMillis;
+            boolean[] admitted = { true };
+            windows.compute(key, (k, packed) -> {
+                if (packed == null) return pack(index, 0, 1);
+                if (estimate(packed, now) >= limit) {
+                    admitted[0] = false;
+                    return packed;
+                }
+                long current = packed >>> 32;
+                if (current == index) return pack(index, previous(packed), count(packed) + 1);
+                return pack(index, current == index - 1 ? count(packed) : 0, 1);
+            });
+            if (!admitted[0]) rejected.increment();
+            return admitted[0];
+        }
+
+        /** Takes back one counted attempt, from the window it most likely fell in. */
+        private void release(String key, long now) {
+            if (key == null) return;
+            long index = now / windowMillis;
+            windows.computeIfPresent(key, (k, packed) -> {
+                long current = packed >>> 32;
+                if (current < index - 1) return null;
+                int count = count(packed);
+                int previous = previous(packed);
+                if (current == index - 1) {
+                    previous = count;
+                    count = 0;
+                }
+                if (count > 0) count--;
+                else if (previous > 0) previous--;
+                return count == 0 && previous == 0 ? null : pack(index, previous, count);
+            });
+        }
+
+        private double estimate(long packed, long now) {
+            long index = now / windowMillis;
+            long window = packed >>> 32;
+            if (window == index) {
+                double overlap = 1.0 - (double) (now % windowMillis) / windowMillis;
+                return count(packed) + previous(packed) * overlap;
+            }
+            if (window == index - 1) return count(packed) * (1.0 - (double) (now % windowMillis) / windowMillis);
+            return 0;
+        }
+
+        private void sweep(long now) {
+            long index = now / windowMillis;
+            if (sweptWindow == index) return;
+            sweptWindow = index;
+            windows.values().removeIf(packed -> (packed >>> 32) < index - 1);
+        }
+
+        private double estimatedBytes() {
+            long bytes = 0;
+            for (String key : windows.keySet()) bytes += ENTRY_OVERHEAD_BYTES + key.length();
+            return bytes;
+        }
+    }
+
+    private static long pack(long index, int previous, int current) {
+        return index << 32 | (long) Math.min(previous, MAX_COUNT) << 16 | Math.min(current, MAX_COUNT);
+    }
+
+    private static int previous(long packed) {
+        return (int) (packed >>> 16) & MAX_COUNT;
+    }
+
+    private static int count(long packed) {
+        return (int) packed & MAX_COUNT;
+    }
+}
@@ -0,0 +1,172 @@
+package com.flightapp.security.service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Runs BCrypt work on its own fixed pool, one thread per core, so sign-in and sign-up bursts never
+ * hash on the event loop. The queue in front of the pool is bounded: once it is full further
+ * requests fail fast with 503 instead of piling up behind work that would time out anyway. The
+ * BCrypt cost is calibrated at startup so one hash takes about {@code target-latency} on this
+ * machine, unless a fixed {@code cost} is configured. Hashes of another cost still verify.
+ */
+@Component
+public class PasswordHashingPool implements DisposableBean {
+	private static final Logger logger = LoggerFactory.getLogger(PasswordHashingPool.class);
+	private static final int REFERENCE_COST = 10;
+	private static final int MAX_COST = 16;
+
+	private final ThreadPoolExecutor executor;
+	private final Scheduler scheduler;
+	private final PasswordEncoder encoder;
+	private final int cost;
+	private final Timer waitTimer;
+	private final Timer hashTimer;
+	private final Counter rejected;
+
+    public PasswordHashingPool(MeterRegistry meterRegistry,
+                               @Value("${flightapp.security.hashing.threads:0}") int threads,
+                               @Value("${flightapp.security.hashing.queue-capacity:64}") int queueCapacity,
+                               @Value("${flightapp.security.hashing.cost:0}") int cost,
+                               @Value("${flightapp.security.hashing.target-latency:250ms}") Duration targetLatency) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.waitTimer = Timer.builder("password.hash.wait")
+                .description("Time a hashing task spent queued before a worker picked it up")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("password.hash.duration")
+                .description("Time spent computing or verifying a BCrypt hash")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("password.hash.rejected")
+                .description("Hashing tasks turned away because the queue was full")
+                .register(meterRegistry);
+        AtomicInteger workers = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "password-hash-" + workers.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, pool) -> {
+                    rejected.increment();
+                    throw new RejectedExecutionException("Password hashing queue is full");
+                }) {
+            @Override
+            public void execute(Runnable task) {
+                long queuedAt = System.nanoTime();
+                super.execute(() -> {
+                    waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                    task.run();
+                });
+            }
+        };
+        this.scheduler = Schedulers.fromExecutorService(executor, "password-hash");
+        this.cost = cost > 0 ? cost : calibrate(targetLatency);
+        this.encoder = new TimedEncoder(new BCryptPasswordEncoder(this.cost), hashTimer);
+        Gauge.builder("password.hash.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Hashing tasks waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Workers currently hashing")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.cost", () -> this.cost)
+                .description("BCrypt cost factor used for new hashes")
+                .register(meterRegistry);
+    }
+
+    /** Encoder for the configured cost; calling it directly hashes on the caller's thread. */
+    public PasswordEncoder encoder() {
+        return encoder;
+    }
+
+    /** Scheduler backed by the bounded pool, for components that run the encoder themselves. */
+    public Scheduler scheduler() {
+        return scheduler;
+    }
+
+    public int cost() {
+        return cost;
+    }
+
+    public Mono<String> encode(String rawPassword) {
+        return Mono.fromCallable(() -> encoder.encode(rawPassword))
+                .subscribeOn(scheduler)
+                .onErrorMap(RejectedExecutionException.class, PasswordHashingPool::overloaded);
+    }
+
+    public Mono<Boolean> matches(String rawPassword, String encodedPassword) {
+        return Mono.fromCallable(() -> encoder.matches(rawPassword, encodedPassword))
+                .subscribeOn(scheduler)
+                .onErrorMap(RejectedExecutionException.class, PasswordHashingPool::overloaded);
+    }
+
+    public static ResponseStatusException overloaded(Throwable cause) {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many sign-in requests, please retry shortly", cause);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+
+    /**
+     * Times a hash at the reference cost and moves up or down one step for every doubling or
+     * halving of the target, since each BCrypt cost step doubles the work. Never goes below the
+     * library default, so a slow host does not weaken stored hashes.
+     */
+    private static int calibrate(Duration targetLatency) {
+        BCryptPasswordEncoder reference = new BCryptPasswordEncoder(REFERENCE_COST);
+        String sample = reference.encode("calibration");
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            reference.matches("calibration", sample);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double steps = Math.log((double) targetLatency.toNanos() / Math.max(1, best)) / Math.log(2);
+        int calibrated = Math.max(REFERENCE_COST, Math.min(MAX_COST, REFERENCE_COST + (int) Math.floor(steps)));
+        logger.info("BCrypt cost {} takes {} ms here, using cost {} for a {} ms target", REFERENCE_COST,
+                TimeUnit.NANOSECONDS.toMillis(best), calibrated, targetLatency.toMillis());
+        return calibrated;
+    }
+
+    private record TimedEncoder(PasswordEncoder delegate, Timer timer) implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return timer.record(() -> delegate.encode(rawPassword));
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return Boolean.TRUE.equals(timer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return delegate.upgradeEncoding(encodedPassword);
+        }
+    }
+}
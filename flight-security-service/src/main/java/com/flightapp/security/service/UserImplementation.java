@@ -24,24 +24,33 @@ public class UserImplementation implements UserDetails{
 
 	private Collection<? extends GrantedAuthority> authorities;
 
+	private long tokenGeneration;
+
 	public UserImplementation(String id, String username, String email, String password,
 			Collection<? extends GrantedAuthority> authorities) {
+		this(id, username, email, password, authorities, 0);
+	}
+
+	public UserImplementation(String id, String username, String email, String password,
+			Collection<? extends GrantedAuthority> authorities, long tokenGeneration) {
 		this.id = id;
 		this.username = username;
 		this.email = email;
 		this.password = password;
 		this.authorities = authorities;
+		this.tokenGeneration = tokenGeneration;
 	}
 
 	public static UserImplementation build(User user) {
-		List<GrantedAuthority> authorities = user.getRoles().stream().map(role -> new SimpleGrantedAuthority(role.getName().name())).collect(Collectors.toList());
+		List<GrantedAuthority> authorities = user.getRoles().stream().map(role -> new SimpleGrantedAuthority(role.name())).collect(Collectors.toList());
 
 		return new UserImplementation(
 				user.getId(), 
 				user.getUsername(), 
 				user.getEmail(),
 				user.getPassword(), 
-				authorities);
+				authorities,
+				user.getTokenGeneration());
 	}
 
 	@Override
@@ -56,6 +65,10 @@ public class UserImplementation implements UserDetails{
 		return email; 
 	}
 
+	public long getTokenGeneration() {
+		return tokenGeneration;
+	}
+
 	@Override
 	public String getPassword() { 
 		return password; 
@@ -6,29 +6,30 @@ import org.springframework.security.authentication.ReactiveAuthenticationManager
 import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 
 @Configuration
 @EnableWebFluxSecurity
 public class WebSecurityConfig {
-	private final UserServiceImplementation userService;
+	private final ReactiveUserDetailsService userService;
 
-    public WebSecurityConfig(UserServiceImplementation userService) {
+    public WebSecurityConfig(ReactiveUserDetailsService userService) {
         this.userService = userService;
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingPool hashingPool) {
+        return hashingPool.encoder();
     }
 
     @Bean
-    public ReactiveAuthenticationManager authenticationManager(PasswordEncoder passwordEncoder) {
+    public ReactiveAuthenticationManager authenticationManager(PasswordEncoder passwordEncoder, PasswordHashingPool hashingPool) {
         UserDetailsRepositoryReactiveAuthenticationManager authManager = 
             new UserDetailsRepositoryReactiveAuthenticationManager(userService);
         authManager.setPasswordEncoder(passwordEncoder);
+        authManager.setScheduler(hashingPool.scheduler());
         return authManager;
     }
 
@@ -38,6 +39,7 @@ public class WebSecurityConfig {
             .csrf(ServerHttpSecurity.CsrfSpec::disable)
             .authorizeExchange(exchanges -> exchanges
                 .pathMatchers("/api/auth/**").permitAll()
+                .pathMatchers("/api/users/**").hasAuthority("ROLE_ADMIN")
                 .anyExchange().authenticated())
             .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
             .formLogin(ServerHttpSecurity.FormLoginSpec::disable).build();
@@ -0,0 +1,111 @@
+package com.flightapp.security.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.flightapp.entity.User;
+import com.flightapp.security.jwt.JwtUtils;
+import com.flightapp.security.jwt.TokenRevocations;
+import com.flightapp.security.service.UserImplementation;
+
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class JwtAuthenticationFilterTest {
+	private static final String SECRET = "ThisIsASecretKeyForFlightAppThatMustBeVeryLongToSatisfyTheHS512AlgorithmRequirementsAndBeSecureEnoughForProductionUse1234567890";
+
+	private JwtUtils jwtUtils;
+	private ReactiveMongoTemplate mongoTemplate;
+	private TokenRevocations revocations;
+	private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setup() {
+        jwtUtils = new JwtUtils(SECRET, 60_000);
+        mongoTemplate = mock(ReactiveMongoTemplate.class);
+        revocations = new TokenRevocations(true, jwtUtils, mongoTemplate);
+        filter = new JwtAuthenticationFilter(jwtUtils, revocations);
+        User alice = new User("alice", "alice@mail.com", "hash");
+        alice.setTokenGeneration(1);
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(User.class)))
+            .thenReturn(Mono.just(alice));
+    }
+
+    @Test
+    void testLoadBuildsContextFromTokenClaims() {
+        String token = token("alice");
+        StepVerifier.create(filter.load(exchange("Bearer " + token)))
+            .expectNextMatches(context -> context.getAuthentication().getName().equals("alice")
+                    && context.getAuthentication().isAuthenticated()
+                    && context.getAuthentication().getAuthorities().stream().map(GrantedAuthority::getAuthority).toList()
+                        .equals(List.of("ROLE_USER", "ROLE_ADMIN")))
+            .verifyComplete();
+    }
+
+    @Test
+    void testLoadIgnoresMissingOrInvalidTokens() {
+        StepVerifier.create(filter.load(exchange(null))).verifyComplete();
+        StepVerifier.create(filter.load(exchange("Bearer not-a-token"))).verifyComplete();
+        JwtUtils foreign = new JwtUtils(SECRET.replace("Secret", "Another"), 60_000);
+        StepVerifier.create(filter.load(exchange("Bearer " + foreign.generateJwtToken(authentication("alice"))))).verifyComplete();
+    }
+
+    @Test
+    void testRevokedTokensAreRejected() {
+        String token = token("alice", 0);
+        String other = token("bob", 0);
+        StepVerifier.create(revocations.revoke("alice")).expectNext(1L).verifyComplete();
+        StepVerifier.create(filter.load(exchange("Bearer " + token))).verifyComplete();
+        StepVerifier.create(filter.load(exchange("Bearer " + other))).expectNextCount(1).verifyComplete();
+        StepVerifier.create(new TokenRevocations(false, jwtUtils, mongoTemplate).revoke("alice")).verifyComplete();
+        assertEquals(false, new TokenRevocations(false, jwtUtils, mongoTemplate).isRevoked("alice", 0));
+    }
+
+    @Test
+    void testSignInRightAfterRevocationIsAccepted() {
+        revocations.revoke("alice").block();
+        StepVerifier.create(filter.load(exchange("Bearer " + token("alice", 1)))).expectNextCount(1).verifyComplete();
+    }
+
+    private String token(String username) {
+        return token(username, 0);
+    }
+
+    private String token(String username, long generation) {
+        return jwtUtils.generateJwtToken(authentication(username, generation));
+    }
+
+    private static UsernamePasswordAuthenticationToken authentication(String username) {
+        return authentication(username, 0);
+    }
+
+    private static UsernamePasswordAuthenticationToken authentication(String username, long generation) {
+        UserImplementation user = new UserImplementation("U1", username, username + "@mail.com", "hash",
+                List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")), generation);
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+
+    private static MockServerWebExchange exchange(String authorization) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/bookings");
+        if (authorization != null) request.header(HttpHeaders.AUTHORIZATION, authorization);
+        return MockServerWebExchange.from(request);
+    }
+}
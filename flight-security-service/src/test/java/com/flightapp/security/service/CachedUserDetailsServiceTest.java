@@ -0,0 +1,61 @@
+package com.flightapp.security.service;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.flightapp.entity.ERole;
+import com.flightapp.entity.User;
+import com.flightapp.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class CachedUserDetailsServiceTest {
+	private UserRepository userRepo;
+	private CachedUserDetailsService service;
+
+    @BeforeEach
+    void setup() {
+        userRepo = mock(UserRepository.class);
+        service = new CachedUserDetailsService(new UserServiceImplementation(userRepo), new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        User user = new User("alice", "alice@mail.com", "hash");
+        user.setId("U1");
+        user.setRoles(Set.of(ERole.ROLE_ADMIN));
+        when(userRepo.findByUsername("alice")).thenReturn(Mono.just(user));
+        when(userRepo.findByUsername("ghost")).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void testRepeatedLookupsReadOnce() {
+        StepVerifier.create(service.findByUsername("alice"))
+            .expectNextMatches(details -> details.getAuthorities().iterator().next().getAuthority().equals("ROLE_ADMIN"))
+            .verifyComplete();
+        StepVerifier.create(service.findByUsername("alice")).expectNextCount(1).verifyComplete();
+        verify(userRepo, times(1)).findByUsername("alice");
+    }
+
+    @Test
+    void testEvictForcesFreshLookup() {
+        service.findByUsername("alice").block();
+        service.evict("alice");
+        service.findByUsername("alice").block();
+        verify(userRepo, times(2)).findByUsername("alice");
+    }
+
+    @Test
+    void testUnknownUsersAreNotCached() {
+        StepVerifier.create(service.findByUsername("ghost")).expectError(UsernameNotFoundException.class).verify();
+        StepVerifier.create(service.findByUsername("ghost")).expectError(UsernameNotFoundException.class).verify();
+        verify(userRepo, times(2)).findByUsername("ghost");
+    }
+}
@@ -0,0 +1,83 @@
+package com.flightapp.security.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LoginThrottleTest {
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final AtomicLong now = new AtomicLong(1_000_000);
+	private LoginThrottle throttle;
+
+    @BeforeEach
+    void setup() {
+        throttle = new LoginThrottle(registry, Duration.ofSeconds(60), 3, 5, 4, now::get);
+    }
+
+    @Test
+    void testUsernameBlockedAfterLimitAndClearedBySuccess() {
+        for (int i = 0; i < 3; i++) assertTrue(throttle.admit("alice", "10.0.0." + i));
+        assertFalse(throttle.admit("alice", "10.0.0.9"));
+        assertTrue(throttle.admit("bob", "10.0.0.9"));
+        assertEquals(1.0, registry.get("login.throttle.rejected").tag("key", "username").counter().count());
+        throttle.recordSuccess("alice", "10.0.0.0");
+        assertTrue(throttle.admit("alice", "10.0.0.9"));
+    }
+
+    @Test
+    void testConcurrentAttemptsAreCountedOnAdmission() {
+        int admitted = 0;
+        for (int i = 0; i < 10; i++) if (throttle.admit("alice", "10.0.0." + i)) admitted++;
+        assertEquals(3, admitted);
+    }
+
+    @Test
+    void testClientBlockedAcrossUsernames() {
+        for (int i = 0; i < 5; i++) assertTrue(throttle.admit("user" + i % 2, "10.0.0.1"));
+        assertFalse(throttle.admit("someone-else", "10.0.0.1"));
+        assertEquals(1.0, registry.get("login.throttle.rejected").tag("key", "client").counter().count());
+        throttle.recordSuccess("user0", "10.0.0.1");
+        assertTrue(throttle.admit("someone-else", "10.0.0.1"));
+    }
+
+    @Test
+    void testReleasedAttemptIsNotAFailure() {
+        for (int i = 0; i < 3; i++) throttle.admit("alice", null);
+        throttle.release("alice", null);
+        assertTrue(throttle.admit("alice", null));
+        assertFalse(throttle.admit("alice", null));
+    }
+
+    @Test
+    void testFailuresSlideOutOfWindow() {
+        now.set(120_000);
+        for (int i = 0; i < 3; i++) throttle.admit("alice", null);
+        now.addAndGet(60_000);
+        assertFalse(throttle.admit("alice", null));
+        now.addAndGet(30_000);
+        assertTrue(throttle.admit("alice", null));
+        now.addAndGet(120_000);
+        throttle.admit("carol", null);
+        assertEquals(1.0, registry.get("login.throttle.keys").tag("key", "username").gauge().value());
+    }
+
+    @Test
+    void testFullTrackerRefusesNewKeysUntilTheSweep() {
+        for (int i = 0; i < 10; i++) throttle.admit("user" + i, null);
+        assertEquals(4.0, registry.get("login.throttle.keys").tag("key", "username").gauge().value());
+        assertEquals(6.0, registry.get("login.throttle.full").tag("key", "username").counter().count());
+        assertTrue(registry.get("login.throttle.memory").tag("key", "username").gauge().value() > 0);
+        assertFalse(throttle.admit("user9", null));
+        assertTrue(throttle.admit("user0", null));
+        now.addAndGet(120_000);
+        assertTrue(throttle.admit("user9", null));
+    }
+}
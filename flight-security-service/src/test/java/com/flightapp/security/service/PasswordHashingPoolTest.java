@@ -0,0 +1,72 @@
+package com.flightapp.security.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.test.StepVerifier;
+
+class PasswordHashingPoolTest {
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private PasswordHashingPool pool;
+
+    @AfterEach
+    void tearDown() {
+        pool.destroy();
+    }
+
+    @Test
+    void testEncodeAndMatchRunOnPoolAndAreTimed() {
+        pool = new PasswordHashingPool(registry, 2, 4, 4, Duration.ofMillis(250));
+        String hash = pool.encode("secret").block();
+        assertTrue(hash.startsWith("$2a$04$"));
+        StepVerifier.create(pool.matches("secret", hash)).expectNext(true).verifyComplete();
+        StepVerifier.create(pool.matches("wrong", hash)).expectNext(false).verifyComplete();
+        assertEquals(3, registry.get("password.hash.duration").timer().count());
+        assertEquals(3, registry.get("password.hash.wait").timer().count());
+    }
+
+    @Test
+    void testFullQueueIsRejectedWith503() throws Exception {
+        pool = new PasswordHashingPool(registry, 1, 1, 4, Duration.ofMillis(250));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        pool.scheduler().schedule(() -> {
+            started.countDown();
+            await(release);
+        });
+        started.await();
+        pool.scheduler().schedule(() -> await(release));
+        assertEquals(1.0, registry.get("password.hash.queue.depth").gauge().value());
+
+        StepVerifier.create(pool.encode("secret"))
+            .expectErrorMatches(ex -> ex instanceof ResponseStatusException rse
+                    && rse.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE)
+            .verify();
+        assertEquals(1.0, registry.get("password.hash.rejected").counter().count());
+        release.countDown();
+    }
+
+    @Test
+    void testCalibrationNeverGoesBelowDefaultCost() {
+        pool = new PasswordHashingPool(registry, 1, 1, 0, Duration.ofMillis(1));
+        assertEquals(10, pool.cost());
+        assertEquals(10.0, registry.get("password.hash.cost").gauge().value());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.flightapp.config;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.entity.Flight;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class FlightIndexInitializer implements CommandLineRunner {
+	private final ReactiveMongoTemplate mongoTemplate;
+
+    public FlightIndexInitializer(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run(String... args) {
+        mongoTemplate.indexOps(Flight.class)
+            .createIndex(new Index().on("fromPlace", Sort.Direction.ASC).on("toPlace", Sort.Direction.ASC)
+                    .on("departureTime", Sort.Direction.ASC).named("route_departure"))
+            .subscribe(name -> log.info("Flight index ready: {}", name),
+                       ex -> log.error("Failed to create flight (fromPlace, toPlace, departureTime) index: {}", ex.getMessage()));
+        mongoTemplate.indexOps(Flight.class)
+            .createIndex(new Index().on("fromPlace", Sort.Direction.ASC).on("toPlace", Sort.Direction.ASC)
+                    .on("price.oneWay", Sort.Direction.ASC).on("_id", Sort.Direction.ASC).named("route_price"))
+            .subscribe(name -> log.info("Flight index ready: {}", name),
+                       ex -> log.error("Failed to create flight (fromPlace, toPlace, price.oneWay, _id) index: {}", ex.getMessage()));
+    }
+}
@@ -0,0 +1,82 @@
+package com.flightapp.config;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.entity.Seat;
+import com.flightapp.entity.SeatAvailability;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Component
+public class SeatIndexInitializer implements CommandLineRunner {
+	static final String UNIQUE_INDEX = "flight_seat_unique";
+
+	private final ReactiveMongoTemplate mongoTemplate;
+
+    public SeatIndexInitializer(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Blocks startup until both seat indexes exist. Bulk seat inserts rely on the unique
+     * (flightId, seatNumber) index to reject duplicates, so the service must not take traffic
+     * without it; a failure here fails startup. Databases written before the index existed may
+     * hold duplicate seats, so those are removed first.
+     */
+    @Override
+    public void run(String... args) {
+        Long removed = mongoTemplate.indexOps(Seat.class).getIndexInfo()
+            .any(index -> UNIQUE_INDEX.equals(index.getName()))
+            .flatMap(indexed -> indexed ? Mono.just(0L) : removeDuplicateSeats())
+            .block();
+        if (removed != null && removed > 0) log.warn("Removed {} duplicate seats before building {}", removed, UNIQUE_INDEX);
+        String unique = mongoTemplate.indexOps(Seat.class)
+            .createIndex(new Index().on("flightId", Sort.Direction.ASC).on("seatNumber", Sort.Direction.ASC)
+                    .unique().named(UNIQUE_INDEX))
+            .block();
+        log.info("Seat index ready: {}", unique);
+        String version = mongoTemplate.indexOps(Seat.class)
+            .createIndex(new Index().on("flightId", Sort.Direction.ASC).on("version", Sort.Direction.ASC)
+                    .named("flight_seat_version"))
+            .block();
+        log.info("Seat index ready: {}", version);
+    }
+
+    /**
+     * Keeps one seat per (flightId, seatNumber), preferring a booked one (not available, or
+     * claimed), and marks the counts of affected flights stale so they are recounted on next read.
+     */
+    private Mono<Long> removeDuplicateSeats() {
+        Aggregation duplicates = Aggregation.newAggregation(
+                Aggregation.sort(Sort.by(Sort.Order.asc("available"), Sort.Order.desc("claimId"))),
+                Aggregation.group("flightId", "seatNumber")
+                        .push("_id").as("ids")
+                        .count().as("count"),
+                Aggregation.match(Criteria.where("count").gt(1)))
+            .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        return mongoTemplate.aggregate(duplicates, Seat.class, Document.class)
+            .concatMap(group -> {
+                List<Object> ids = group.getList("ids", Object.class);
+                String flightId = group.get("_id", Document.class).getString("flightId");
+                return mongoTemplate.remove(new Query(Criteria.where("_id").in(ids.subList(1, ids.size()))), Seat.class)
+                    .flatMap(deleted -> mongoTemplate.updateFirst(new Query(Criteria.where("flightId").is(flightId)),
+                            new Update().set("stale", true), SeatAvailability.class)
+                        .thenReturn(deleted.getDeletedCount()));
+            })
+            .reduce(0L, Long::sum);
+    }
+}
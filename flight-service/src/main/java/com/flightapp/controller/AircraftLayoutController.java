@@ -0,0 +1,70 @@
+package com.flightapp.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flightapp.dto.SeatMapGenerationDTO;
+import com.flightapp.entity.AircraftLayout;
+import com.flightapp.service.AircraftLayoutService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/flight/layouts")
+@RequiredArgsConstructor
+public class AircraftLayoutController {
+	private final AircraftLayoutService layoutService;
+
+    @GetMapping
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    public Flux<AircraftLayout> getAllLayouts() {
+        return layoutService.getAllLayouts();
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    public Mono<AircraftLayout> getById(@PathVariable String id) {
+        return layoutService.getById(id);
+    }
+
+    @PostMapping("/add")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN')")
+    public Mono<ResponseEntity<Object>> addLayout(@RequestBody AircraftLayout layout) {
+        layout.setId(null);
+        return layoutService.addLayout(layout)
+            .map(savedLayout -> ResponseEntity.status(HttpStatus.CREATED).body((Object)savedLayout))
+            .onErrorResume(ResponseStatusException.class, ex -> Mono.just(error(ex)));
+    }
+
+    @PostMapping("/{layoutId}/generate/{flightId}")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN')")
+    public Mono<ResponseEntity<Object>> generateSeatMap(@PathVariable String layoutId, @PathVariable String flightId) {
+        return layoutService.generateSeatMap(layoutId, flightId)
+            .map(result -> ResponseEntity.ok().body((Object)result))
+            .onErrorResume(ResponseStatusException.class, ex -> Mono.just(error(ex)));
+    }
+
+    /** Generates seat maps for many flights at once; flights that fail are reported with a message. */
+    @PostMapping("/{layoutId}/generate")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN')")
+    public Flux<SeatMapGenerationDTO> generateSeatMaps(@PathVariable String layoutId, @RequestBody List<String> flightIds) {
+        return layoutService.generateSeatMaps(layoutId, flightIds);
+    }
+
+    private static ResponseEntity<Object> error(ResponseStatusException ex) {
+        return ResponseEntity.status(ex.getStatusCode()).body(Map.of("message", ex.getReason()));
+    }
+}
@@ -0,0 +1,37 @@
+package com.flightapp.controller;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flightapp.dto.SearchRequestDTO;
+import com.flightapp.service.ConnectionSearchService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/flight/flights/search")
+@RequiredArgsConstructor
+public class ConnectionSearchController {
+	private final ConnectionSearchService connectionSearchService;
+
+    /** Direct, one-stop and two-stop itineraries between two places, best first. */
+    @PostMapping("/connections")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    public Mono<ResponseEntity<Object>> searchConnections(@RequestBody SearchRequestDTO searchRequest) {
+        return connectionSearchService.searchConnections(searchRequest)
+            .collectList()
+            .map(itineraries -> ResponseEntity.ok().body((Object)itineraries))
+            .onErrorResume(ResponseStatusException.class, ex -> {
+                Map<String, String> errorResponse = Map.of("message", ex.getReason());
+                return Mono.just(ResponseEntity.status(ex.getStatusCode()).body(errorResponse));
+            });
+    }
+}
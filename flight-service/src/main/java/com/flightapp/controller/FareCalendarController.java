@@ -0,0 +1,39 @@
+package com.flightapp.controller;
+
+import java.time.YearMonth;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flightapp.service.FareCalendarService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/flight/flights/calendar")
+@RequiredArgsConstructor
+public class FareCalendarController {
+	private final FareCalendarService fareCalendarService;
+
+    /** Cheapest fares per departure day of a route for one month, e.g. {@code ?from=HYD&to=DEL&month=2030-01}. */
+    @GetMapping
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    public Mono<ResponseEntity<Object>> getFareCalendar(@RequestParam String from, @RequestParam String to,
+                                                        @RequestParam YearMonth month,
+                                                        @RequestParam(defaultValue = "1") int passengers) {
+        return fareCalendarService.getFareCalendar(from, to, month, passengers)
+            .collectList()
+            .map(days -> ResponseEntity.ok().body((Object)days))
+            .onErrorResume(ResponseStatusException.class, ex -> {
+                Map<String, String> errorResponse = Map.of("message", ex.getReason());
+                return Mono.just(ResponseEntity.status(ex.getStatusCode()).body(errorResponse));
+            });
+    }
+}
@@ -0,0 +1,43 @@
+package com.flightapp.controller;
+
+import java.util.List;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.flightapp.dto.FlightBatchItemDTO;
+import com.flightapp.dto.FlightBatchRequestDTO;
+import com.flightapp.service.FlightBatchService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+/**
+ * Multi-get of flights in one round trip. Results come back in request order, one entry per
+ * distinct id, and are streamed as they are read; ask for {@code application/x-ndjson} to get
+ * them line by line.
+ */
+@RestController
+@RequestMapping("/api/flight/flights/batch")
+@RequiredArgsConstructor
+public class FlightBatchController {
+	private final FlightBatchService flightBatchService;
+
+    @GetMapping
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER', 'ROLE_INTERNAL')")
+    public Flux<FlightBatchItemDTO> getFlights(@RequestParam List<String> ids) {
+        return flightBatchService.getFlights(new FlightBatchRequestDTO(ids, null));
+    }
+
+    /** Flights plus, for the flights listed in {@code seatNumbers}, whether each of those seats is available. */
+    @PostMapping
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER', 'ROLE_INTERNAL')")
+    public Flux<FlightBatchItemDTO> getFlightsWithSeats(@RequestBody FlightBatchRequestDTO request) {
+        return flightBatchService.getFlights(request);
+    }
+}
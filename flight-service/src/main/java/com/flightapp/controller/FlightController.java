@@ -1,8 +1,10 @@
 package com.flightapp.controller;
 
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,6 +18,8 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
 import com.flightapp.dto.FlightRequest;
+import com.flightapp.dto.InventoryAdjustmentDTO;
+import com.flightapp.dto.InventoryDTO;
 import com.flightapp.dto.SearchRequestDTO;
 import com.flightapp.entity.Flight;
 import com.flightapp.service.FlightService;
@@ -26,16 +30,40 @@ import reactor.core.publisher.Mono;
 @RestController
 @RequestMapping("/api/flight/flights")
 public class FlightController {
+	static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 	private final FlightService flightService;
 
     public FlightController(FlightService flightService) {
         this.flightService = flightService;
     }
     
-    @GetMapping
+    /**
+     * One page of flights in id order, reduced to the comma-separated {@code fields} (all fields if
+     * absent). When more follow, the {@value #NEXT_CURSOR_HEADER} header carries the {@code after}
+     * value for the next request.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
-    public Flux<Flight> getAllFlights() {
-        return flightService.getAllFlights();
+    public Mono<ResponseEntity<Object>> getAllFlights(@RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit, @RequestParam(required = false) String fields) {
+        return flightService.listFlights(after, limit, fields)
+            .map(page -> {
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                if (page.getNextCursor() != null) response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+                return response.body((Object)page.getFlights());
+            })
+            .onErrorResume(ResponseStatusException.class, ex -> {
+                Map<String, String> errorResponse = Map.of("message", ex.getReason());
+                return Mono.just(ResponseEntity.status(ex.getStatusCode()).body(errorResponse));
+            });
+    }
+
+    /** Streams every flight after {@code after} as newline-delimited JSON, read from Mongo as the client consumes it. */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    public Flux<Map<String, Object>> streamFlights(@RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit, @RequestParam(required = false) String fields) {
+        return flightService.streamFlights(after, limit, fields);
     }
 
     @GetMapping("/{id}")
@@ -52,10 +80,10 @@ public class FlightController {
         flight.setToPlace(request.getToPlace());
         flight.setArrivalTime(request.getArrivalTime());
         flight.setDepartureTime(request.getDepartureTime());
-        flight.setAvailableSeats(request.getAvailableSeats());
         flight.setPrice(request.getPrice());
         flight.setAirlineId(request.getAirlineId());
         flight.setFlightNumber(request.getFlightNumber());
+        flight.setCapacity(request.getCapacity());
         return flightService.updateFlight(id, flight);
     }
 
@@ -71,6 +99,7 @@ public class FlightController {
         flight.setPrice(request.getPrice());
         flight.setAirlineId(request.getAirlineId());
         flight.setFlightNumber(request.getFlightNumber());
+        flight.setCapacity(request.getCapacity());
         return flightService.addFlight(flight)
             .map(savedFlight -> {
                 Map<String, String> successResponse = Map.of("id", savedFlight.getId());
@@ -82,16 +111,45 @@ public class FlightController {
             });
     }
 
+    /**
+     * One page of flights on a route. The body is the list of flights; when more follow, the
+     * {@value #NEXT_CURSOR_HEADER} header carries the cursor for the next request.
+     */
     @PostMapping("/search")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
-    public Flux<Flight> searchFlights(@RequestBody SearchRequestDTO searchRequest) {
-        return flightService.searchFlights(searchRequest.getFrom(), searchRequest.getTo());
+    public Mono<ResponseEntity<Object>> searchFlights(@RequestBody SearchRequestDTO searchRequest) {
+        return search(searchRequest);
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    public Mono<ResponseEntity<Object>> searchFlightsByQuery(SearchRequestDTO searchRequest) {
+        return search(searchRequest);
+    }
+
+    private Mono<ResponseEntity<Object>> search(SearchRequestDTO searchRequest) {
+        return flightService.searchFlights(searchRequest)
+            .map(result -> {
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                if (result.getNextCursor() != null) response.header(NEXT_CURSOR_HEADER, result.getNextCursor());
+                return response.body((Object)result.getFlights());
+            })
+            .onErrorResume(ResponseStatusException.class, ex -> {
+                Map<String, String> errorResponse = Map.of("message", ex.getReason());
+                return Mono.just(ResponseEntity.status(ex.getStatusCode()).body(errorResponse));
+            });
     }
 
     @PutMapping("/{id}/inventory")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER', 'ROLE_INTERNAL')") 
-    public Mono<Flight> addInventory(@PathVariable String id, @RequestParam int add) {
+    public Mono<InventoryDTO> addInventory(@PathVariable String id, @RequestParam int add) {
         return flightService.increaseAvailableSeats(id, add);
     }
+
+    @PutMapping("/inventory")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_INTERNAL')")
+    public Flux<InventoryDTO> adjustInventory(@RequestBody List<InventoryAdjustmentDTO> adjustments) {
+        return flightService.adjustInventory(adjustments);
+    }
     
 }
\ No newline at end of file
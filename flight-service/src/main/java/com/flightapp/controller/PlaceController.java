@@ -0,0 +1,36 @@
+package com.flightapp.controller;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flightapp.service.PlaceService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/flight/places")
+@RequiredArgsConstructor
+public class PlaceController {
+	private final PlaceService placeService;
+
+    /** Places with a word starting with {@code prefix}, ranked by the number of scheduled flights. */
+    @GetMapping
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    public Mono<ResponseEntity<Object>> suggestPlaces(@RequestParam String prefix, @RequestParam(defaultValue = "10") int limit) {
+        return placeService.suggestPlaces(prefix, limit)
+            .collectList()
+            .map(places -> ResponseEntity.ok().body((Object)places))
+            .onErrorResume(ResponseStatusException.class, ex -> {
+                Map<String, String> errorResponse = Map.of("message", ex.getReason());
+                return Mono.just(ResponseEntity.status(ex.getStatusCode()).body(errorResponse));
+            });
+    }
+}
@@ -1,7 +1,15 @@
 package com.flightapp.controller;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -9,9 +17,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.flightapp.dto.AddSeatsResultDTO;
+import com.flightapp.dto.SeatChangesDTO;
 import com.flightapp.entity.Seat;
+import com.flightapp.exception.SeatConflictException;
+import com.flightapp.inventory.SeatMapFeed;
 import com.flightapp.service.SeatService;
 
 import lombok.RequiredArgsConstructor;
@@ -22,29 +36,128 @@ import reactor.core.publisher.Mono;
 @RequestMapping("/api/flight/seats")
 @RequiredArgsConstructor
 public class SeatController {
+	static final int MAX_AVAILABILITY_FLIGHTS = 100;
+	private static final Duration KEEP_ALIVE = Duration.ofSeconds(15);
     private final SeatService seatService;
+    private final SeatMapFeed seatMapFeed;
 
+    /**
+     * Seat counts, overall and per cabin, of up to {@value #MAX_AVAILABILITY_FLIGHTS} flights without
+     * reading their seat maps. Flights without a seat map are left out of the result.
+     */
+    @GetMapping("/availability")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER', 'ROLE_INTERNAL')")
+    public Mono<ResponseEntity<Object>> getAvailability(@RequestParam List<String> flightIds) {
+        List<String> ids = flightIds.stream().map(String::trim).filter(id -> !id.isEmpty()).distinct().toList();
+        if (ids.isEmpty() || ids.size() > MAX_AVAILABILITY_FLIGHTS) {
+            Map<String, String> errorResponse = Map.of("message", "Between 1 and " + MAX_AVAILABILITY_FLIGHTS + " flight ids are required");
+            return Mono.just(ResponseEntity.badRequest().body(errorResponse));
+        }
+        return seatService.getAvailability(ids).collectList().map(counts -> ResponseEntity.ok((Object) counts));
+    }
+
+    /**
+     * The flight's seat map with a strong ETag of its version. A matching {@code If-None-Match} is
+     * answered with 304 after reading only the version.
+     */
     @GetMapping("/{flightId}")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
-    public Flux<Seat> getSeatsByFlightId(@PathVariable String flightId) {
-        return seatService.getSeatsByFlightId(flightId);
+    public Mono<ResponseEntity<Object>> getSeatsByFlightId(@PathVariable String flightId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Mono<ResponseEntity<Object>> seatMap = Mono.defer(() -> seatService.getSeatChanges(flightId, null))
+            .map(changes -> versioned(HttpStatus.OK, changes.getVersion()).body((Object) changes.getSeats()))
+            .defaultIfEmpty(ResponseEntity.ok(List.of()));
+        return notModified(flightId, ifNoneMatch).switchIfEmpty(seatMap);
+    }
+
+    /**
+     * Seats flipped since seat map version {@code since}, typically the ETag of an earlier read.
+     * When those cannot be told apart, e.g. after a layout change, the whole seat map is returned
+     * with {@code full} set.
+     */
+    @GetMapping("/{flightId}/changes")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    public Mono<ResponseEntity<Object>> getSeatChanges(@PathVariable String flightId, @RequestParam long since,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Mono<ResponseEntity<Object>> changes = Mono.defer(() -> seatService.getSeatChanges(flightId, since))
+            .map(delta -> versioned(HttpStatus.OK, delta.getVersion()).body((Object) delta))
+            .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", "Seat map not found")));
+        return notModified(flightId, ifNoneMatch).switchIfEmpty(changes);
+    }
+
+    /**
+     * Live seat map as Server-Sent Events: first the seats changed since {@code Last-Event-ID}, or
+     * the whole map, then each change as it happens. Event ids are the seat map version the event
+     * brings the client to, so a reconnecting client only receives what it missed. A flight without
+     * a seat map is answered with 404 instead of an open stream.
+     */
+    @GetMapping(value = "/{flightId}/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER')")
+    public Flux<ServerSentEvent<SeatChangesDTO>> streamSeatChanges(@PathVariable String flightId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        Flux<ServerSentEvent<SeatChangesDTO>> changes = seatMapFeed.subscribe(flightId, lastEventId)
+            .map(delta -> ServerSentEvent.builder(delta).id(Long.toString(delta.getVersion()))
+                    .event(delta.isFull() ? "snapshot" : "changes").build());
+        Flux<ServerSentEvent<SeatChangesDTO>> keepAlive = Flux.interval(KEEP_ALIVE)
+            .map(tick -> ServerSentEvent.<SeatChangesDTO>builder().comment("keep-alive").build());
+        return changes.mergeWith(keepAlive);
+    }
+
+    private Mono<ResponseEntity<Object>> notModified(String flightId, String ifNoneMatch) {
+        if (ifNoneMatch == null) return Mono.empty();
+        return seatService.getSeatMapVersion(flightId)
+            .filter(version -> matches(ifNoneMatch, etag(version)))
+            .map(version -> versioned(HttpStatus.NOT_MODIFIED, version).build());
+    }
+
+    private static ResponseEntity.BodyBuilder versioned(HttpStatus status, long version) {
+        return ResponseEntity.status(status).eTag(etag(version)).cacheControl(CacheControl.noCache());
+    }
+
+    static String etag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /** Weak comparison as required for {@code If-None-Match}: a {@code W/} prefix is ignored. */
+    static boolean matches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals("*") || tag.equals(etag)) return true;
+        }
+        return false;
     }
     
     @PostMapping("/{flightId}/add")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN')")
-    public Mono<Void> addNewSeats(@PathVariable String flightId, @RequestBody List<Seat> seats) {
+    public Mono<AddSeatsResultDTO> addNewSeats(@PathVariable String flightId, @RequestBody List<Seat> seats) {
         return seatService.addSeats(flightId, seats);
     }
 
-    @PutMapping("/{flightId}/update")
+    @PutMapping(value = "/{flightId}/update", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN')")
-    public Mono<Void> updateSeats( @PathVariable String flightId, @RequestBody List<Seat> seats) {
+    public Mono<Void> updateSeats( @PathVariable String flightId, @RequestBody Flux<Seat> seats) {
         return seatService.updateSeats(flightId, seats);
     }
     
     @PostMapping("/{flightId}/book")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER', 'ROLE_INTERNAL')") 
-    public Mono<Void> bookSeats(@PathVariable String flightId, @RequestBody List<String> seatNumbers) {
-        return seatService.bookSeats(flightId, seatNumbers);
+    public Mono<ResponseEntity<Object>> bookSeats(@PathVariable String flightId, @RequestBody List<String> seatNumbers) {
+        return seatService.bookSeats(flightId, seatNumbers)
+            .then(Mono.just(ResponseEntity.ok().build()))
+            .onErrorResume(SeatConflictException.class, ex -> Mono.just(conflict(ex)));
+    }
+
+    @PostMapping("/{flightId}/reserve")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_USER', 'ROLE_INTERNAL')")
+    public Mono<ResponseEntity<Object>> reserveSeats(@PathVariable String flightId, @RequestBody List<String> seatNumbers) {
+        return seatService.reserveSeats(flightId, seatNumbers)
+            .map(reservation -> ResponseEntity.ok((Object) reservation))
+            .onErrorResume(SeatConflictException.class, ex -> Mono.just(conflict(ex)));
+    }
+
+    private ResponseEntity<Object> conflict(SeatConflictException ex) {
+        Map<String, Object> errorResponse = Map.of("message", ex.getReason(), "conflictingSeats", ex.getConflictingSeats());
+        return ResponseEntity.status(ex.getStatusCode()).body(errorResponse);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package com.flightapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AddSeatsResultDTO {
+	private int inserted;
+	private int skipped;
+}
@@ -0,0 +1,19 @@
+package com.flightapp.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Cheapest fares of one departure day; fares are {@code null} when no flight that day has enough seats. */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FareCalendarDayDTO {
+	private LocalDate date;
+	private int flights;
+	private Float minOneWay;
+	private Float minRoundTrip;
+	private int availableSeats;
+}
@@ -0,0 +1,26 @@
+package com.flightapp.dto;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.flightapp.entity.Flight;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One requested flight: the flight itself, or a message when it does not exist, plus the
+ * availability of the seat numbers asked for. Seat numbers the flight does not have are left out
+ * of {@code seats}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FlightBatchItemDTO {
+	private String flightId;
+	private Flight flight;
+	private Map<String, Boolean> seats;
+	private String message;
+}
@@ -0,0 +1,17 @@
+package com.flightapp.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Flights to fetch in one call and, optionally, the seat numbers to report per flight id. */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FlightBatchRequestDTO {
+	private List<String> flightIds;
+	private Map<String, List<String>> seatNumbers;
+}
@@ -0,0 +1,17 @@
+package com.flightapp.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One page of the flight listing, each flight reduced to the requested fields; {@code nextCursor} is {@code null} on the last page. */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FlightPageDTO {
+	private List<Map<String, Object>> flights;
+	private String nextCursor;
+}
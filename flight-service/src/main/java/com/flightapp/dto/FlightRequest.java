@@ -16,4 +16,5 @@ public class FlightRequest {
     private Price price;
     private String airlineId;
     private String flightNumber;
+    private Integer capacity;
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.flightapp.dto;
+
+import java.util.List;
+
+import com.flightapp.entity.Flight;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One page of search results; {@code nextCursor} is {@code null} on the last page. */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FlightSearchResultDTO {
+	private List<Flight> flights;
+	private String nextCursor;
+}
@@ -0,0 +1,13 @@
+package com.flightapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InventoryAdjustmentDTO {
+	private String flightId;
+	private int delta;
+}
@@ -0,0 +1,22 @@
+package com.flightapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** New seat counter of a flight after an inventory change; {@code message} is set only when the change was rejected. */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class InventoryDTO {
+	private String flightId;
+	private Integer availableSeats;
+	private String message;
+
+	public InventoryDTO(String flightId, int availableSeats) {
+		this(flightId, availableSeats, null);
+	}
+}
@@ -0,0 +1,19 @@
+package com.flightapp.dto;
+
+import java.util.List;
+
+import com.flightapp.entity.Flight;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItineraryDTO {
+	private List<Flight> legs;
+	private int stops;
+	private long durationMinutes;
+	private double totalPrice;
+}
@@ -0,0 +1,16 @@
+package com.flightapp.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservationDTO {
+	private String flightId;
+    private List<String> seatNumbers;
+    private int availableSeats;
+}
@@ -1,9 +1,25 @@
 package com.flightapp.dto;
 
+import java.time.LocalDate;
+
 import lombok.Data;
 
 @Data
 public class SearchRequestDTO {
 	private String from;
 	private String to;
-}
\ No newline at end of file
+	/** First departure day, inclusive; defaults to today. Flights that already left are never returned. */
+	private LocalDate departureFrom;
+	/** Last departure day, inclusive; open-ended when absent. Connection search defaults to departureFrom and allows at most 7 days. */
+	private LocalDate departureTo;
+	/** Only flights with at least this many available seats; defaults to 1. */
+	private Integer passengers;
+	/** {@code departure} (default) or {@code price}; connection search takes {@code duration} (default) or {@code price}. */
+	private String sort;
+	/** {@code nextCursor} of the previous page. */
+	private String cursor;
+	/** Page size, 1 to 100; defaults to 20. Connection search returns at most 50 itineraries, 10 by default. */
+	private Integer limit;
+	/** Connection search only: stops allowed, 0 to 2; defaults to 2. */
+	private Integer maxStops;
+}
@@ -0,0 +1,20 @@
+package com.flightapp.dto;
+
+import java.util.List;
+
+import com.flightapp.entity.CabinAvailability;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Seat counts of one flight taken from its seat map, overall and per cabin. */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SeatAvailabilityDTO {
+	private String flightId;
+	private int totalSeats;
+	private int availableSeats;
+	private List<CabinAvailability> cabins;
+}
@@ -0,0 +1,24 @@
+package com.flightapp.dto;
+
+import java.util.List;
+
+import com.flightapp.entity.Seat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Seats of one flight changed after a given seat map version. When {@code full} is set the
+ * changes could not be told apart, e.g. because the layout changed since, and {@code seats} holds
+ * the whole seat map instead.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SeatChangesDTO {
+	private String flightId;
+	private long version;
+	private boolean full;
+	private List<Seat> seats;
+}
@@ -0,0 +1,23 @@
+package com.flightapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SeatMapGenerationDTO {
+	private String flightId;
+	private String layoutId;
+	private Integer totalSeats;
+	private Integer sellableSeats;
+	private String message;
+
+	public SeatMapGenerationDTO(String flightId, String layoutId, int totalSeats, int sellableSeats) {
+		this(flightId, layoutId, totalSeats, sellableSeats, null);
+	}
+}
@@ -0,0 +1,30 @@
+package com.flightapp.entity;
+
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Reusable cabin layout of an aircraft type. Seat maps are generated from it server-side, so
+ * a flight only needs a layout id instead of one request per seat.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "aircraft_layouts")
+public class AircraftLayout {
+	@Id
+	private String id;
+	@NotBlank(message = "Layout name cannot be blank")
+	private String name;
+	@NotEmpty(message = "Layout must have at least one cabin zone")
+	private List<CabinZone> cabins;
+	private List<String> blockedSeats;
+}
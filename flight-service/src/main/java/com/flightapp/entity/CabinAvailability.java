@@ -0,0 +1,15 @@
+package com.flightapp.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Seat counts of one cabin of a flight. */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CabinAvailability {
+	private String cabin;
+	private int totalSeats;
+	private int availableSeats;
+}
@@ -0,0 +1,19 @@
+package com.flightapp.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Contiguous block of rows sharing one cabin and one set of seat letters, e.g. rows 1-4 of
+ * {@code BUSINESS} with columns {@code "ACDF"}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CabinZone {
+	private String cabin;
+	private int firstRow;
+	private int lastRow;
+	private String columns;
+}
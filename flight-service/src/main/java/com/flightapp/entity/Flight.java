@@ -35,5 +35,12 @@ public class Flight {
 	@NotBlank(message = "Airline ID is required")
 	private String airlineId;
 	private String flightNumber;
+	/** Upper bound for {@link #availableSeats}; {@code null} on flights created before it was recorded. */
+	@Positive(message = "Capacity must be positive")
+	private Integer capacity;
 
+	public Flight(String id, String fromPlace, String toPlace, LocalDateTime arrivalTime, LocalDateTime departureTime,
+			int availableSeats, Price price, String airlineId, String flightNumber) {
+		this(id, fromPlace, toPlace, arrivalTime, departureTime, availableSeats, price, airlineId, flightNumber, null);
+	}
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package com.flightapp.entity;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,4 +19,20 @@ public class Seat {
     private String seatNumber;
     private boolean available;
     private String flightId;
+    @JsonIgnore
+    private String claimId;
+    private String cabin;
+    /** Seat map version that last flipped this seat, see {@link SeatAvailability}. */
+    @JsonIgnore
+    private Long version;
+    public Seat(String id, String seatNumber, boolean available, String flightId) {
+        this.id = id;
+        this.seatNumber = seatNumber;
+        this.available = available;
+        this.flightId = flightId;
+    }
+    public Seat(String id, String seatNumber, boolean available, String flightId, String cabin) {
+        this(id, seatNumber, available, flightId);
+        this.cabin = cabin;
+    }
 }
\ No newline at end of file
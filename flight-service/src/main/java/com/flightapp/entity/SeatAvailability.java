@@ -0,0 +1,43 @@
+package com.flightapp.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Seat counts of one flight kept next to its per-seat {@code seats} documents, so availability can
+ * be read without loading the seat map. {@code cabins} only lists seats that have a cabin.
+ * <p>
+ * {@code version} is the seat map version readers see. Writers take {@code nextVersion}, stamp the
+ * seats they change with it and only then raise {@code version} to it, so every seat stamped at or
+ * below {@code version} is already written. {@code layoutVersion} is the version of the last bulk
+ * change to the seat map; {@code stale} counts are recounted on their next read.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "seat_availability")
+public class SeatAvailability {
+	@Id
+	private String flightId;
+	private int totalSeats;
+	private int availableSeats;
+	private List<CabinAvailability> cabins = new ArrayList<>();
+	private long version;
+	private long nextVersion;
+	private long layoutVersion;
+	private boolean stale;
+
+	public SeatAvailability(String flightId, int totalSeats, int availableSeats, List<CabinAvailability> cabins) {
+		this.flightId = flightId;
+		this.totalSeats = totalSeats;
+		this.availableSeats = availableSeats;
+		this.cabins = cabins;
+	}
+}
@@ -0,0 +1,51 @@
+package com.flightapp.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Whole seat map of one flight in a single document. {@code seatNumbers} is the layout
+ * descriptor: the seat at position {@code i} is available when bit {@code i} of
+ * {@code availability} is set, and {@code cabins}, when present, holds its cabin. The seat counts
+ * are written with the bitmap so they can be read without it; {@code totalSeats} is {@code null}
+ * on documents written before they were recorded. {@code seatVersions} holds, per seat, the
+ * {@code version} that last flipped it and {@code layoutVersion} the one that last changed the
+ * layout; both are {@code null} on documents written before they were recorded.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "seat_inventory")
+public class SeatInventory {
+	@Id
+	private String flightId;
+	private List<String> seatNumbers = new ArrayList<>();
+	private byte[] availability;
+	private List<String> cabins;
+	private int availableSeats;
+	private Integer totalSeats;
+	private List<CabinAvailability> cabinAvailability;
+	private List<Long> seatVersions;
+	private Long layoutVersion;
+	/** Flight-level counter, only maintained by the in-memory engine. */
+	private Integer flightAvailableSeats;
+	@Version
+	private Long version;
+
+	public SeatInventory(String flightId) {
+		this.flightId = flightId;
+	}
+
+	public SeatInventory(String flightId, List<String> seatNumbers, byte[] availability, List<String> cabins, int availableSeats,
+			Integer flightAvailableSeats, Long version) {
+		this(flightId, seatNumbers, availability, cabins, availableSeats, null, null, null, null, flightAvailableSeats, version);
+	}
+}
@@ -0,0 +1,23 @@
+package com.flightapp.event;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.flightapp.entity.Flight;
+import com.flightapp.search.FlightRoute;
+
+/**
+ * Published after a flight was created, edited or had its seat counter changed. {@code routes}
+ * lists the routes the flight is on now and, after an edit, was on before; it is empty when the
+ * publisher did not have the flight at hand, as for counter changes.
+ */
+public record FlightChangedEvent(String flightId, List<FlightRoute> routes) {
+	public static FlightChangedEvent inventory(String flightId) {
+		return new FlightChangedEvent(flightId, List.of());
+	}
+
+	public static FlightChangedEvent of(Flight... flights) {
+		List<FlightRoute> routes = Arrays.stream(flights).map(FlightRoute::of).distinct().toList();
+		return new FlightChangedEvent(flights[0].getId(), routes);
+	}
+}
@@ -0,0 +1,4 @@
+package com.flightapp.event;
+
+/** Published after seats of a flight were claimed, released, added or replaced. */
+public record SeatMapChangedEvent(String flightId) {}
@@ -0,0 +1,20 @@
+package com.flightapp.exception;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class SeatConflictException extends ResponseStatusException {
+	private static final long serialVersionUID = 1L;
+	private final List<String> conflictingSeats;
+
+    public SeatConflictException(List<String> conflictingSeats) {
+        super(HttpStatus.CONFLICT, "Seats already booked: " + String.join(", ", conflictingSeats));
+        this.conflictingSeats = List.copyOf(conflictingSeats);
+    }
+
+    public List<String> getConflictingSeats() {
+        return conflictingSeats;
+    }
+}
@@ -0,0 +1,37 @@
+package com.flightapp.inventory;
+
+import com.flightapp.entity.Flight;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Owner of {@link Flight#getAvailableSeats()}. Every storage mode routes counter changes through
+ * this interface, so the seat map and the counter are always changed by the same component.
+ * Changes are atomic and keep the counter between zero and {@link Flight#getCapacity()}, and a
+ * capacity edit goes through here too so the bound the counter is checked against is never stale.
+ */
+public interface FlightInventoryCounter {
+	String NOT_ENOUGH_SEATS = "Not enough seats available";
+	String OVER_CAPACITY = "Available seats cannot exceed flight capacity";
+	String SEATS_SOLD = "Flight already has sold seats";
+
+	Mono<Integer> adjust(String flightId, int delta);
+
+	/** Sets the flight's capacity unless more seats are already available than it allows; emits the counter. */
+	Mono<Integer> resize(String flightId, int capacity);
+
+	/**
+	 * Sets both the capacity and the counter to {@code seats}, as when a flight gets its first seat
+	 * map; rejected once any seat of the current capacity is sold. Emits the counter.
+	 */
+	Mono<Integer> reset(String flightId, int seats);
+
+	default Mono<Integer> decrement(String flightId, int seatCount) {
+		return adjust(flightId, -seatCount);
+	}
+
+	/** Returns the flight with its counter replaced by the authoritative value, if it lives elsewhere. */
+	default Mono<Flight> withLiveCount(Flight flight) {
+		return Mono.just(flight);
+	}
+}
@@ -0,0 +1,62 @@
+package com.flightapp.inventory;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flightapp.entity.Flight;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Counter kept by the {@link SeatAvailabilityEngine}. The {@code flights} document only receives
+ * the value on the next flush, so reads overlay the live value for flights that are in memory.
+ */
+@Component
+@ConditionalOnProperty(name = "flightapp.seats.storage", havingValue = "memory")
+public class InMemoryFlightInventoryCounter implements FlightInventoryCounter {
+	private final InMemorySeatStore store;
+	private final ReactiveMongoTemplate mongoTemplate;
+
+    public InMemoryFlightInventoryCounter(InMemorySeatStore store, ReactiveMongoTemplate mongoTemplate) {
+        this.store = store;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<Integer> adjust(String flightId, int delta) {
+        return store.forFlight(flightId)
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Flight not found")))
+                .map(engine -> engine.adjust(flightId, delta));
+    }
+
+    @Override
+    public Mono<Integer> resize(String flightId, int capacity) {
+        return store.forFlight(flightId)
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Flight not found")))
+                .map(engine -> engine.resize(flightId, capacity));
+    }
+
+    /** The engine does not journal capacities, so the new one is also written to the flight document. */
+    @Override
+    public Mono<Integer> reset(String flightId, int seats) {
+        return store.forFlight(flightId)
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Flight not found")))
+                .map(engine -> engine.reset(flightId, seats))
+                .flatMap(availableSeats -> mongoTemplate.updateFirst(new Query(Criteria.where("id").is(flightId)),
+                        new Update().set("capacity", seats), Flight.class).thenReturn(availableSeats));
+    }
+
+    @Override
+    public Mono<Flight> withLiveCount(Flight flight) {
+        return store.whenReady().map(engine -> {
+            engine.availableSeats(flight.getId()).ifPresent(flight::setAvailableSeats);
+            return flight;
+        });
+    }
+}
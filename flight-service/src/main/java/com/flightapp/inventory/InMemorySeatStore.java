@@ -0,0 +1,175 @@
+package com.flightapp.inventory;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.entity.Flight;
+import com.flightapp.entity.Seat;
+import com.flightapp.entity.SeatInventory;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Owns the {@link SeatAvailabilityEngine} when {@code flightapp.seats.storage=memory}. Flights are
+ * pulled into memory on first use, dirty flights are written back to {@code seat_inventory} and
+ * {@code flights} in batches, and on startup the last snapshots plus the journal are replayed
+ * before any request is served. Assumes a single flight-service instance owns the inventory.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "flightapp.seats.storage", havingValue = "memory")
+public class InMemorySeatStore implements CommandLineRunner, DisposableBean {
+	private final ReactiveMongoTemplate mongoTemplate;
+	private final SeatJournal journal;
+	private final SeatAvailabilityEngine engine;
+	private final Duration flushInterval;
+	private final Mono<Void> ready;
+	private volatile boolean recovered;
+	private Disposable flusher;
+
+    public InMemorySeatStore(ReactiveMongoTemplate mongoTemplate,
+                             @Value("${flightapp.seats.journal.dir:data/seat-journal}") String journalDir,
+                             @Value("${flightapp.seats.journal.fsync-on-append:false}") boolean fsyncOnAppend,
+                             @Value("${flightapp.seats.flush-interval:1s}") Duration flushInterval) {
+        this.mongoTemplate = mongoTemplate;
+        this.journal = new SeatJournal(Path.of(journalDir), fsyncOnAppend);
+        this.engine = new SeatAvailabilityEngine(journal);
+        this.flushInterval = flushInterval;
+        this.ready = recover().cache();
+    }
+
+    @Override
+    public void run(String... args) {
+        ready.subscribe(null, ex -> log.error("Seat engine recovery failed: {}", ex.getMessage()));
+        flusher = Flux.interval(flushInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> ready.then(flush())
+                        .onErrorResume(ex -> {
+                            log.warn("Seat inventory flush failed, will retry: {}", ex.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    /** Emits the engine once recovery is done and the flight is in memory; empty if the flight is unknown. */
+    public Mono<SeatAvailabilityEngine> forFlight(String flightId) {
+        return ready.then(Mono.defer(() -> engine.isLoaded(flightId)
+                ? Mono.just(engine)
+                : load(flightId).thenReturn(engine).filter(e -> e.isLoaded(flightId))));
+    }
+
+    /** Waits for recovery without loading anything. */
+    public Mono<SeatAvailabilityEngine> whenReady() {
+        return ready.thenReturn(engine);
+    }
+
+    /**
+     * Writes every dirty flight back to Mongo. The journal is rotated first, so all entries in the
+     * sealed segments are covered by the snapshots taken afterwards and can be deleted once the
+     * snapshots are stored.
+     */
+    public Mono<Void> flush() {
+        return Mono.defer(() -> {
+            long sealed = journal.rotate();
+            List<SeatAvailabilityEngine.Snapshot> snapshots = engine.drainDirty();
+            if (snapshots.isEmpty()) {
+                journal.deleteUpTo(sealed);
+                return Mono.empty();
+            }
+            return writeSnapshots(snapshots)
+                    .doOnSuccess(v -> journal.deleteUpTo(sealed))
+                    .doOnError(ex -> engine.markDirty(snapshots.stream().map(SeatAvailabilityEngine.Snapshot::flightId).toList()));
+        });
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (flusher != null) flusher.dispose();
+        if (recovered) flush().onErrorResume(ex -> Mono.empty()).block(Duration.ofSeconds(10));
+        journal.close();
+    }
+
+    private Mono<Void> writeSnapshots(List<SeatAvailabilityEngine.Snapshot> snapshots) {
+        ReactiveBulkOperations inventories = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SeatInventory.class);
+        ReactiveBulkOperations counters = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Flight.class);
+        for (SeatAvailabilityEngine.Snapshot snapshot : snapshots) {
+            SeatInventory inventory = snapshot.inventory();
+            inventories.upsert(new Query(Criteria.where("flightId").is(snapshot.flightId())), new Update()
+                    .set("seatNumbers", inventory.getSeatNumbers())
+                    .set("availability", inventory.getAvailability())
+                    .set("cabins", inventory.getCabins())
+                    .set("availableSeats", inventory.getAvailableSeats())
+                    .set("totalSeats", inventory.getTotalSeats())
+                    .set("cabinAvailability", inventory.getCabinAvailability())
+                    .set("seatVersions", inventory.getSeatVersions())
+                    .set("layoutVersion", inventory.getLayoutVersion())
+                    .set("flightAvailableSeats", snapshot.availableSeats())
+                    .set("version", snapshot.version()));
+            counters.updateOne(new Query(Criteria.where("id").is(snapshot.flightId())),
+                    new Update().set("availableSeats", snapshot.availableSeats()));
+        }
+        return inventories.execute().then(counters.execute()).then();
+    }
+
+    private Mono<Void> recover() {
+        return Mono.defer(() -> {
+            Map<String, List<SeatJournal.Entry>> pending = new LinkedHashMap<>();
+            journal.replay(entry -> pending.computeIfAbsent(entry.flightId(), id -> new ArrayList<>()).add(entry));
+            return Flux.fromIterable(pending.entrySet())
+                    .concatMap(e -> load(e.getKey()).doOnSuccess(v -> e.getValue().forEach(engine::replay)))
+                    .then(Mono.defer(this::flush))
+                    .doOnSuccess(v -> recovered = true)
+                    .doOnSuccess(v -> log.info("Seat engine recovered {} flights from the journal", pending.size()));
+        });
+    }
+
+    /**
+     * Loads one flight from its {@code seat_inventory} snapshot, falling back to the per-seat
+     * documents for flights that have never been snapshotted.
+     */
+    private Mono<Void> load(String flightId) {
+        Mono<Optional<SeatInventory>> inventory = mongoTemplate.findById(flightId, SeatInventory.class)
+                .map(Optional::of).defaultIfEmpty(Optional.empty());
+        Mono<Optional<Flight>> flight = mongoTemplate.findById(flightId, Flight.class)
+                .map(Optional::of).defaultIfEmpty(Optional.empty());
+        Mono<List<Seat>> seats = mongoTemplate.find(new Query(Criteria.where("flightId").is(flightId)), Seat.class).collectList();
+        return Mono.zip(inventory, flight).flatMap(loaded -> {
+            Optional<SeatInventory> snapshot = loaded.getT1();
+            Optional<Flight> flightDoc = loaded.getT2();
+            if (snapshot.isPresent()) {
+                SeatInventory inv = snapshot.get();
+                int counter = inv.getFlightAvailableSeats() != null
+                        ? inv.getFlightAvailableSeats()
+                        : flightDoc.map(Flight::getAvailableSeats).orElse(0);
+                engine.load(flightId, SeatBitmap.of(inv), counter, flightDoc.map(Flight::getCapacity).orElse(null),
+                        inv.getVersion() == null ? 0L : inv.getVersion());
+                return Mono.<Void>empty();
+            }
+            return seats.doOnNext(list -> {
+                if (list.isEmpty() && flightDoc.isEmpty()) return;
+                engine.load(flightId, SeatBitmap.fromSeats(list), flightDoc.map(Flight::getAvailableSeats).orElse(0),
+                        flightDoc.map(Flight::getCapacity).orElse(null), 0L);
+            }).then();
+        });
+    }
+}
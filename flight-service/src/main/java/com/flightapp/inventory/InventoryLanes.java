@@ -0,0 +1,128 @@
+package com.flightapp.inventory;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Fixed pool of single-writer lanes for inventory mutations. A flight always hashes to the same
+ * lane and a lane runs one mutation at a time, including the asynchronous Mongo round trip, so
+ * writes to one flight never contend with each other while different flights proceed in parallel.
+ * Mutations submitted here must not submit another mutation for the same flight, or they would
+ * wait behind themselves. A mutation that has not finished within {@code timeout} is cancelled and
+ * fails with 503, so one hung Mongo call cannot hold every flight of its lane; its write may still
+ * have been applied.
+ */
+@Component
+public class InventoryLanes implements DisposableBean {
+	private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+
+	private final Lane[] lanes;
+
+    @Autowired
+    public InventoryLanes(MeterRegistry meterRegistry, @Value("${flightapp.inventory.lanes:0}") int laneCount,
+                          @Value("${flightapp.inventory.lane-timeout:10s}") Duration timeout) {
+        int count = laneCount > 0 ? laneCount : Runtime.getRuntime().availableProcessors();
+        this.lanes = new Lane[count];
+        for (int i = 0; i < count; i++) lanes[i] = new Lane(i, meterRegistry, timeout);
+    }
+
+    public InventoryLanes(MeterRegistry meterRegistry, int laneCount) {
+        this(meterRegistry, laneCount, DEFAULT_TIMEOUT);
+    }
+
+    public <T> Mono<T> submit(String flightId, Supplier<Mono<T>> mutation) {
+        Lane lane = lanes[Math.floorMod(flightId == null ? 0 : flightId.hashCode(), lanes.length)];
+        return Mono.create(sink -> lane.enqueue(new Task<>(mutation, sink, System.nanoTime())));
+    }
+
+    public int laneCount() {
+        return lanes.length;
+    }
+
+    @Override
+    public void destroy() {
+        for (Lane lane : lanes) lane.scheduler.dispose();
+    }
+
+    private record Task<T>(Supplier<Mono<T>> mutation, MonoSink<T> sink, long enqueuedAt) {}
+
+    private static final class Lane {
+        private final Queue<Task<?>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final Scheduler scheduler;
+        private final Timer waitTimer;
+        private final Timer latencyTimer;
+        private final Duration timeout;
+
+        private Lane(int index, MeterRegistry meterRegistry, Duration timeout) {
+            this.timeout = timeout;
+            String lane = String.valueOf(index);
+            this.scheduler = Schedulers.newSingle("inventory-lane-" + index, true);
+            this.waitTimer = Timer.builder("inventory.lane.wait")
+                    .description("Time a mutation spent queued before its lane picked it up")
+                    .tag("lane", lane)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+            this.latencyTimer = Timer.builder("inventory.lane.latency")
+                    .description("Time from submission until the mutation completed")
+                    .tag("lane", lane)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+            Gauge.builder("inventory.lane.queue.depth", pending, AtomicInteger::get)
+                    .description("Mutations queued or running on the lane")
+                    .tag("lane", lane)
+                    .register(meterRegistry);
+        }
+
+        private void enqueue(Task<?> task) {
+            queue.add(task);
+            if (pending.getAndIncrement() == 0) scheduler.schedule(this::runNext);
+        }
+
+        private void runNext() {
+            Task<?> task = queue.poll();
+            if (task != null) run(task);
+        }
+
+        private <T> void run(Task<T> task) {
+            waitTimer.record(System.nanoTime() - task.enqueuedAt(), TimeUnit.NANOSECONDS);
+            Mono<T> mutation;
+            try {
+                mutation = task.mutation().get();
+            } catch (RuntimeException ex) {
+                mutation = Mono.error(ex);
+            }
+            mutation.timeout(timeout)
+                    .onErrorMap(TimeoutException.class, ex -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                            "Inventory update timed out", ex))
+                    .subscribe(task.sink()::success, ex -> complete(task, () -> task.sink().error(ex)),
+                            () -> complete(task, () -> task.sink().success()));
+        }
+
+        private void complete(Task<?> task, Runnable signal) {
+            latencyTimer.record(System.nanoTime() - task.enqueuedAt(), TimeUnit.NANOSECONDS);
+            if (pending.decrementAndGet() > 0) scheduler.schedule(this::runNext);
+            signal.run();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.flightapp.inventory;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flightapp.entity.Flight;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Counter stored on the {@code flights} document. Each change is one conditional {@code $inc}, so
+ * concurrent changes never overwrite each other and a change that would leave the bounds matches
+ * nothing instead of being applied.
+ */
+@Component
+@ConditionalOnExpression("'${flightapp.seats.storage:documents}' != 'memory'")
+public class MongoFlightInventoryCounter implements FlightInventoryCounter {
+	private final ReactiveMongoTemplate mongoTemplate;
+
+    public MongoFlightInventoryCounter(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<Integer> adjust(String flightId, int delta) {
+        Criteria criteria = Criteria.where("id").is(flightId).and("availableSeats").gte(Math.max(0, -delta));
+        if (delta > 0) {
+            criteria = criteria.orOperator(Criteria.where("capacity").is(null),
+                    Criteria.expr(ComparisonOperators.valueOf(ArithmeticOperators.valueOf("availableSeats").add(delta))
+                            .lessThanEqualTo("capacity")));
+        }
+        Query query = new Query(criteria);
+        query.fields().include("availableSeats");
+        return mongoTemplate.findAndModify(query, new Update().inc("availableSeats", delta),
+                        FindAndModifyOptions.options().returnNew(true), Flight.class)
+                .map(Flight::getAvailableSeats)
+                .switchIfEmpty(Mono.defer(() -> rejection(flightId, delta < 0 ? NOT_ENOUGH_SEATS : OVER_CAPACITY)));
+    }
+
+    @Override
+    public Mono<Integer> resize(String flightId, int capacity) {
+        Query query = new Query(Criteria.where("id").is(flightId).and("availableSeats").lte(capacity));
+        query.fields().include("availableSeats");
+        return mongoTemplate.findAndModify(query, new Update().set("capacity", capacity),
+                        FindAndModifyOptions.options().returnNew(true), Flight.class)
+                .map(Flight::getAvailableSeats)
+                .switchIfEmpty(Mono.defer(() -> rejection(flightId, OVER_CAPACITY)));
+    }
+
+    @Override
+    public Mono<Integer> reset(String flightId, int seats) {
+        Query query = new Query(Criteria.where("id").is(flightId).orOperator(Criteria.where("capacity").is(null),
+                Criteria.expr(ComparisonOperators.valueOf("availableSeats").equalTo("capacity"))));
+        query.fields().include("availableSeats");
+        return mongoTemplate.findAndModify(query, new Update().set("capacity", seats).set("availableSeats", seats),
+                        FindAndModifyOptions.options().returnNew(true), Flight.class)
+                .map(Flight::getAvailableSeats)
+                .switchIfEmpty(Mono.defer(() -> rejection(flightId, SEATS_SOLD)));
+    }
+
+    private Mono<Integer> rejection(String flightId, String reason) {
+        return mongoTemplate.exists(new Query(Criteria.where("id").is(flightId)), Flight.class)
+                .flatMap(exists -> Mono.error(exists
+                        ? new ResponseStatusException(HttpStatus.CONFLICT, reason)
+                        : new ResponseStatusException(HttpStatus.NOT_FOUND, "Flight not found")));
+    }
+}
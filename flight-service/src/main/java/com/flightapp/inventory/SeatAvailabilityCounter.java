@@ -0,0 +1,149 @@
+package com.flightapp.inventory;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.entity.CabinAvailability;
+import com.flightapp.entity.Seat;
+import com.flightapp.entity.SeatAvailability;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Keeps a {@link SeatAvailability} document per flight in step with its per-seat documents when
+ * {@code flightapp.seats.storage=documents}. Claims and releases take a version with
+ * {@link #nextVersion}, stamp it on the seats they update and then adjust the counts and publish
+ * the version with one update, inside the same inventory lane; bulk changes to the seat map
+ * recount the flight instead. Flights whose counts were never recorded, or could not be adjusted,
+ * are recounted on first read.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "flightapp.seats.storage", havingValue = "documents", matchIfMissing = true)
+public class SeatAvailabilityCounter {
+	private final ReactiveMongoTemplate mongoTemplate;
+	private final InventoryLanes lanes;
+
+    public SeatAvailabilityCounter(ReactiveMongoTemplate mongoTemplate, InventoryLanes lanes) {
+        this.mongoTemplate = mongoTemplate;
+        this.lanes = lanes;
+    }
+
+    /** Counts of the given flights, in no particular order; flights that never had seats are left out. */
+    public Flux<SeatAvailability> find(Collection<String> flightIds) {
+        return mongoTemplate.find(new Query(Criteria.where("flightId").in(flightIds)), SeatAvailability.class)
+                .filter(counts -> !counts.isStale())
+                .collectMap(SeatAvailability::getFlightId)
+                .flatMapMany(found -> Flux.fromIterable(found.values()).concatWith(Flux.fromIterable(flightIds)
+                        .filter(flightId -> !found.containsKey(flightId))
+                        .distinct()
+                        .flatMap(flightId -> lanes.submit(flightId, () -> recount(flightId)))));
+    }
+
+    /**
+     * Hands out the version to stamp on the seats of the flight's next change, recounting the
+     * flight first if its counts were never recorded; 0 for a flight that never had seats. Must
+     * run on the flight's inventory lane.
+     */
+    public Mono<Long> nextVersion(String flightId) {
+        Query byFlight = new Query(Criteria.where("flightId").is(flightId));
+        Mono<Long> next = mongoTemplate.findAndModify(byFlight, new Update().inc("nextVersion", 1L),
+                        FindAndModifyOptions.options().returnNew(true), SeatAvailability.class)
+                .map(SeatAvailability::getNextVersion);
+        return next.switchIfEmpty(Mono.defer(() -> recount(flightId).then(next))).defaultIfEmpty(0L);
+    }
+
+    /**
+     * Adds {@code delta} per seat to the flight's available count and to the count of each seat's
+     * cabin, and publishes {@code version}, which the seats were stamped with. Must run on the
+     * flight's inventory lane.
+     */
+    public Mono<Void> adjust(String flightId, Collection<String> seatNumbers, int delta, long version) {
+        if (seatNumbers.isEmpty()) return Mono.empty();
+        Query cabins = new Query(Criteria.where("flightId").is(flightId).and("seatNumber").in(seatNumbers));
+        cabins.fields().include("cabin");
+        return mongoTemplate.find(cabins, Seat.class).collectList().flatMap(seats -> adjust(flightId, seats, delta, version));
+    }
+
+    private Mono<Void> adjust(String flightId, List<Seat> seats, int delta, long version) {
+        if (seats.isEmpty()) return Mono.empty();
+        Update update = new Update().inc("availableSeats", delta * seats.size()).max("version", version);
+        Map<String, Integer> byCabin = new LinkedHashMap<>();
+        seats.stream().map(Seat::getCabin).filter(Objects::nonNull).forEach(cabin -> byCabin.merge(cabin, 1, Integer::sum));
+        int i = 0;
+        for (Map.Entry<String, Integer> cabin : byCabin.entrySet()) {
+            String element = "c" + i++;
+            update.inc("cabins.$[" + element + "].availableSeats", delta * cabin.getValue())
+                    .filterArray(Criteria.where(element + ".cabin").is(cabin.getKey()));
+        }
+        Query byFlight = new Query(Criteria.where("flightId").is(flightId));
+        return mongoTemplate.updateFirst(byFlight, update, SeatAvailability.class).then()
+                .onErrorResume(ex -> {
+                    log.warn("Seat availability of flight {} not adjusted, marking it for a recount: {}", flightId, ex.getMessage());
+                    return mongoTemplate.updateFirst(byFlight, new Update().set("stale", true), SeatAvailability.class)
+                            .then().onErrorResume(e -> Mono.empty());
+                });
+    }
+
+    /**
+     * Rebuilds the flight's counts from its seat documents. The rebuilt counts are published as a
+     * layout change at a fresh version, so readers that cannot tell what changed reload the whole
+     * seat map; a flight whose seats were all removed keeps zero counts so its versions never go
+     * back. Must run on the flight's inventory lane.
+     */
+    public Mono<SeatAvailability> recount(String flightId) {
+        Aggregation byCabin = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("flightId").is(flightId)),
+                Aggregation.group("cabin")
+                        .count().as("totalSeats")
+                        .sum(ConditionalOperators.when(Criteria.where("available").is(true)).then(1).otherwise(0)).as("availableSeats")
+                        .min("_id").as("firstSeat"),
+                Aggregation.sort(Sort.by("firstSeat")));
+        Mono<Optional<Long>> lastVersion = mongoTemplate.findById(flightId, SeatAvailability.class)
+                .map(previous -> Optional.of(Math.max(previous.getVersion(), previous.getNextVersion())))
+                .defaultIfEmpty(Optional.empty());
+        return Mono.zip(mongoTemplate.aggregate(byCabin, Seat.class, Document.class).collectList(), lastVersion)
+                .flatMap(recounted -> {
+                    List<Document> rows = recounted.getT1();
+                    if (rows.isEmpty() && recounted.getT2().isEmpty()) return Mono.<SeatAvailability>empty();
+                    SeatAvailability availability = fold(flightId, rows);
+                    long version = recounted.getT2().orElse(0L) + 1;
+                    availability.setVersion(version);
+                    availability.setNextVersion(version);
+                    availability.setLayoutVersion(version);
+                    return mongoTemplate.save(availability);
+                });
+    }
+
+    private static SeatAvailability fold(String flightId, List<Document> rows) {
+        SeatAvailability availability = new SeatAvailability();
+        availability.setFlightId(flightId);
+        for (Document row : rows) {
+            int total = row.getInteger("totalSeats");
+            int available = row.getInteger("availableSeats");
+            availability.setTotalSeats(availability.getTotalSeats() + total);
+            availability.setAvailableSeats(availability.getAvailableSeats() + available);
+            String cabin = row.getString("_id");
+            if (cabin != null) availability.getCabins().add(new CabinAvailability(cabin, total, available));
+        }
+        return availability;
+    }
+}
@@ -0,0 +1,306 @@
+package com.flightapp.inventory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flightapp.dto.SeatAvailabilityDTO;
+import com.flightapp.dto.SeatChangesDTO;
+import com.flightapp.entity.Seat;
+import com.flightapp.entity.SeatInventory;
+import com.flightapp.exception.SeatConflictException;
+
+/**
+ * Authoritative in-memory seat maps and flight counters. Each flight's state has exactly one
+ * writer at a time (its monitor); every change is appended to the {@link SeatJournal} before the
+ * lock is released and the flight is marked dirty until a snapshot has been written back to Mongo.
+ * Flights are loaded lazily with {@link #load}; operations on a flight that is not loaded behave
+ * as if it did not exist.
+ */
+public class SeatAvailabilityEngine {
+	private static final String SEATS_NOT_FOUND = "One or more selected seats do not exist on this flight";
+	private static final String NOT_ENOUGH_SEATS = FlightInventoryCounter.NOT_ENOUGH_SEATS;
+	private static final String OVER_CAPACITY = FlightInventoryCounter.OVER_CAPACITY;
+	private static final String SEATS_SOLD = FlightInventoryCounter.SEATS_SOLD;
+	private static final String FLIGHT_NOT_FOUND = "Flight not found";
+
+	/** Point-in-time copy of one flight, ready to be written to Mongo. */
+	public record Snapshot(String flightId, long version, SeatInventory inventory, int availableSeats) {}
+
+	private static final class FlightState {
+		private final SeatBitmap seats;
+		private int capacity;
+		private int availableSeats;
+		private long version;
+		private boolean dirty;
+
+		private FlightState(SeatBitmap seats, int availableSeats, int capacity, long version) {
+			this.seats = seats;
+			this.availableSeats = availableSeats;
+			this.capacity = capacity;
+			this.version = version;
+		}
+	}
+
+	private final Map<String, FlightState> flights = new ConcurrentHashMap<>();
+	private final SeatJournal journal;
+
+	public SeatAvailabilityEngine(SeatJournal journal) {
+		this.journal = journal;
+	}
+
+	public boolean isLoaded(String flightId) {
+		return flights.containsKey(flightId);
+	}
+
+	/**
+	 * Installs a flight from its Mongo snapshot unless it is already loaded. {@code version} is the
+	 * journal version the snapshot was written at; {@code capacity} bounds the counter and may be
+	 * {@code null} for flights created before capacities were recorded.
+	 */
+	public void load(String flightId, SeatBitmap seats, int availableSeats, Integer capacity, long version) {
+		int bound = capacity == null ? Integer.MAX_VALUE : capacity;
+		flights.putIfAbsent(flightId, new FlightState(seats, availableSeats, bound, version));
+	}
+
+	/** Re-applies a journal entry unless the loaded snapshot already contains it. */
+	public void replay(SeatJournal.Entry entry) {
+		FlightState state = flights.get(entry.flightId());
+		if (state == null) return;
+		synchronized (state) {
+			if (entry.version() <= state.version) return;
+			state.seats.stamp(entry.version());
+			applySeats(state.seats, entry.op(), entry.seatNumbers());
+			state.availableSeats += entry.counterDelta();
+			state.version = entry.version();
+			state.dirty = true;
+		}
+	}
+
+	public List<Seat> seats(String flightId) {
+		FlightState state = flights.get(flightId);
+		if (state == null) return List.of();
+		synchronized (state) {
+			return state.seats.toSeats(flightId);
+		}
+	}
+
+	/** Journal version of the flight's last change, which doubles as the version of its seat map. */
+	public OptionalLong version(String flightId) {
+		FlightState state = flights.get(flightId);
+		if (state == null) return OptionalLong.empty();
+		synchronized (state) {
+			return OptionalLong.of(state.version);
+		}
+	}
+
+	/**
+	 * Seats flipped after {@code since}, or the whole seat map when {@code since} is {@code null},
+	 * predates the last layout change or is ahead of the flight.
+	 */
+	public Optional<SeatChangesDTO> changes(String flightId, Long since) {
+		FlightState state = flights.get(flightId);
+		if (state == null) return Optional.empty();
+		synchronized (state) {
+			if (since == null || since < state.seats.layoutVersion() || since > state.version)
+				return Optional.of(new SeatChangesDTO(flightId, state.version, true, state.seats.toSeats(flightId)));
+			return Optional.of(new SeatChangesDTO(flightId, state.version, false, state.seats.changedSince(flightId, since)));
+		}
+	}
+
+	public OptionalInt availableSeats(String flightId) {
+		FlightState state = flights.get(flightId);
+		if (state == null) return OptionalInt.empty();
+		synchronized (state) {
+			return OptionalInt.of(state.availableSeats);
+		}
+	}
+
+	/** Seat counts of the flight's seat map, maintained with every change rather than counted here. */
+	public Optional<SeatAvailabilityDTO> availability(String flightId) {
+		FlightState state = flights.get(flightId);
+		if (state == null) return Optional.empty();
+		synchronized (state) {
+			return Optional.of(new SeatAvailabilityDTO(flightId, state.seats.size(), state.seats.availableCount(),
+					state.seats.cabinAvailability()));
+		}
+	}
+
+	/** Marks the seats as taken without touching the counter. */
+	public void claim(String flightId, List<String> seatNumbers) {
+		FlightState state = require(flightId, HttpStatus.BAD_REQUEST, SEATS_NOT_FOUND);
+		synchronized (state) {
+			checkClaimable(state, seatNumbers);
+			apply(flightId, state, SeatJournal.CLAIM, 0, seatNumbers);
+		}
+	}
+
+	/** Claims the seats and decrements the counter as one change; returns the new counter. */
+	public int reserve(String flightId, List<String> seatNumbers) {
+		FlightState state = require(flightId, HttpStatus.BAD_REQUEST, SEATS_NOT_FOUND);
+		synchronized (state) {
+			checkClaimable(state, seatNumbers);
+			if (state.availableSeats < seatNumbers.size())
+				throw new ResponseStatusException(HttpStatus.CONFLICT, NOT_ENOUGH_SEATS);
+			apply(flightId, state, SeatJournal.CLAIM, -seatNumbers.size(), seatNumbers);
+			return state.availableSeats;
+		}
+	}
+
+	/**
+	 * Adds {@code delta} to the counter if the result stays within zero and the flight's capacity;
+	 * returns the new counter.
+	 */
+	public int adjust(String flightId, int delta) {
+		FlightState state = require(flightId, HttpStatus.NOT_FOUND, FLIGHT_NOT_FOUND);
+		synchronized (state) {
+			long next = (long) state.availableSeats + delta;
+			if (next < 0) throw new ResponseStatusException(HttpStatus.CONFLICT, NOT_ENOUGH_SEATS);
+			if (next > state.capacity) throw new ResponseStatusException(HttpStatus.CONFLICT, OVER_CAPACITY);
+			apply(flightId, state, SeatJournal.ADJUST, delta, List.of());
+			return state.availableSeats;
+		}
+	}
+
+	/**
+	 * Moves the bound of the counter to {@code capacity}, as after an edit of the flight; rejected
+	 * if more seats are available than the new capacity allows. Returns the counter. The capacity is
+	 * not journaled: the caller stores it on the flight, which is where {@link #load} reads it from.
+	 */
+	public int resize(String flightId, int capacity) {
+		FlightState state = require(flightId, HttpStatus.NOT_FOUND, FLIGHT_NOT_FOUND);
+		synchronized (state) {
+			if (state.availableSeats > capacity) throw new ResponseStatusException(HttpStatus.CONFLICT, OVER_CAPACITY);
+			state.capacity = capacity;
+			return state.availableSeats;
+		}
+	}
+
+	/**
+	 * Sets the capacity and the counter to {@code seats}, as when the flight gets its first seat
+	 * map; rejected once any seat of the current capacity is sold. Only the counter change is
+	 * journaled, the caller stores the capacity on the flight as for {@link #resize}.
+	 */
+	public int reset(String flightId, int seats) {
+		FlightState state = require(flightId, HttpStatus.NOT_FOUND, FLIGHT_NOT_FOUND);
+		synchronized (state) {
+			if (state.capacity != Integer.MAX_VALUE && state.availableSeats != state.capacity)
+				throw new ResponseStatusException(HttpStatus.CONFLICT, SEATS_SOLD);
+			state.capacity = seats;
+			if (state.availableSeats != seats) apply(flightId, state, SeatJournal.ADJUST, seats - state.availableSeats, List.of());
+			return state.availableSeats;
+		}
+	}
+
+	/** Appends new seats to the layout; seat numbers that already exist are skipped. Returns the number added. */
+	public int addSeats(String flightId, Collection<Seat> seats) {
+		FlightState state = require(flightId, HttpStatus.NOT_FOUND, FLIGHT_NOT_FOUND);
+		synchronized (state) {
+			Set<String> added = new HashSet<>();
+			List<Seat> fresh = seats.stream()
+					.filter(seat -> !state.seats.contains(seat.getSeatNumber()) && added.add(seat.getSeatNumber()))
+					.toList();
+			if (!fresh.isEmpty()) apply(flightId, state, SeatJournal.ADD_SEATS, 0, encodeLayout(fresh));
+			return fresh.size();
+		}
+	}
+
+	/** Replaces the whole layout of the flight. */
+	public void replaceSeats(String flightId, Collection<Seat> seats) {
+		FlightState state = require(flightId, HttpStatus.NOT_FOUND, FLIGHT_NOT_FOUND);
+		synchronized (state) {
+			apply(flightId, state, SeatJournal.LAYOUT, 0, encodeLayout(seats));
+		}
+	}
+
+	/** Copies every dirty flight and clears its dirty flag. */
+	public List<Snapshot> drainDirty() {
+		List<Snapshot> snapshots = new ArrayList<>();
+		flights.forEach((flightId, state) -> {
+			synchronized (state) {
+				if (!state.dirty) return;
+				SeatInventory inventory = new SeatInventory(flightId);
+				state.seats.writeTo(inventory);
+				inventory.setFlightAvailableSeats(state.availableSeats);
+				inventory.setVersion(state.version);
+				snapshots.add(new Snapshot(flightId, state.version, inventory, state.availableSeats));
+				state.dirty = false;
+			}
+		});
+		return snapshots;
+	}
+
+	/** Flags flights whose snapshot could not be written so the next flush picks them up again. */
+	public void markDirty(Collection<String> flightIds) {
+		for (String flightId : flightIds) {
+			FlightState state = flights.get(flightId);
+			if (state == null) continue;
+			synchronized (state) {
+				state.dirty = true;
+			}
+		}
+	}
+
+	private FlightState require(String flightId, HttpStatus status, String message) {
+		FlightState state = flights.get(flightId);
+		if (state == null) throw new ResponseStatusException(status, message);
+		return state;
+	}
+
+	private static void checkClaimable(FlightState state, List<String> seatNumbers) {
+		if (!state.seats.missing(seatNumbers).isEmpty())
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, SEATS_NOT_FOUND);
+		List<String> conflicts = state.seats.unavailable(seatNumbers);
+		if (!conflicts.isEmpty()) throw new SeatConflictException(conflicts);
+	}
+
+	private void apply(String flightId, FlightState state, char op, int counterDelta, List<String> seatNumbers) {
+		long version = state.version + 1;
+		journal.append(new SeatJournal.Entry(version, flightId, op, counterDelta, seatNumbers));
+		state.seats.stamp(version);
+		applySeats(state.seats, op, seatNumbers);
+		state.availableSeats += counterDelta;
+		state.version = version;
+		state.dirty = true;
+	}
+
+	private static void applySeats(SeatBitmap seats, char op, List<String> seatNumbers) {
+		switch (op) {
+			case SeatJournal.CLAIM -> seats.setAvailable(seatNumbers, false);
+			case SeatJournal.LAYOUT -> {
+				seats.clear();
+				seatNumbers.forEach(s -> addEncoded(seats, s));
+			}
+			case SeatJournal.ADD_SEATS -> seatNumbers.forEach(s -> addEncoded(seats, s));
+			default -> { }
+		}
+	}
+
+	/**
+	 * Layout entries carry availability as a {@code +} or {@code -} prefix on each seat number and
+	 * the cabin, if any, as a {@code :cabin} suffix; both parts are escaped so a {@code :} inside
+	 * them is not taken for the separator.
+	 */
+	private static List<String> encodeLayout(Collection<Seat> seats) {
+		return seats.stream()
+				.map(seat -> (seat.isAvailable() ? "+" : "-") + SeatJournal.escape(seat.getSeatNumber())
+						+ (seat.getCabin() == null ? "" : ":" + SeatJournal.escape(seat.getCabin())))
+				.toList();
+	}
+
+	private static void addEncoded(SeatBitmap seats, String encoded) {
+		int cabinAt = encoded.indexOf(':');
+		String seatNumber = SeatJournal.unescape(cabinAt < 0 ? encoded.substring(1) : encoded.substring(1, cabinAt));
+		seats.add(seatNumber, encoded.charAt(0) == '+', cabinAt < 0 ? null : SeatJournal.unescape(encoded.substring(cabinAt + 1)));
+	}
+}
@@ -0,0 +1,198 @@
+package com.flightapp.inventory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.flightapp.entity.CabinAvailability;
+import com.flightapp.entity.Seat;
+import com.flightapp.entity.SeatInventory;
+
+/**
+ * Mutable working copy of a {@link SeatInventory}: seat labels in layout order plus one
+ * availability bit and an optional cabin per seat. Seat counts, overall and per cabin, are kept
+ * up to date with every change. Each seat also remembers the inventory version that last flipped
+ * it, and the bitmap the version that last changed its layout, so the seats changed since a given
+ * version can be listed. Not thread-safe; callers own an instance for the duration of a single
+ * read-modify-write.
+ */
+public class SeatBitmap {
+	private final List<String> seatNumbers;
+    private final Map<String, Integer> index;
+    private final BitSet available;
+    private final List<String> cabins;
+    /** Total and available seats per cabin, in order of first appearance. */
+    private final Map<String, int[]> cabinCounts = new LinkedHashMap<>();
+    private int availableCount;
+    private long[] changedAt;
+    private long layoutVersion;
+    /** Version recorded against seats and layout changed from now on. */
+    private long stamp;
+
+    private SeatBitmap(List<String> seatNumbers, BitSet available, List<String> cabins) {
+        this.seatNumbers = new ArrayList<>(seatNumbers);
+        this.index = new HashMap<>(seatNumbers.size() * 2);
+        for (int i = 0; i < this.seatNumbers.size(); i++) index.put(this.seatNumbers.get(i), i);
+        this.available = available;
+        this.cabins = new ArrayList<>(seatNumbers.size());
+        for (int i = 0; i < this.seatNumbers.size(); i++) {
+            this.cabins.add(cabins != null && i < cabins.size() ? cabins.get(i) : null);
+            count(i, 1, available.get(i) ? 1 : 0);
+        }
+        this.changedAt = new long[Math.max(16, this.seatNumbers.size())];
+    }
+
+    public static SeatBitmap empty() {
+        return new SeatBitmap(List.of(), new BitSet(), null);
+    }
+
+    /**
+     * Inventories written before seat versions were recorded report every seat as changed at their
+     * current version, so only clients that are already up to date get a delta from them.
+     */
+    public static SeatBitmap of(SeatInventory inventory) {
+        byte[] bits = inventory.getAvailability();
+        SeatBitmap bitmap = new SeatBitmap(inventory.getSeatNumbers(), bits == null ? new BitSet() : BitSet.valueOf(bits), inventory.getCabins());
+        long current = inventory.getVersion() == null ? 0L : inventory.getVersion();
+        List<Long> versions = inventory.getSeatVersions();
+        if (versions != null && versions.size() == bitmap.size() && inventory.getLayoutVersion() != null) {
+            for (int i = 0; i < versions.size(); i++) bitmap.changedAt[i] = versions.get(i);
+            bitmap.layoutVersion = inventory.getLayoutVersion();
+        } else {
+            bitmap.layoutVersion = current;
+        }
+        bitmap.stamp = current;
+        return bitmap;
+    }
+
+    public static SeatBitmap fromSeats(Collection<Seat> seats) {
+        SeatBitmap bitmap = empty();
+        seats.forEach(seat -> bitmap.add(seat.getSeatNumber(), seat.isAvailable(), seat.getCabin()));
+        return bitmap;
+    }
+
+    public int size() {
+        return seatNumbers.size();
+    }
+
+    public long layoutVersion() {
+        return layoutVersion;
+    }
+
+    /** Records every following change as made at {@code version}. */
+    public void stamp(long version) {
+        this.stamp = version;
+    }
+
+    public int availableCount() {
+        return availableCount;
+    }
+
+    public List<CabinAvailability> cabinAvailability() {
+        List<CabinAvailability> result = new ArrayList<>(cabinCounts.size());
+        cabinCounts.forEach((cabin, counts) -> result.add(new CabinAvailability(cabin, counts[0], counts[1])));
+        return result;
+    }
+
+    public boolean contains(String seatNumber) {
+        return index.containsKey(seatNumber);
+    }
+
+    public boolean isAvailable(String seatNumber) {
+        Integer i = index.get(seatNumber);
+        return i != null && available.get(i);
+    }
+
+    public boolean add(String seatNumber, boolean isAvailable) {
+        return add(seatNumber, isAvailable, null);
+    }
+
+    /** Appends a seat to the layout; returns {@code false} if the seat number already exists. */
+    public boolean add(String seatNumber, boolean isAvailable, String cabin) {
+        if (index.containsKey(seatNumber)) return false;
+        int i = seatNumbers.size();
+        seatNumbers.add(seatNumber);
+        cabins.add(cabin);
+        index.put(seatNumber, i);
+        available.set(i, isAvailable);
+        count(i, 1, isAvailable ? 1 : 0);
+        if (i == changedAt.length) changedAt = Arrays.copyOf(changedAt, i * 2);
+        changedAt[i] = stamp;
+        layoutVersion = stamp;
+        return true;
+    }
+
+    public void clear() {
+        seatNumbers.clear();
+        cabins.clear();
+        index.clear();
+        available.clear();
+        cabinCounts.clear();
+        availableCount = 0;
+        layoutVersion = stamp;
+    }
+
+    public List<String> missing(Collection<String> requested) {
+        return requested.stream().filter(s -> !index.containsKey(s)).toList();
+    }
+
+    public List<String> unavailable(Collection<String> requested) {
+        return requested.stream().filter(s -> index.containsKey(s) && !available.get(index.get(s))).toList();
+    }
+
+    public void setAvailable(Collection<String> seats, boolean isAvailable) {
+        for (String seat : seats) {
+            Integer i = index.get(seat);
+            if (i == null || available.get(i) == isAvailable) continue;
+            available.set(i, isAvailable);
+            count(i, 0, isAvailable ? 1 : -1);
+            changedAt[i] = stamp;
+        }
+    }
+
+    public List<Seat> toSeats(String flightId) {
+        return changedSince(flightId, Long.MIN_VALUE);
+    }
+
+    /**
+     * Seats flipped after {@code version}, in layout order. Only meaningful when the layout has not
+     * changed since, see {@link #layoutVersion()}.
+     */
+    public List<Seat> changedSince(String flightId, long version) {
+        List<Seat> seats = new ArrayList<>();
+        for (int i = 0; i < seatNumbers.size(); i++) {
+            if (changedAt[i] <= version) continue;
+            String seatNumber = seatNumbers.get(i);
+            seats.add(new Seat(flightId + "-" + seatNumber, seatNumber, available.get(i), flightId, cabins.get(i)));
+        }
+        return seats;
+    }
+
+    public void writeTo(SeatInventory inventory) {
+        inventory.setSeatNumbers(new ArrayList<>(seatNumbers));
+        inventory.setAvailability(available.toByteArray());
+        inventory.setCabins(cabins.stream().allMatch(Objects::isNull) ? null : new ArrayList<>(cabins));
+        inventory.setAvailableSeats(availableCount());
+        inventory.setTotalSeats(size());
+        inventory.setCabinAvailability(cabinAvailability());
+        List<Long> versions = new ArrayList<>(seatNumbers.size());
+        for (int i = 0; i < seatNumbers.size(); i++) versions.add(changedAt[i]);
+        inventory.setSeatVersions(versions);
+        inventory.setLayoutVersion(layoutVersion);
+    }
+
+    private void count(int i, int totalDelta, int availableDelta) {
+        availableCount += availableDelta;
+        String cabin = cabins.get(i);
+        if (cabin == null) return;
+        int[] counts = cabinCounts.computeIfAbsent(cabin, c -> new int[2]);
+        counts[0] += totalDelta;
+        counts[1] += availableDelta;
+    }
+}
@@ -0,0 +1,50 @@
+package com.flightapp.inventory;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.entity.Seat;
+import com.flightapp.entity.SeatInventory;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * One-off copy of the per-seat {@code seats} collection into per-flight {@code seat_inventory}
+ * documents. Flights that already have an inventory document are left untouched, so the
+ * migration can be re-run safely.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "flightapp.seats.migrate-on-startup", havingValue = "true")
+public class SeatInventoryMigration implements CommandLineRunner {
+	private final ReactiveMongoTemplate mongoTemplate;
+
+    public SeatInventoryMigration(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run(String... args) {
+        migrate().subscribe(count -> log.info("Migrated {} flights to seat_inventory", count),
+                ex -> log.error("Seat inventory migration failed: {}", ex.getMessage()));
+    }
+
+    public Mono<Long> migrate() {
+        Query ordered = new Query().with(Sort.by("flightId", "id"));
+        return mongoTemplate.find(ordered, Seat.class)
+                .bufferUntilChanged(Seat::getFlightId)
+                .concatMap(seats -> {
+                    SeatInventory inventory = new SeatInventory(seats.get(0).getFlightId());
+                    SeatBitmap.fromSeats(seats).writeTo(inventory);
+                    return mongoTemplate.insert(inventory)
+                            .onErrorResume(DuplicateKeyException.class, ex -> Mono.empty());
+                })
+                .count();
+    }
+}
@@ -0,0 +1,175 @@
+package com.flightapp.inventory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only write-ahead journal of seat inventory changes, split into numbered segment files.
+ * A segment is sealed by {@link #rotate()} and deleted once everything it describes has been
+ * written to Mongo. One entry is one tab-separated line; a torn last line is skipped on replay.
+ * Flight ids and seat entries are {@link #escape escaped}, so separators inside them survive replay.
+ */
+@Slf4j
+public class SeatJournal implements Closeable {
+	public static final char CLAIM = 'C';
+	public static final char ADJUST = 'A';
+	public static final char ADD_SEATS = 'S';
+	public static final char LAYOUT = 'L';
+
+	public record Entry(long version, String flightId, char op, int counterDelta, List<String> seatNumbers) {
+		String encode() {
+			return version + "\t" + escape(flightId) + "\t" + op + "\t" + counterDelta + "\t"
+					+ String.join(",", seatNumbers.stream().map(SeatJournal::escape).toList()) + "\n";
+		}
+
+		static Entry decode(String line) {
+			String[] parts = line.split("\t", -1);
+			if (parts.length != 5) throw new IllegalArgumentException("Malformed journal entry");
+			List<String> seats = parts[4].isEmpty() ? List.of() : Arrays.stream(parts[4].split(",")).map(SeatJournal::unescape).toList();
+			return new Entry(Long.parseLong(parts[0]), unescape(parts[1]), parts[2].charAt(0), Integer.parseInt(parts[3]), seats);
+		}
+	}
+
+	private static final String SEPARATORS = "%\t\n\r,:";
+
+	/** Percent-encodes {@code %}, tab, line breaks, {@code ,} and {@code :} so they can be used as separators. */
+	static String escape(String value) {
+		StringBuilder escaped = new StringBuilder(value.length());
+		for (char c : value.toCharArray()) {
+			if (SEPARATORS.indexOf(c) < 0) escaped.append(c);
+			else escaped.append('%').append(String.format("%02X", (int) c));
+		}
+		return escaped.toString();
+	}
+
+	static String unescape(String value) {
+		if (value.indexOf('%') < 0) return value;
+		StringBuilder unescaped = new StringBuilder(value.length());
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c != '%') {
+				unescaped.append(c);
+				continue;
+			}
+			if (i + 2 >= value.length()) throw new IllegalArgumentException("Malformed journal escape");
+			unescaped.append((char) Integer.parseInt(value.substring(i + 1, i + 3), 16));
+			i += 2;
+		}
+		return unescaped.toString();
+	}
+
+	private static final String PREFIX = "seat-journal-";
+	private static final String SUFFIX = ".log";
+
+	private final Path directory;
+	private final boolean fsyncOnAppend;
+	private FileChannel channel;
+	private long segment;
+
+	public SeatJournal(Path directory, boolean fsyncOnAppend) {
+		this.directory = directory;
+		this.fsyncOnAppend = fsyncOnAppend;
+		try {
+			Files.createDirectories(directory);
+			this.segment = segments().stream().mapToLong(Long::longValue).max().orElse(0L) + 1;
+			this.channel = open(segment);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot open seat journal in " + directory, e);
+		}
+	}
+
+	public synchronized void append(Entry entry) {
+		try {
+			ByteBuffer buffer = ByteBuffer.wrap(entry.encode().getBytes(StandardCharsets.UTF_8));
+			while (buffer.hasRemaining()) channel.write(buffer);
+			if (fsyncOnAppend) channel.force(false);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Seat journal append failed", e);
+		}
+	}
+
+	/** Seals the current segment and starts a new one; returns the number of the sealed segment. */
+	public synchronized long rotate() {
+		try {
+			channel.force(false);
+			channel.close();
+			long sealed = segment;
+			segment++;
+			channel = open(segment);
+			return sealed;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Seat journal rotation failed", e);
+		}
+	}
+
+	/** Deletes every sealed segment up to and including {@code sealedSegment}. */
+	public void deleteUpTo(long sealedSegment) {
+		for (long s : segments()) {
+			if (s > sealedSegment) continue;
+			try {
+				Files.deleteIfExists(path(s));
+			} catch (IOException e) {
+				log.warn("Could not delete seat journal segment {}: {}", s, e.getMessage());
+			}
+		}
+	}
+
+	/** Replays all segments in write order. Must be called before any new entries are appended. */
+	public void replay(Consumer<Entry> consumer) {
+		for (long s : segments()) {
+			try (BufferedReader reader = Files.newBufferedReader(path(s), StandardCharsets.UTF_8)) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					if (line.isBlank()) continue;
+					try {
+						consumer.accept(Entry.decode(line));
+					} catch (IllegalArgumentException e) {
+						log.warn("Skipping unreadable seat journal entry in segment {}", s);
+					}
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException("Seat journal replay failed", e);
+			}
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		channel.force(false);
+		channel.close();
+	}
+
+	private List<Long> segments() {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.map(p -> p.getFileName().toString())
+					.filter(n -> n.startsWith(PREFIX) && n.endsWith(SUFFIX))
+					.map(n -> Long.parseLong(n.substring(PREFIX.length(), n.length() - SUFFIX.length())))
+					.sorted()
+					.toList();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot list seat journal segments", e);
+		}
+	}
+
+	private Path path(long s) {
+		return directory.resolve(PREFIX + String.format("%012d", s) + SUFFIX);
+	}
+
+	private FileChannel open(long s) throws IOException {
+		return FileChannel.open(path(s), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+	}
+}
@@ -0,0 +1,199 @@
+package com.flightapp.inventory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flightapp.dto.SeatChangesDTO;
+import com.flightapp.event.SeatMapChangedEvent;
+import com.flightapp.service.SeatService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+/**
+ * Pushes seat map changes to live subscribers. Each flight with at least one subscriber has one
+ * feed, fed by {@link SeatMapChangedEvent}s of this instance and by a version check every
+ * {@code poll-interval} that picks up changes made by other instances. A burst of changes is
+ * coalesced into a single read of the seats flipped since the feed's last version, and that one
+ * result is handed to every subscriber.
+ * <p>
+ * A subscriber buffers at most {@code buffer} changes. One that falls further behind stops
+ * receiving changes until it has drained its buffer and then gets a fresh full seat map in place
+ * of what it missed, so a slow client never holds back the feed or grows memory without bound.
+ * The same happens when a change does not follow on from the last version a subscriber was sent.
+ */
+@Slf4j
+@Component
+public class SeatMapFeed {
+	private enum Trigger { START, CHANGE, POLL }
+
+	/** Changes read by a feed, with the version they were read since. */
+	private record Change(Long since, SeatChangesDTO changes) {}
+
+	private final SeatService seatService;
+	private final int bufferSize;
+	private final Duration pollInterval;
+	private final Map<String, Feed> feeds = new ConcurrentHashMap<>();
+	private final AtomicInteger subscribers = new AtomicInteger();
+	private final Counter snapshots;
+
+    public SeatMapFeed(SeatService seatService, MeterRegistry meterRegistry,
+                       @Value("${flightapp.seats.feed.buffer:32}") int bufferSize,
+                       @Value("${flightapp.seats.feed.poll-interval:5s}") Duration pollInterval) {
+        this.seatService = seatService;
+        this.bufferSize = bufferSize;
+        this.pollInterval = pollInterval;
+        Gauge.builder("seat.feed.subscribers", subscribers, AtomicInteger::get)
+                .description("Clients currently subscribed to live seat map changes")
+                .register(meterRegistry);
+        Gauge.builder("seat.feed.flights", feeds, Map::size)
+                .description("Flights with at least one live seat map subscriber")
+                .register(meterRegistry);
+        this.snapshots = Counter.builder("seat.feed.snapshots")
+                .description("Full seat maps sent in place of changes a subscriber missed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Changes to the flight's seat map, starting with the seats flipped since {@code sinceVersion},
+     * or the whole map when it is {@code null}. Versions only grow within one subscription. Fails
+     * with 404 before joining a feed when the flight has no seat map.
+     */
+    public Flux<SeatChangesDTO> subscribe(String flightId, Long sinceVersion) {
+        return seatService.getSeatMapVersion(flightId)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Seat map not found")))
+                .thenMany(Flux.defer(() -> join(flightId, sinceVersion)));
+    }
+
+    private Flux<SeatChangesDTO> join(String flightId, Long sinceVersion) {
+        Subscriber subscriber = new Subscriber(bufferSize);
+        feeds.compute(flightId, (id, feed) -> {
+            Feed joined = feed == null ? new Feed(id) : feed;
+            joined.add(subscriber);
+            return joined;
+        });
+        subscribers.incrementAndGet();
+        Flux<SeatChangesDTO> live = subscriber.changes.asFlux()
+                .concatMap(change -> subscriber.missed(change) ? snapshot(flightId) : Mono.just(change.changes()), 1);
+        return Flux.concat(seatService.getSeatChanges(flightId, sinceVersion), live)
+                .filter(subscriber::advance)
+                .doFinally(signal -> {
+                    subscribers.decrementAndGet();
+                    feeds.computeIfPresent(flightId, (id, feed) -> feed.remove(subscriber) ? null : feed);
+                });
+    }
+
+    @EventListener
+    public void onSeatMapChanged(SeatMapChangedEvent event) {
+        Feed feed = feeds.get(event.flightId());
+        if (feed != null) feed.trigger();
+    }
+
+    private Mono<SeatChangesDTO> snapshot(String flightId) {
+        snapshots.increment();
+        return seatService.getSeatChanges(flightId, null);
+    }
+
+    private static final class Subscriber {
+        private final Sinks.Many<Change> changes;
+        private final AtomicBoolean overflowed = new AtomicBoolean();
+        /** Version of the last change delivered; only touched from the subscriber's own sequence. */
+        private long delivered = Long.MIN_VALUE;
+
+        private Subscriber(int bufferSize) {
+            this.changes = Sinks.many().unicast().onBackpressureBuffer(Queues.<Change>get(bufferSize).get());
+        }
+
+        private void offer(Change next) {
+            if (overflowed.get()) return;
+            if (changes.tryEmitNext(next) == Sinks.EmitResult.FAIL_OVERFLOW) overflowed.set(true);
+        }
+
+        /** Whether changes were dropped before {@code next}, or between the last delivered version and it. */
+        private boolean missed(Change next) {
+            if (overflowed.getAndSet(false)) return true;
+            return !next.changes().isFull() && next.since() > delivered;
+        }
+
+        private boolean advance(SeatChangesDTO next) {
+            if (next.getVersion() <= delivered) return false;
+            delivered = next.getVersion();
+            return true;
+        }
+    }
+
+    private final class Feed {
+        private final String flightId;
+        private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+        private final Sinks.Many<Trigger> triggers = Sinks.many().multicast().directBestEffort();
+        private Disposable reader;
+        /** Version the subscribers were last sent changes up to; only touched from {@link #reader}. */
+        private Long version;
+
+        private Feed(String flightId) {
+            this.flightId = flightId;
+        }
+
+        /** Called under the feed's map entry lock; starts reading on the first subscriber. */
+        private void add(Subscriber subscriber) {
+            subscribers.add(subscriber);
+            if (reader != null) return;
+            reader = Flux.merge(triggers.asFlux(), Flux.interval(pollInterval).map(tick -> Trigger.POLL))
+                    .onBackpressureLatest()
+                    .startWith(Trigger.START)
+                    .concatMap(this::read, 1)
+                    .subscribe(change -> subscribers.forEach(s -> s.offer(change)));
+        }
+
+        /** Called under the feed's map entry lock; stops reading and returns {@code true} once the last subscriber left. */
+        private boolean remove(Subscriber subscriber) {
+            subscribers.remove(subscriber);
+            if (!subscribers.isEmpty()) return false;
+            reader.dispose();
+            return true;
+        }
+
+        private void trigger() {
+            synchronized (triggers) {
+                triggers.tryEmitNext(Trigger.CHANGE);
+            }
+        }
+
+        private Mono<Change> read(Trigger trigger) {
+            Long since = version;
+            Mono<SeatChangesDTO> read = switch (trigger) {
+                case START -> seatService.getSeatMapVersion(flightId).doOnNext(current -> version = current).then(Mono.<SeatChangesDTO>empty());
+                case POLL -> seatService.getSeatMapVersion(flightId)
+                        .filter(current -> !current.equals(since))
+                        .flatMap(current -> seatService.getSeatChanges(flightId, since));
+                case CHANGE -> seatService.getSeatChanges(flightId, since);
+            };
+            return read
+                    .filter(changes -> since == null || changes.getVersion() > since)
+                    .doOnNext(changes -> version = changes.getVersion())
+                    .map(changes -> new Change(since, changes))
+                    .onErrorResume(ex -> {
+                        log.warn("Could not read seat map changes of flight {}: {}", flightId, ex.getMessage());
+                        return Mono.empty();
+                    });
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.flightapp.inventory;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.entity.Seat;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Replaces the per-seat documents of a flight with a new seat map by writing only the difference:
+ * new seats are inserted, seats whose availability or cabin changed are updated and seats missing from the
+ * new map are removed. The map is applied in batches of at most {@link #BATCH_SIZE} seats, each read back by
+ * seat number and sent as one unordered bulk write, and the removals come last, so the flight is never left
+ * without seats and an upload never has to be held in memory as a whole.
+ */
+@Component
+public class SeatMapReplacer {
+	public static final int BATCH_SIZE = 1000;
+
+	private final ReactiveMongoTemplate mongoTemplate;
+
+    public SeatMapReplacer(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /** Replaces the whole map in one go. Must run on the flight's inventory lane. */
+    public Mono<Void> replace(String flightId, List<Seat> seats) {
+        Set<String> seen = new HashSet<>();
+        return Flux.fromIterable(seats)
+                .filter(seat -> seen.add(seat.getSeatNumber()))
+                .buffer(BATCH_SIZE)
+                .concatMap(batch -> upsert(flightId, batch))
+                .then(Mono.defer(() -> removeAllExcept(flightId, seen)));
+    }
+
+    /**
+     * Inserts the batch's new seats and updates the changed ones. Seat numbers must be unique within
+     * the batch. Must run on the flight's inventory lane.
+     */
+    public Mono<Void> upsert(String flightId, List<Seat> batch) {
+        List<String> seatNumbers = batch.stream().map(Seat::getSeatNumber).toList();
+        return mongoTemplate.find(new Query(Criteria.where("flightId").is(flightId).and("seatNumber").in(seatNumbers)), Seat.class)
+                .collectMap(Seat::getSeatNumber)
+                .flatMapMany(stored -> Flux.fromIterable(batch).flatMapIterable(seat -> diff(flightId, stored.get(seat.getSeatNumber()), seat)))
+                .collectList()
+                .flatMap(this::execute);
+    }
+
+    /** Removes the flight's seats whose numbers are not in {@code seatNumbers}. Must run on the flight's inventory lane. */
+    public Mono<Void> removeAllExcept(String flightId, Collection<String> seatNumbers) {
+        return mongoTemplate.remove(new Query(Criteria.where("flightId").is(flightId).and("seatNumber").nin(seatNumbers)), Seat.class)
+                .then();
+    }
+
+    private static List<Consumer<ReactiveBulkOperations>> diff(String flightId, Seat existing, Seat seat) {
+        if (existing == null) {
+            Seat created = new Seat(null, seat.getSeatNumber(), seat.isAvailable(), flightId, seat.getCabin());
+            return List.of(bulk -> bulk.insert(created));
+        }
+        if (existing.isAvailable() == seat.isAvailable() && existing.getClaimId() == null
+                && Objects.equals(existing.getCabin(), seat.getCabin())) return List.of();
+        Query byId = new Query(Criteria.where("id").is(existing.getId()));
+        Update update = new Update().set("available", seat.isAvailable()).set("cabin", seat.getCabin()).unset("claimId");
+        return List.of(bulk -> bulk.updateOne(byId, update));
+    }
+
+    private Mono<Void> execute(List<Consumer<ReactiveBulkOperations>> operations) {
+        if (operations.isEmpty()) return Mono.empty();
+        return Mono.defer(() -> {
+            ReactiveBulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Seat.class);
+            operations.forEach(op -> op.accept(bulk));
+            return bulk.execute().then();
+        });
+    }
+}
@@ -0,0 +1,11 @@
+package com.flightapp.repository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import com.flightapp.entity.AircraftLayout;
+
+import reactor.core.publisher.Mono;
+
+public interface AircraftLayoutRepository extends ReactiveMongoRepository<AircraftLayout, String>{
+	Mono<AircraftLayout> findByName(String name);
+}
@@ -6,11 +6,9 @@ import org.springframework.stereotype.Repository;
 
 import com.flightapp.entity.Flight;
 
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Repository
-public interface FlightRepository extends ReactiveMongoRepository<Flight, String>{
-	Flux<Flight> findByFromPlaceAndToPlace(String fromPlace, String toPlace);
+public interface FlightRepository extends ReactiveMongoRepository<Flight, String>, FlightSearchRepository{
 	Mono<Flight> findByFlightNumber(String flightNumber);
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.flightapp.repository;
+
+import com.flightapp.entity.Flight;
+import com.flightapp.search.FlightListQuery;
+import com.flightapp.search.FlightSearchQuery;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Custom fragment of {@link FlightRepository} for keyset-paginated route search and listing, and
+ * for edits that must leave the seat counter to {@code FlightInventoryCounter}.
+ */
+public interface FlightSearchRepository {
+	/** Flights matching the query in sort order, at most {@code query.limit() + 1} so callers can tell whether more follow. */
+	Flux<Flight> search(FlightSearchQuery query);
+
+	/** Flights in id order with only the selected fields populated, read lazily as the subscriber requests them. */
+	Flux<Flight> list(FlightListQuery query);
+
+	/** Overwrites every field of the stored flight except {@code availableSeats}; emits the result, empty if there is no such flight. */
+	Mono<Flight> updateDetails(Flight flight);
+}
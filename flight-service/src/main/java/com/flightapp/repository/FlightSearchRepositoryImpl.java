@@ -0,0 +1,79 @@
+package com.flightapp.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.flightapp.entity.Flight;
+import com.flightapp.search.FlightField;
+import com.flightapp.search.FlightListQuery;
+import com.flightapp.search.FlightSearchCursor;
+import com.flightapp.search.FlightSearchQuery;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs route search against the {@code route_departure} index (fromPlace, toPlace, departureTime):
+ * the route and departure window are an index range, and the cursor turns "skip N rows" into
+ * "start after (sort key, id)", so each page reads about {@code limit} documents. Price sort walks
+ * {@code route_price} (fromPlace, toPlace, price.oneWay, _id) in order and filters the departure
+ * window per document. Listing walks the {@code _id} index the same way.
+ */
+@RequiredArgsConstructor
+public class FlightSearchRepositoryImpl implements FlightSearchRepository {
+	private static final int LIST_BATCH_SIZE = 256;
+
+	private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Flux<Flight> search(FlightSearchQuery query) {
+        Criteria departure = Criteria.where("departureTime").gte(query.departureAfter());
+        if (query.departureBefore() != null) departure.lt(query.departureBefore());
+        Criteria filter = Criteria.where("fromPlace").is(query.fromPlace())
+                .and("toPlace").is(query.toPlace())
+                .and("availableSeats").gte(query.passengers());
+        Criteria criteria = query.cursor() == null
+                ? new Criteria().andOperator(filter, departure)
+                : new Criteria().andOperator(filter, departure, after(query.cursor()));
+        Query mongoQuery = new Query(criteria)
+                .with(Sort.by(Sort.Order.asc(query.sort().field()), Sort.Order.asc("id")))
+                .limit(query.limit() + 1);
+        return mongoTemplate.find(mongoQuery, Flight.class);
+    }
+
+    @Override
+    public Flux<Flight> list(FlightListQuery query) {
+        Query mongoQuery = new Query().with(Sort.by(Sort.Order.asc("id"))).cursorBatchSize(LIST_BATCH_SIZE);
+        if (query.afterId() != null) mongoQuery.addCriteria(Criteria.where("id").gt(query.afterId()));
+        if (query.limit() != null) mongoQuery.limit(query.limit());
+        query.fields().forEach(field -> mongoQuery.fields().include(field.field()));
+        return mongoTemplate.find(mongoQuery, Flight.class);
+    }
+
+    @Override
+    public Mono<Flight> updateDetails(Flight flight) {
+        Update update = new Update()
+                .set("fromPlace", flight.getFromPlace())
+                .set("toPlace", flight.getToPlace())
+                .set("arrivalTime", flight.getArrivalTime())
+                .set("departureTime", flight.getDepartureTime())
+                .set("price", flight.getPrice())
+                .set("airlineId", flight.getAirlineId())
+                .set("flightNumber", flight.getFlightNumber())
+                .set("capacity", flight.getCapacity());
+        return mongoTemplate.findAndModify(new Query(Criteria.where("id").is(flight.getId())), update,
+                FindAndModifyOptions.options().returnNew(true), Flight.class);
+    }
+
+    private static Criteria after(FlightSearchCursor cursor) {
+        String field = cursor.sort().field();
+        return new Criteria().orOperator(
+                Criteria.where(field).gt(cursor.value()),
+                Criteria.where(field).is(cursor.value()).and("id").gt(cursor.id()));
+    }
+}
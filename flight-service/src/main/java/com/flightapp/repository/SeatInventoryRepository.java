@@ -0,0 +1,23 @@
+package com.flightapp.repository;
+
+import java.util.Collection;
+
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.flightapp.entity.SeatInventory;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface SeatInventoryRepository extends ReactiveMongoRepository<SeatInventory, String>{
+	/** Inventories with the seat counts only, leaving the seat map itself in Mongo. */
+	@Query(value = "{ '_id': { '$in': ?0 } }", fields = "{ 'seatNumbers': 0, 'availability': 0, 'cabins': 0, 'seatVersions': 0 }")
+	Flux<SeatInventory> findCountsByFlightIdIn(Collection<String> flightIds);
+
+	/** The inventory with its version only. */
+	@Query(value = "{ '_id': ?0 }", fields = "{ 'version': 1 }")
+	Mono<SeatInventory> findVersionByFlightId(String flightId);
+}
@@ -0,0 +1,212 @@
+package com.flightapp.search;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.flightapp.entity.Flight;
+
+/**
+ * Time-dependent graph of scheduled flights for connection search. Legs are kept in arrays sorted
+ * by departure, one per origin and one per route, so "flights leaving X between t1 and t2" and
+ * "flights from X to Y leaving between t1 and t2" are a binary search plus a scan. Arrays are
+ * replaced, never modified, so searches run without locks against a consistent view of each
+ * airport; updates are serialized on the graph's monitor. Times are compared as wall-clock
+ * times, as they are stored on the flights.
+ */
+public class ConnectionGraph {
+	private static final Leg[] NONE = new Leg[0];
+	private static final Comparator<Leg> BY_DEPARTURE = Comparator.comparingLong(Leg::departure).thenComparing(leg -> leg.flight.getId());
+
+	/** A flight with its times as epoch minutes. */
+	private record Leg(Flight flight, long departure, long arrival, double price) {
+		static Leg of(Flight flight) {
+			return new Leg(flight, minutes(flight.getDepartureTime()), minutes(flight.getArrivalTime()),
+					flight.getPrice() == null ? 0 : flight.getPrice().getOneWay());
+		}
+		String from() { return flight.getFromPlace(); }
+		String to() { return flight.getToPlace(); }
+	}
+
+	private final Map<String, Leg[]> byOrigin = new ConcurrentHashMap<>();
+	private final Map<String, Leg[]> byRoute = new ConcurrentHashMap<>();
+	private final Map<String, Leg> byId = new ConcurrentHashMap<>();
+
+	/** Replaces the whole graph; flights without a route or times are ignored. */
+	public synchronized void rebuild(Collection<Flight> flights) {
+		Map<String, List<Leg>> origins = new HashMap<>();
+		Map<String, List<Leg>> routes = new HashMap<>();
+		Map<String, Leg> ids = new HashMap<>();
+		for (Flight flight : flights) {
+			if (!schedulable(flight)) continue;
+			Leg leg = Leg.of(flight);
+			ids.put(flight.getId(), leg);
+			origins.computeIfAbsent(leg.from(), k -> new ArrayList<>()).add(leg);
+			routes.computeIfAbsent(routeKey(leg.from(), leg.to()), k -> new ArrayList<>()).add(leg);
+		}
+		byOrigin.clear();
+		byRoute.clear();
+		byId.clear();
+		origins.forEach((origin, legs) -> byOrigin.put(origin, sorted(legs)));
+		routes.forEach((route, legs) -> byRoute.put(route, sorted(legs)));
+		byId.putAll(ids);
+	}
+
+	/** Adds the flight or moves it to its new route and times. */
+	public synchronized void upsert(Flight flight) {
+		remove(flight.getId());
+		if (!schedulable(flight)) return;
+		Leg leg = Leg.of(flight);
+		byId.put(flight.getId(), leg);
+		byOrigin.compute(leg.from(), (k, legs) -> insert(legs, leg));
+		byRoute.compute(routeKey(leg.from(), leg.to()), (k, legs) -> insert(legs, leg));
+	}
+
+	public synchronized void remove(String flightId) {
+		Leg leg = byId.remove(flightId);
+		if (leg == null) return;
+		byOrigin.computeIfPresent(leg.from(), (k, legs) -> without(legs, flightId));
+		byRoute.computeIfPresent(routeKey(leg.from(), leg.to()), (k, legs) -> without(legs, flightId));
+	}
+
+	/** Drops flights that departed before {@code cutoff}. */
+	public synchronized void prune(LocalDateTime cutoff) {
+		long limit = minutes(cutoff);
+		byId.values().stream().filter(leg -> leg.departure < limit).map(leg -> leg.flight.getId()).toList().forEach(this::remove);
+	}
+
+	public int size() {
+		return byId.size();
+	}
+
+	/**
+	 * Best itineraries for the query, direct flights included, using the seat counts the graph was
+	 * built with. Partial itineraries that can no longer beat the worst of the {@code limit} best
+	 * found so far are abandoned.
+	 */
+	public List<Itinerary> search(ConnectionQuery query) {
+		Comparator<Itinerary> order = order(query.sort());
+		PriorityQueue<Itinerary> best = new PriorityQueue<>(order.reversed());
+		long first = minutes(query.departureAfter());
+		long last = minutes(query.departureBefore());
+		long minGap = query.minConnection().toMinutes();
+		long maxGap = query.maxConnection().toMinutes();
+		Leg[] firstLegs = byOrigin.getOrDefault(query.fromPlace(), NONE);
+		for (int i = lowerBound(firstLegs, first); i < firstLegs.length && firstLegs[i].departure < last; i++) {
+			Leg l1 = firstLegs[i];
+			if (!seated(l1, query)) continue;
+			if (l1.to().equals(query.toPlace())) {
+				offer(best, query, order, l1);
+				continue;
+			}
+			if (query.maxStops() < 1 || pruned(best, query, l1.departure, l1.arrival, l1.price)) continue;
+			Leg[] second = byOrigin.getOrDefault(l1.to(), NONE);
+			for (int j = lowerBound(second, l1.arrival + minGap); j < second.length && second[j].departure <= l1.arrival + maxGap; j++) {
+				Leg l2 = second[j];
+				if (!seated(l2, query) || l2.to().equals(query.fromPlace())) continue;
+				if (l2.to().equals(query.toPlace())) {
+					offer(best, query, order, l1, l2);
+					continue;
+				}
+				if (query.maxStops() < 2 || pruned(best, query, l1.departure, l2.arrival, l1.price + l2.price)) continue;
+				Leg[] third = byRoute.getOrDefault(routeKey(l2.to(), query.toPlace()), NONE);
+				for (int k = lowerBound(third, l2.arrival + minGap); k < third.length && third[k].departure <= l2.arrival + maxGap; k++) {
+					if (seated(third[k], query)) offer(best, query, order, l1, l2, third[k]);
+				}
+			}
+		}
+		List<Itinerary> result = new ArrayList<>(best);
+		result.sort(order);
+		return result;
+	}
+
+	private static void offer(PriorityQueue<Itinerary> best, ConnectionQuery query, Comparator<Itinerary> order, Leg... legs) {
+		double price = 0;
+		for (Leg leg : legs) price += leg.price;
+		Itinerary itinerary = new Itinerary(Arrays.stream(legs).map(Leg::flight).toList(),
+				legs[legs.length - 1].arrival - legs[0].departure, price);
+		if (best.size() < query.limit()) {
+			best.add(itinerary);
+		} else if (order.compare(itinerary, best.peek()) < 0) {
+			best.poll();
+			best.add(itinerary);
+		}
+	}
+
+	/** Whether a partial itinerary is already no better than the worst kept one; its cost only grows. */
+	private static boolean pruned(PriorityQueue<Itinerary> best, ConnectionQuery query, long departure, long arrival, double price) {
+		if (best.size() < query.limit()) return false;
+		Itinerary worst = best.peek();
+		return query.sort() == ItinerarySort.PRICE ? price > worst.totalPrice() : arrival - departure > worst.durationMinutes();
+	}
+
+	private static Comparator<Itinerary> order(ItinerarySort sort) {
+		Comparator<Itinerary> primary = sort == ItinerarySort.PRICE
+				? Comparator.comparingDouble(Itinerary::totalPrice)
+				: Comparator.comparingLong(Itinerary::durationMinutes);
+		return primary.thenComparingInt(Itinerary::stops)
+				.thenComparing(itinerary -> itinerary.legs().get(0).getDepartureTime())
+				.thenComparing(itinerary -> itinerary.legs().get(0).getId())
+				.thenComparing(itinerary -> itinerary.legs().get(itinerary.legs().size() - 1).getId());
+	}
+
+	private static boolean seated(Leg leg, ConnectionQuery query) {
+		return leg.flight.getAvailableSeats() >= query.passengers();
+	}
+
+	private static boolean schedulable(Flight flight) {
+		return flight.getId() != null && flight.getFromPlace() != null && flight.getToPlace() != null
+				&& flight.getDepartureTime() != null && flight.getArrivalTime() != null
+				&& !flight.getArrivalTime().isBefore(flight.getDepartureTime());
+	}
+
+	/** Index of the first leg departing at or after {@code minute}. */
+	private static int lowerBound(Leg[] legs, long minute) {
+		int lo = 0;
+		int hi = legs.length;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (legs[mid].departure < minute) lo = mid + 1;
+			else hi = mid;
+		}
+		return lo;
+	}
+
+	private static Leg[] sorted(List<Leg> legs) {
+		Leg[] array = legs.toArray(NONE);
+		Arrays.sort(array, BY_DEPARTURE);
+		return array;
+	}
+
+	private static Leg[] insert(Leg[] legs, Leg leg) {
+		Leg[] current = legs == null ? NONE : legs;
+		int at = Arrays.binarySearch(current, leg, BY_DEPARTURE);
+		int index = at < 0 ? -at - 1 : at;
+		Leg[] next = new Leg[current.length + 1];
+		System.arraycopy(current, 0, next, 0, index);
+		next[index] = leg;
+		System.arraycopy(current, index, next, index + 1, current.length - index);
+		return next;
+	}
+
+	private static Leg[] without(Leg[] legs, String flightId) {
+		Leg[] next = Arrays.stream(legs).filter(leg -> !leg.flight.getId().equals(flightId)).toArray(Leg[]::new);
+		return next.length == 0 ? null : next;
+	}
+
+	private static String routeKey(String from, String to) {
+		return from + '\u0000' + to;
+	}
+
+	private static long minutes(LocalDateTime time) {
+		return time.toEpochSecond(ZoneOffset.UTC) / 60;
+	}
+}
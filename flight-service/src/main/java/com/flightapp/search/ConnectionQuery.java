@@ -0,0 +1,13 @@
+package com.flightapp.search;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Connection search: the first leg leaves {@code fromPlace} within {@code [departureAfter,
+ * departureBefore)}, every connection leaves between {@code minConnection} and
+ * {@code maxConnection} after the previous leg arrived, and at most {@code maxStops} stops are made.
+ */
+public record ConnectionQuery(String fromPlace, String toPlace, LocalDateTime departureAfter, LocalDateTime departureBefore,
+		int passengers, int maxStops, Duration minConnection, Duration maxConnection, ItinerarySort sort, int limit) {
+}
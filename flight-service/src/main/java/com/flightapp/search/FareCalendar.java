@@ -0,0 +1,122 @@
+package com.flightapp.search;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import com.flightapp.entity.Flight;
+
+/**
+ * Cheapest fares per route and departure day, kept as one bucket of flight fares per day. A
+ * flight change touches only the bucket the flight left and the bucket it joined, and a month
+ * of a route is answered from at most 31 buckets without touching Mongo. Buckets are replaced,
+ * never modified, so readers need no locks.
+ */
+public class FareCalendar {
+	/** Fare and seats of one flight as of its last change. */
+	public record FlightFare(String flightId, LocalDateTime departureTime, float oneWay, float roundTrip, int availableSeats) {
+		static FlightFare of(Flight flight) {
+			return new FlightFare(flight.getId(), flight.getDepartureTime(), flight.getPrice().getOneWay(),
+					flight.getPrice().getRoundTrip(), flight.getAvailableSeats());
+		}
+	}
+
+	/** Summary of one day: {@code null} fares when no flight that day has enough seats left. */
+	public record Day(LocalDate date, int flights, Float minOneWay, Float minRoundTrip, int availableSeats) {}
+
+	private record Cell(FlightRoute route, LocalDate date) {}
+
+	private final Map<FlightRoute, NavigableMap<LocalDate, List<FlightFare>>> routes = new ConcurrentHashMap<>();
+	private final Map<String, Cell> cells = new ConcurrentHashMap<>();
+
+	public synchronized void rebuild(Collection<Flight> flights) {
+		routes.clear();
+		cells.clear();
+		Map<Cell, List<FlightFare>> buckets = new HashMap<>();
+		for (Flight flight : flights) {
+			if (!priced(flight)) continue;
+			Cell cell = new Cell(FlightRoute.of(flight), flight.getDepartureTime().toLocalDate());
+			cells.put(flight.getId(), cell);
+			buckets.computeIfAbsent(cell, c -> new ArrayList<>()).add(FlightFare.of(flight));
+		}
+		buckets.forEach((cell, fares) -> days(cell.route()).put(cell.date(), List.copyOf(fares)));
+	}
+
+	/** Records the flight's current fare, moving it if its route or departure day changed. */
+	public synchronized void upsert(Flight flight) {
+		remove(flight.getId());
+		if (!priced(flight)) return;
+		Cell cell = new Cell(FlightRoute.of(flight), flight.getDepartureTime().toLocalDate());
+		cells.put(flight.getId(), cell);
+		days(cell.route()).compute(cell.date(), (date, fares) -> {
+			List<FlightFare> next = fares == null ? new ArrayList<>() : new ArrayList<>(fares);
+			next.add(FlightFare.of(flight));
+			return List.copyOf(next);
+		});
+	}
+
+	public synchronized void remove(String flightId) {
+		Cell cell = cells.remove(flightId);
+		if (cell == null) return;
+		NavigableMap<LocalDate, List<FlightFare>> days = routes.get(cell.route());
+		if (days == null) return;
+		days.computeIfPresent(cell.date(), (date, fares) -> {
+			List<FlightFare> next = fares.stream().filter(fare -> !fare.flightId().equals(flightId)).toList();
+			return next.isEmpty() ? null : next;
+		});
+		if (days.isEmpty()) routes.remove(cell.route());
+	}
+
+	/** Drops the buckets of days before {@code today}. */
+	public synchronized void prune(LocalDate today) {
+		for (NavigableMap<LocalDate, List<FlightFare>> days : routes.values()) {
+			NavigableMap<LocalDate, List<FlightFare>> past = days.headMap(today, false);
+			past.values().forEach(fares -> fares.forEach(fare -> cells.remove(fare.flightId())));
+			past.clear();
+		}
+		routes.values().removeIf(NavigableMap::isEmpty);
+	}
+
+	/**
+	 * One entry per day of the month that has flights on the route. Flights that departed before
+	 * {@code now} are left out; fares only count flights with at least {@code passengers} seats.
+	 */
+	public List<Day> month(FlightRoute route, YearMonth month, int passengers, LocalDateTime now) {
+		NavigableMap<LocalDate, List<FlightFare>> days = routes.get(route);
+		if (days == null) return List.of();
+		List<Day> result = new ArrayList<>();
+		days.subMap(month.atDay(1), true, month.atEndOfMonth(), true).forEach((date, fares) -> {
+			int flights = 0;
+			int seats = 0;
+			Float oneWay = null;
+			Float roundTrip = null;
+			for (FlightFare fare : fares) {
+				if (fare.departureTime().isBefore(now)) continue;
+				flights++;
+				seats += fare.availableSeats();
+				if (fare.availableSeats() < passengers) continue;
+				if (oneWay == null || fare.oneWay() < oneWay) oneWay = fare.oneWay();
+				if (roundTrip == null || fare.roundTrip() < roundTrip) roundTrip = fare.roundTrip();
+			}
+			if (flights > 0) result.add(new Day(date, flights, oneWay, roundTrip, seats));
+		});
+		return result;
+	}
+
+	private NavigableMap<LocalDate, List<FlightFare>> days(FlightRoute route) {
+		return routes.computeIfAbsent(route, r -> new ConcurrentSkipListMap<>());
+	}
+
+	private static boolean priced(Flight flight) {
+		return flight.getId() != null && flight.getFromPlace() != null && flight.getToPlace() != null
+				&& flight.getDepartureTime() != null && flight.getPrice() != null;
+	}
+}
@@ -0,0 +1,65 @@
+package com.flightapp.search;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flightapp.entity.Flight;
+
+/** Flight fields a listing can project; {@link #ID} is always included because it is the page cursor. */
+public enum FlightField {
+	ID("id", Flight::getId),
+	FROM_PLACE("fromPlace", Flight::getFromPlace),
+	TO_PLACE("toPlace", Flight::getToPlace),
+	ARRIVAL_TIME("arrivalTime", Flight::getArrivalTime),
+	DEPARTURE_TIME("departureTime", Flight::getDepartureTime),
+	AVAILABLE_SEATS("availableSeats", Flight::getAvailableSeats),
+	PRICE("price", Flight::getPrice),
+	AIRLINE_ID("airlineId", Flight::getAirlineId),
+	FLIGHT_NUMBER("flightNumber", Flight::getFlightNumber),
+	CAPACITY("capacity", Flight::getCapacity);
+
+	private final String field;
+	private final Function<Flight, Object> getter;
+
+	FlightField(String field, Function<Flight, Object> getter) {
+		this.field = field;
+		this.getter = getter;
+	}
+
+	public String field() {
+		return field;
+	}
+
+	/** Parses a comma-separated list of field names; {@code null} or blank selects every field. */
+	public static Set<FlightField> parse(String fields) {
+		if (fields == null || fields.isBlank()) return EnumSet.allOf(FlightField.class);
+		Set<FlightField> selected = EnumSet.of(ID);
+		for (String name : fields.split(",")) {
+			String trimmed = name.trim();
+			if (trimmed.isEmpty()) continue;
+			selected.add(of(trimmed));
+		}
+		return selected;
+	}
+
+	/** The selected fields of the flight, in declaration order. */
+	public static Map<String, Object> project(Flight flight, Set<FlightField> fields) {
+		Map<String, Object> row = new LinkedHashMap<>();
+		for (FlightField field : fields) row.put(field.field, field.getter.apply(flight));
+		return row;
+	}
+
+	private static FlightField of(String name) {
+		for (FlightField field : values()) {
+			if (field.field.equalsIgnoreCase(name) || field.name().equals(name.toUpperCase(Locale.ROOT))) return field;
+		}
+		throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown field: " + name);
+	}
+}
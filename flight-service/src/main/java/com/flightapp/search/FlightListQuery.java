@@ -0,0 +1,10 @@
+package com.flightapp.search;
+
+import java.util.Set;
+
+/**
+ * Validated flight listing: flights ordered by id starting after {@code afterId} (may be
+ * {@code null}), only the selected fields, at most {@code limit} rows ({@code null} for no limit).
+ */
+public record FlightListQuery(String afterId, Set<FlightField> fields, Integer limit) {
+}
@@ -0,0 +1,10 @@
+package com.flightapp.search;
+
+import com.flightapp.entity.Flight;
+
+/** Origin and destination of a flight, the unit search results are cached and invalidated by. */
+public record FlightRoute(String fromPlace, String toPlace) {
+	public static FlightRoute of(Flight flight) {
+		return new FlightRoute(flight.getFromPlace(), flight.getToPlace());
+	}
+}
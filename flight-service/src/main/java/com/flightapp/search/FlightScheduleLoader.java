@@ -0,0 +1,129 @@
+package com.flightapp.search;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.entity.Flight;
+import com.flightapp.event.FlightChangedEvent;
+import com.flightapp.inventory.FlightInventoryCounter;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+/**
+ * Keeps the in-memory schedule indexes, the {@link ConnectionGraph}, the {@link FareCalendar} and
+ * the {@link PlaceIndex}, in step with Mongo: every flight that has not departed is loaded once at startup, each
+ * {@link FlightChangedEvent} re-reads just that flight with its live seat count, and departed
+ * flights are pruned periodically. Refreshes run one at a time in event order, so a slow read of
+ * an older change can never overwrite a newer one. A failed build is retried with backoff and,
+ * if it still fails, is not cached: the next caller starts a fresh one.
+ */
+@Slf4j
+@Component
+public class FlightScheduleLoader implements CommandLineRunner, DisposableBean {
+	private static final int BUILD_RETRIES = 3;
+
+	private final ReactiveMongoTemplate mongoTemplate;
+	private final FlightInventoryCounter inventoryCounter;
+	private final ConnectionGraph graph = new ConnectionGraph();
+	private final FareCalendar fareCalendar = new FareCalendar();
+	private final PlaceIndex placeIndex = new PlaceIndex();
+	private final Duration pruneInterval;
+	private final Mono<Void> ready;
+	private final Sinks.Many<String> changes = Sinks.many().unicast().onBackpressureBuffer();
+	private Disposable pruner;
+	private Disposable refresher;
+
+    public FlightScheduleLoader(ReactiveMongoTemplate mongoTemplate, FlightInventoryCounter inventoryCounter,
+                                @Value("${flightapp.schedule.prune-interval:1h}") Duration pruneInterval,
+                                @Value("${flightapp.schedule.build-retry-backoff:1s}") Duration buildRetryBackoff) {
+        this.mongoTemplate = mongoTemplate;
+        this.inventoryCounter = inventoryCounter;
+        this.pruneInterval = pruneInterval;
+        this.ready = Mono.defer(() -> mongoTemplate
+                        .find(new Query(Criteria.where("departureTime").gte(LocalDateTime.now())), Flight.class)
+                        .collectList())
+                .doOnNext(graph::rebuild)
+                .doOnNext(fareCalendar::rebuild)
+                .doOnNext(placeIndex::rebuild)
+                .doOnNext(flights -> log.info("Schedule indexes built with {} flights", graph.size()))
+                .then()
+                .retryWhen(Retry.backoff(BUILD_RETRIES, buildRetryBackoff)
+                        .doBeforeRetry(signal -> log.warn("Schedule index build failed, retrying: {}", signal.failure().getMessage())))
+                .cache(v -> Duration.ofMillis(Long.MAX_VALUE), ex -> Duration.ZERO, () -> Duration.ofMillis(Long.MAX_VALUE));
+    }
+
+    @Override
+    public void run(String... args) {
+        ready.subscribe(null, ex -> log.error("Schedule index build failed: {}", ex.getMessage()));
+        refresher = changes.asFlux().concatMap(this::refresh).subscribe();
+        pruner = Flux.interval(pruneInterval)
+                .subscribe(tick -> {
+                    graph.prune(LocalDateTime.now());
+                    fareCalendar.prune(LocalDate.now());
+                    placeIndex.prune(LocalDateTime.now());
+                });
+    }
+
+    /** The connection graph once the initial build is done. */
+    public Mono<ConnectionGraph> graph() {
+        return ready.thenReturn(graph);
+    }
+
+    /** The fare calendar once the initial build is done. */
+    public Mono<FareCalendar> fareCalendar() {
+        return ready.thenReturn(fareCalendar);
+    }
+
+    /** The place autocomplete index once the initial build is done. */
+    public Mono<PlaceIndex> places() {
+        return ready.thenReturn(placeIndex);
+    }
+
+    @EventListener
+    public void onFlightChanged(FlightChangedEvent event) {
+        synchronized (changes) {
+            changes.tryEmitNext(event.flightId());
+        }
+    }
+
+    private Mono<Void> refresh(String flightId) {
+        return ready.then(mongoTemplate.findById(flightId, Flight.class))
+                .flatMap(inventoryCounter::withLiveCount)
+                .doOnNext(flight -> {
+                    graph.upsert(flight);
+                    fareCalendar.upsert(flight);
+                    placeIndex.upsert(flight);
+                })
+                .switchIfEmpty(Mono.fromRunnable(() -> {
+                    graph.remove(flightId);
+                    fareCalendar.remove(flightId);
+                    placeIndex.remove(flightId);
+                }))
+                .then()
+                .onErrorResume(ex -> {
+                    log.warn("Could not refresh flight {} in the schedule indexes: {}", flightId, ex.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public void destroy() {
+        if (pruner != null) pruner.dispose();
+        if (refresher != null) refresher.dispose();
+    }
+}
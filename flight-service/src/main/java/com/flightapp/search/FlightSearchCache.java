@@ -0,0 +1,152 @@
+package com.flightapp.search;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.entity.Flight;
+import com.flightapp.event.FlightChangedEvent;
+import com.flightapp.repository.FlightRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bounded cache of search pages in front of Mongo. Admission and eviction are Caffeine's
+ * W-TinyLFU, so the few hundred hot city pairs stay resident while one-off searches do not push
+ * them out. Keys carry a per-route version: a change to any flight on a route bumps the version,
+ * which makes every cached page of that route unreachable at once without scanning the cache,
+ * and a load that raced with the change is stored under the old version and never served.
+ * Pages older than {@code refresh-after} are still served while one caller reloads them in the
+ * background; those hits are counted as stale serves.
+ */
+@Slf4j
+@Component
+public class FlightSearchCache {
+	/** Normalized search criteria plus the route version they were cached under. */
+	public record Key(FlightRoute route, LocalDate departureFrom, LocalDate departureTo, int passengers, FlightSort sort,
+			String cursor, int limit, long routeVersion) {}
+
+	/** Raw rows of one page as read from Mongo, before live counts are applied. */
+	public record Page(List<Flight> rows, String nextCursor) {}
+
+	private record Entry(Page page, long loadedAt, AtomicBoolean refreshing) {}
+
+	private final boolean enabled;
+	private final long refreshAfterNanos;
+	private final AsyncCache<Key, Entry> pages;
+	private final Cache<String, FlightRoute> routesByFlight;
+	private final Map<FlightRoute, Long> routeVersions = new ConcurrentHashMap<>();
+	private final FlightRepository flightRepo;
+	private final Counter staleServes;
+	private final Counter invalidations;
+
+    public FlightSearchCache(FlightRepository flightRepo, MeterRegistry meterRegistry,
+                             @Value("${flightapp.search.cache.enabled:true}") boolean enabled,
+                             @Value("${flightapp.search.cache.max-entries:10000}") long maxEntries,
+                             @Value("${flightapp.search.cache.refresh-after:5s}") Duration refreshAfter,
+                             @Value("${flightapp.search.cache.expire-after:60s}") Duration expireAfter) {
+        this.flightRepo = flightRepo;
+        this.enabled = enabled;
+        this.refreshAfterNanos = refreshAfter.toNanos();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(expireAfter)
+                .recordStats()
+                .buildAsync();
+        this.routesByFlight = Caffeine.newBuilder().maximumSize(Math.max(maxEntries * 10, 1000)).build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "flightSearch");
+        Gauge.builder("flight.search.cache.hit.ratio", pages, cache -> cache.synchronous().stats().hitRate())
+                .description("Share of searches answered from the cache since startup")
+                .register(meterRegistry);
+        this.staleServes = Counter.builder("flight.search.cache.stale")
+                .description("Searches answered with a page past its refresh time while it was reloaded")
+                .register(meterRegistry);
+        this.invalidations = Counter.builder("flight.search.cache.invalidations")
+                .description("Route invalidations caused by flight or inventory changes")
+                .register(meterRegistry);
+    }
+
+    /** Current key for the criteria; look it up right before {@link #get} so it reflects the latest route version. */
+    public Key key(FlightRoute route, LocalDate departureFrom, LocalDate departureTo, int passengers, FlightSort sort,
+                   String cursor, int limit) {
+        return new Key(route, departureFrom, departureTo, passengers, sort, cursor, limit, routeVersions.getOrDefault(route, 0L));
+    }
+
+    /** Cached page for the key, loading it with {@code loader} on a miss. Concurrent misses share one load. */
+    public Mono<Page> get(Key key, Supplier<Mono<Page>> loader) {
+        if (!enabled) return loader.get();
+        return Mono.fromFuture(() -> pages.get(key, (k, executor) -> load(k, loader)), true)
+                .map(entry -> {
+                    if (System.nanoTime() - entry.loadedAt() >= refreshAfterNanos) refresh(key, entry, loader);
+                    return entry.page();
+                });
+    }
+
+    /** Makes every cached page of the routes unreachable. */
+    public void invalidate(Collection<FlightRoute> routes) {
+        for (FlightRoute route : routes) {
+            routeVersions.merge(route, 1L, Long::sum);
+            invalidations.increment();
+        }
+    }
+
+    /**
+     * Invalidates the routes the flight is and was on. Counter changes arrive without a route; the
+     * route is then taken from earlier results or, for flights never seen, read from Mongo.
+     */
+    @EventListener
+    public void onFlightChanged(FlightChangedEvent event) {
+        if (!enabled) return;
+        FlightRoute known = routesByFlight.getIfPresent(event.flightId());
+        if (known != null) invalidate(List.of(known));
+        if (!event.routes().isEmpty()) {
+            invalidate(event.routes());
+            routesByFlight.put(event.flightId(), event.routes().get(0));
+        } else if (known == null) {
+            flightRepo.findById(event.flightId())
+                    .map(FlightRoute::of)
+                    .subscribe(route -> {
+                        routesByFlight.put(event.flightId(), route);
+                        invalidate(List.of(route));
+                    }, ex -> log.warn("Could not resolve route of flight {} for cache invalidation: {}", event.flightId(), ex.getMessage()));
+        }
+    }
+
+    private CompletableFuture<Entry> load(Key key, Supplier<Mono<Page>> loader) {
+        return loader.get()
+                .doOnNext(page -> page.rows().forEach(flight -> routesByFlight.put(flight.getId(), key.route())))
+                .map(page -> new Entry(page, System.nanoTime(), new AtomicBoolean()))
+                .toFuture();
+    }
+
+    private void refresh(Key key, Entry stale, Supplier<Mono<Page>> loader) {
+        staleServes.increment();
+        if (!stale.refreshing().compareAndSet(false, true)) return;
+        load(key, loader).whenComplete((fresh, ex) -> {
+            if (ex != null) {
+                stale.refreshing().set(false);
+                log.warn("Search cache refresh failed for {}: {}", key.route(), ex.getMessage());
+            } else if (key.routeVersion() == routeVersions.getOrDefault(key.route(), 0L)) {
+                pages.put(key, CompletableFuture.completedFuture(fresh));
+            }
+        });
+    }
+}
@@ -0,0 +1,44 @@
+package com.flightapp.search;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flightapp.entity.Flight;
+
+/**
+ * Position after the last flight of a search page: its sort key and id. The next page starts
+ * strictly after that pair, so paging stays stable while flights are added or sold out and costs
+ * the same on page 100 as on page 1. Encoded as an opaque URL-safe token.
+ */
+public record FlightSearchCursor(FlightSort sort, Object value, String id) {
+	private static final String INVALID = "Invalid search cursor";
+
+	public static FlightSearchCursor after(FlightSort sort, Flight flight) {
+		Object value = sort == FlightSort.PRICE ? (Object) (double) flight.getPrice().getOneWay() : flight.getDepartureTime();
+		return new FlightSearchCursor(sort, value, flight.getId());
+	}
+
+	public String encode() {
+		String raw = sort.name() + "|" + value + "|" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/** Decodes a token issued for the same sort order; anything else is a 400. */
+	public static FlightSearchCursor decode(String token, FlightSort sort) {
+		try {
+			String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 3);
+			if (parts.length != 3 || FlightSort.valueOf(parts[0]) != sort || parts[2].isEmpty())
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST, INVALID);
+			Object value = sort == FlightSort.PRICE ? (Object) Double.parseDouble(parts[1]) : LocalDateTime.parse(parts[1]);
+			return new FlightSearchCursor(sort, value, parts[2]);
+		} catch (ResponseStatusException ex) {
+			throw ex;
+		} catch (RuntimeException ex) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, INVALID);
+		}
+	}
+}
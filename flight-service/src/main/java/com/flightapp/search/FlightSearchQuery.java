@@ -0,0 +1,12 @@
+package com.flightapp.search;
+
+import java.time.LocalDateTime;
+
+/**
+ * Validated flight search: a route, a departure window ({@code departureBefore} is exclusive and
+ * may be {@code null} for an open-ended window), the minimum number of free seats, the sort order,
+ * the position to continue from and the page size.
+ */
+public record FlightSearchQuery(String fromPlace, String toPlace, LocalDateTime departureAfter, LocalDateTime departureBefore,
+		int passengers, FlightSort sort, FlightSearchCursor cursor, int limit) {
+}
@@ -0,0 +1,32 @@
+package com.flightapp.search;
+
+import java.util.Locale;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/** Sort orders supported by flight search; ties are always broken by flight id. */
+public enum FlightSort {
+	DEPARTURE("departureTime"),
+	PRICE("price.oneWay");
+
+	private final String field;
+
+	FlightSort(String field) {
+		this.field = field;
+	}
+
+	public String field() {
+		return field;
+	}
+
+	/** Parses {@code departure} or {@code price}, case-insensitively; {@code null} means departure. */
+	public static FlightSort parse(String value) {
+		if (value == null || value.isBlank()) return DEPARTURE;
+		try {
+			return valueOf(value.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException ex) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported sort '" + value + "', use departure or price");
+		}
+	}
+}
@@ -0,0 +1,12 @@
+package com.flightapp.search;
+
+import java.util.List;
+
+import com.flightapp.entity.Flight;
+
+/** Flights taken in order from origin to destination; duration runs from first departure to last arrival. */
+public record Itinerary(List<Flight> legs, long durationMinutes, double totalPrice) {
+	public int stops() {
+		return legs.size() - 1;
+	}
+}
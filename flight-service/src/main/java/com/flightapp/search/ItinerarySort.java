@@ -0,0 +1,22 @@
+package com.flightapp.search;
+
+import java.util.Locale;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/** Ranking of connecting itineraries; ties go to fewer stops, then the earlier departure. */
+public enum ItinerarySort {
+	DURATION,
+	PRICE;
+
+	/** Parses {@code duration} or {@code price}, case-insensitively; {@code null} means duration. */
+	public static ItinerarySort parse(String value) {
+		if (value == null || value.isBlank()) return DURATION;
+		try {
+			return valueOf(value.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException ex) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported sort '" + value + "', use duration or price");
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package com.flightapp.search;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.flightapp.entity.Flight;
+
+/**
+ * Typeahead over the distinct {@code fromPlace}/{@code toPlace} values of scheduled flights. Every
+ * word start of every place is a key in one sorted array, so a prefix is a binary search to the
+ * first match and a scan over the matches, ranked by how many flights use the place. The array
+ * is rebuilt only when a place appears or disappears; flight counts change in place.
+ */
+public class PlaceIndex {
+	/** A place and the number of scheduled flights departing from or arriving at it. */
+	public record Suggestion(String place, int flights) {}
+
+	private record Key(String text, String place) {}
+
+	private record Scheduled(FlightRoute route, LocalDateTime departureTime) {}
+
+	private static final Comparator<Key> BY_TEXT = Comparator.comparing(Key::text).thenComparing(Key::place);
+
+	private final Map<String, Integer> flightsByPlace = new ConcurrentHashMap<>();
+	private final Map<String, Scheduled> flights = new ConcurrentHashMap<>();
+	private volatile Key[] keys = new Key[0];
+
+	public synchronized void rebuild(Collection<Flight> schedule) {
+		flights.clear();
+		flightsByPlace.clear();
+		for (Flight flight : schedule) add(flight);
+		reindex();
+	}
+
+	public synchronized void upsert(Flight flight) {
+		boolean changed = drop(flight.getId());
+		changed |= add(flight);
+		if (changed) reindex();
+	}
+
+	public synchronized void remove(String flightId) {
+		if (drop(flightId)) reindex();
+	}
+
+	/** Stops counting flights that departed before {@code cutoff}. */
+	public synchronized void prune(LocalDateTime cutoff) {
+		boolean changed = false;
+		for (Map.Entry<String, Scheduled> entry : new ArrayList<>(flights.entrySet())) {
+			if (entry.getValue().departureTime().isBefore(cutoff)) changed |= drop(entry.getKey());
+		}
+		if (changed) reindex();
+	}
+
+	/** Up to {@code limit} places with a word starting with {@code prefix}, most used first; case-insensitive. */
+	public List<Suggestion> suggest(String prefix, int limit) {
+		String text = normalize(prefix);
+		Key[] current = keys;
+		Comparator<Suggestion> rank = Comparator.comparingInt(Suggestion::flights).thenComparing(Suggestion::place, Comparator.reverseOrder());
+		PriorityQueue<Suggestion> best = new PriorityQueue<>(rank);
+		Set<String> seen = new HashSet<>();
+		for (int i = lowerBound(current, text); i < current.length && current[i].text().startsWith(text); i++) {
+			String place = current[i].place();
+			if (!seen.add(place)) continue;
+			Suggestion suggestion = new Suggestion(place, flightsByPlace.getOrDefault(place, 0));
+			if (best.size() < limit) {
+				best.add(suggestion);
+			} else if (rank.compare(suggestion, best.peek()) > 0) {
+				best.poll();
+				best.add(suggestion);
+			}
+		}
+		List<Suggestion> result = new ArrayList<>(best);
+		result.sort(rank.reversed());
+		return result;
+	}
+
+	/** Returns whether a new place appeared. */
+	private boolean add(Flight flight) {
+		if (flight.getId() == null || flight.getFromPlace() == null || flight.getToPlace() == null) return false;
+		flights.put(flight.getId(), new Scheduled(FlightRoute.of(flight), flight.getDepartureTime() == null
+				? LocalDateTime.MAX : flight.getDepartureTime()));
+		boolean added = flightsByPlace.merge(flight.getFromPlace(), 1, Integer::sum) == 1;
+		if (!flight.getToPlace().equals(flight.getFromPlace())) added |= flightsByPlace.merge(flight.getToPlace(), 1, Integer::sum) == 1;
+		return added;
+	}
+
+	/** Returns whether a place disappeared. */
+	private boolean drop(String flightId) {
+		Scheduled scheduled = flights.remove(flightId);
+		if (scheduled == null) return false;
+		FlightRoute route = scheduled.route();
+		boolean removed = flightsByPlace.computeIfPresent(route.fromPlace(), (place, count) -> count > 1 ? count - 1 : null) == null;
+		if (!route.toPlace().equals(route.fromPlace()))
+			removed |= flightsByPlace.computeIfPresent(route.toPlace(), (place, count) -> count > 1 ? count - 1 : null) == null;
+		return removed;
+	}
+
+	private void reindex() {
+		List<Key> next = new ArrayList<>();
+		for (String place : flightsByPlace.keySet()) {
+			String text = normalize(place);
+			for (int i = 0; i < text.length(); i++) {
+				if (Character.isLetterOrDigit(text.charAt(i)) && (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1))))
+					next.add(new Key(text.substring(i), place));
+			}
+		}
+		Key[] sorted = next.toArray(new Key[0]);
+		Arrays.sort(sorted, BY_TEXT);
+		keys = sorted;
+	}
+
+	private static int lowerBound(Key[] keys, String text) {
+		int lo = 0;
+		int hi = keys.length;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (keys[mid].text().compareTo(text) < 0) lo = mid + 1;
+			else hi = mid;
+		}
+		return lo;
+	}
+
+	private static String normalize(String text) {
+		return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+	}
+}
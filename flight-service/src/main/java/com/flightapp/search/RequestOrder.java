@@ -0,0 +1,50 @@
+package com.flightapp.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Puts the results of an {@code $in} query back into the order of the requested keys while they
+ * stream in: each result is emitted as soon as every key before it has been answered, so only
+ * results that arrive ahead of their turn are held back.
+ */
+public final class RequestOrder {
+	private RequestOrder() {
+	}
+
+	/**
+	 * {@code keys} must be distinct. Keys without a result are filled in with {@code missing} once
+	 * {@code results} completes.
+	 */
+	public static <K, T> Flux<T> of(List<K> keys, Flux<T> results, Function<T, K> keyOf, Function<K, T> missing) {
+		return Flux.defer(() -> {
+			Map<K, T> pending = new HashMap<>();
+			int[] next = { 0 };
+			Function<Boolean, List<T>> drain = complete -> {
+				List<T> ready = new ArrayList<>();
+				while (next[0] < keys.size()) {
+					K key = keys.get(next[0]);
+					T result = pending.remove(key);
+					if (result == null) {
+						if (!complete) break;
+						result = missing.apply(key);
+					}
+					ready.add(result);
+					next[0]++;
+				}
+				return ready;
+			};
+			return results
+					.concatMapIterable(result -> {
+						pending.put(keyOf.apply(result), result);
+						return drain.apply(false);
+					})
+					.concatWith(Flux.defer(() -> Flux.fromIterable(drain.apply(true))));
+		});
+	}
+}
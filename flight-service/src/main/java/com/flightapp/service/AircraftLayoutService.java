@@ -0,0 +1,17 @@
+package com.flightapp.service;
+
+import java.util.List;
+
+import com.flightapp.dto.SeatMapGenerationDTO;
+import com.flightapp.entity.AircraftLayout;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface AircraftLayoutService {
+	Flux<AircraftLayout> getAllLayouts();
+    Mono<AircraftLayout> getById(String id);
+    Mono<AircraftLayout> addLayout(AircraftLayout layout);
+    Mono<SeatMapGenerationDTO> generateSeatMap(String layoutId, String flightId);
+    Flux<SeatMapGenerationDTO> generateSeatMaps(String layoutId, List<String> flightIds);
+}
@@ -0,0 +1,10 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.ItineraryDTO;
+import com.flightapp.dto.SearchRequestDTO;
+
+import reactor.core.publisher.Flux;
+
+public interface ConnectionSearchService {
+	Flux<ItineraryDTO> searchConnections(SearchRequestDTO searchRequest);
+}
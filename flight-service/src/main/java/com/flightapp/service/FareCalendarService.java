@@ -0,0 +1,11 @@
+package com.flightapp.service;
+
+import java.time.YearMonth;
+
+import com.flightapp.dto.FareCalendarDayDTO;
+
+import reactor.core.publisher.Flux;
+
+public interface FareCalendarService {
+	Flux<FareCalendarDayDTO> getFareCalendar(String from, String to, YearMonth month, int passengers);
+}
@@ -0,0 +1,10 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.FlightBatchItemDTO;
+import com.flightapp.dto.FlightBatchRequestDTO;
+
+import reactor.core.publisher.Flux;
+
+public interface FlightBatchService {
+	Flux<FlightBatchItemDTO> getFlights(FlightBatchRequestDTO request);
+}
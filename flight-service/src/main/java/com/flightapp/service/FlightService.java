@@ -1,9 +1,14 @@
 package com.flightapp.service;
 
 import java.util.List;
+import java.util.Map;
 
+import com.flightapp.dto.FlightPageDTO;
+import com.flightapp.dto.FlightSearchResultDTO;
+import com.flightapp.dto.InventoryAdjustmentDTO;
+import com.flightapp.dto.InventoryDTO;
+import com.flightapp.dto.SearchRequestDTO;
 import com.flightapp.entity.Flight;
-import com.flightapp.entity.Seat;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -11,11 +16,11 @@ import reactor.core.publisher.Mono;
 public interface FlightService {
 	Mono<Flight> getFlightById(String id);
     Mono<Void> updateFlight(String id, Flight flight);
-    Flux<Seat> getSeatsByFlightId(String flightId);
-    Mono<Void> updateSeats(String flightId, List<Seat> seats);
-    Mono<Flight> reduceAvailableSeats(String flightId, int seatCount);
-    Mono<Flight> increaseAvailableSeats(String flightId, int seatCount);
+    Mono<InventoryDTO> reduceAvailableSeats(String flightId, int seatCount);
+    Mono<InventoryDTO> increaseAvailableSeats(String flightId, int seatCount);
+    Flux<InventoryDTO> adjustInventory(List<InventoryAdjustmentDTO> adjustments);
 	Mono<Flight> addFlight(Flight flight);
-	Flux<Flight> searchFlights(String from, String to);
-	Flux<Flight> getAllFlights();
+	Mono<FlightSearchResultDTO> searchFlights(SearchRequestDTO searchRequest);
+	Mono<FlightPageDTO> listFlights(String after, Integer limit, String fields);
+	Flux<Map<String, Object>> streamFlights(String after, Integer limit, String fields);
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.PlaceSuggestionDTO;
+
+import reactor.core.publisher.Flux;
+
+public interface PlaceService {
+	Flux<PlaceSuggestionDTO> suggestPlaces(String prefix, int limit);
+}
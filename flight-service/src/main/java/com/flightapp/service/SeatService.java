@@ -1,7 +1,12 @@
 package com.flightapp.service;
 
 import java.util.List;
+import java.util.Map;
 
+import com.flightapp.dto.AddSeatsResultDTO;
+import com.flightapp.dto.ReservationDTO;
+import com.flightapp.dto.SeatAvailabilityDTO;
+import com.flightapp.dto.SeatChangesDTO;
 import com.flightapp.entity.Seat;
 
 import reactor.core.publisher.Flux;
@@ -9,7 +14,25 @@ import reactor.core.publisher.Mono;
 
 public interface SeatService {
 	Flux<Seat> getSeatsByFlightId(String flightId);
-    Mono<Void> updateSeats(String flightId, List<Seat> seats);
+	/** Current version of the flight's seat map, which grows with every change to it; empty when the flight has none. */
+	Mono<Long> getSeatMapVersion(String flightId);
+	/**
+	 * Seats changed after {@code sinceVersion}, or the whole seat map flagged as {@code full} when
+	 * {@code sinceVersion} is {@code null} or the changes since cannot be told; empty when the flight has no seat map.
+	 */
+	Mono<SeatChangesDTO> getSeatChanges(String flightId, Long sinceVersion);
+    Mono<Void> updateSeats(String flightId, Flux<Seat> seats);
+	/**
+	 * Installs the first seat map of a flight and sets its capacity and available seats to the
+	 * sellable seats of the map, in one lane change. 409 when the flight already has seats or sold
+	 * any; emits the available seats.
+	 */
+	Mono<Integer> installSeatMap(String flightId, List<Seat> seats);
     Mono<Void> bookSeats(String flightId, List<String> seatNumbers);
-	Mono<Void> addSeats(String flightId, List<Seat> seats);
+	Mono<AddSeatsResultDTO> addSeats(String flightId, List<Seat> seats);
+	Mono<ReservationDTO> reserveSeats(String flightId, List<String> seatNumbers);
+	/** Seat counts of each flight that has a seat map, in request order; flights without one are left out. */
+	Flux<SeatAvailabilityDTO> getAvailability(List<String> flightIds);
+	/** The requested seats of several flights, keyed by flight id; seat numbers a flight does not have are left out. */
+	Flux<Seat> findSeats(Map<String, List<String>> seatNumbersByFlight);
 }
\ No newline at end of file
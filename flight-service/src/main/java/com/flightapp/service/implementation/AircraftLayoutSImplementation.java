@@ -0,0 +1,120 @@
+package com.flightapp.service.implementation;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flightapp.dto.SeatMapGenerationDTO;
+import com.flightapp.entity.AircraftLayout;
+import com.flightapp.entity.CabinZone;
+import com.flightapp.entity.Seat;
+import com.flightapp.repository.AircraftLayoutRepository;
+import com.flightapp.service.AircraftLayoutService;
+import com.flightapp.service.SeatService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Expands an {@link AircraftLayout} into seats and installs them as a flight's first seat map
+ * through {@link SeatService#installSeatMap}, which also sizes the flight's capacity and available
+ * seats to the sellable seats on the same per-flight lane. Flights that already have seats are
+ * rejected rather than replaced, so generation can never release a sold seat. The layout is
+ * expanded once per request, not once per flight.
+ */
+@Service
+@RequiredArgsConstructor
+public class AircraftLayoutSImplementation implements AircraftLayoutService {
+	private static final int GENERATION_CONCURRENCY = 8;
+
+	private final AircraftLayoutRepository layoutRepo;
+	private final SeatService seatService;
+
+    @Override
+    public Flux<AircraftLayout> getAllLayouts() {
+        return layoutRepo.findAll();
+    }
+
+    @Override
+    public Mono<AircraftLayout> getById(String id) {
+        return layoutRepo.findById(id);
+    }
+
+    @Override
+    public Mono<AircraftLayout> addLayout(AircraftLayout layout) {
+        return Mono.fromCallable(() -> expand(layout))
+            .then(Mono.defer(() -> layoutRepo.findByName(layout.getName())))
+            .flatMap(existingLayout -> Mono.<AircraftLayout>error(new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Layout with name '" + layout.getName() + "' already exists")))
+            .switchIfEmpty(Mono.defer(() -> layoutRepo.save(layout)));
+    }
+
+    @Override
+    public Mono<SeatMapGenerationDTO> generateSeatMap(String layoutId, String flightId) {
+        return findLayout(layoutId).map(AircraftLayoutSImplementation::expand)
+            .flatMap(template -> generate(layoutId, template, flightId));
+    }
+
+    @Override
+    public Flux<SeatMapGenerationDTO> generateSeatMaps(String layoutId, List<String> flightIds) {
+        return findLayout(layoutId).map(AircraftLayoutSImplementation::expand)
+            .flatMapMany(template -> Flux.fromIterable(flightIds)
+                .flatMapSequential(flightId -> generate(layoutId, template, flightId)
+                        .onErrorResume(ResponseStatusException.class, ex ->
+                                Mono.just(new SeatMapGenerationDTO(flightId, layoutId, null, null, ex.getReason()))),
+                        GENERATION_CONCURRENCY));
+    }
+
+    private Mono<AircraftLayout> findLayout(String layoutId) {
+        return layoutRepo.findById(layoutId)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Layout not found")));
+    }
+
+    private Mono<SeatMapGenerationDTO> generate(String layoutId, List<Seat> template, String flightId) {
+        List<Seat> seats = template.stream()
+            .map(seat -> new Seat(null, seat.getSeatNumber(), seat.isAvailable(), flightId, seat.getCabin()))
+            .toList();
+        int sellable = (int) seats.stream().filter(Seat::isAvailable).count();
+        return seatService.installSeatMap(flightId, seats)
+            .thenReturn(new SeatMapGenerationDTO(flightId, layoutId, seats.size(), sellable));
+    }
+
+    /**
+     * Seats of the layout in row order, columns in the order given by each zone. Blocked seats
+     * are kept in the map but not sellable. Rejects layouts that would produce no seats, the same
+     * seat twice or blocked seats outside the layout.
+     */
+    static List<Seat> expand(AircraftLayout layout) {
+        if (layout.getName() == null || layout.getName().isBlank()) throw invalid("Layout name cannot be blank");
+        if (layout.getCabins() == null || layout.getCabins().isEmpty()) throw invalid("Layout must have at least one cabin zone");
+        Set<String> blocked = layout.getBlockedSeats() == null ? Set.of() : new HashSet<>(layout.getBlockedSeats());
+        Set<String> seen = new HashSet<>();
+        List<Seat> seats = new ArrayList<>();
+        for (CabinZone zone : layout.getCabins()) {
+            if (zone.getCabin() == null || zone.getCabin().isBlank()) throw invalid("Cabin name cannot be blank");
+            if (zone.getFirstRow() < 1 || zone.getLastRow() < zone.getFirstRow())
+                throw invalid("Invalid row range " + zone.getFirstRow() + "-" + zone.getLastRow() + " in cabin " + zone.getCabin());
+            if (zone.getColumns() == null || !zone.getColumns().matches("[A-Z]+"))
+                throw invalid("Columns of cabin " + zone.getCabin() + " must be upper-case seat letters");
+            for (int row = zone.getFirstRow(); row <= zone.getLastRow(); row++) {
+                for (char column : zone.getColumns().toCharArray()) {
+                    String seatNumber = row + String.valueOf(column);
+                    if (!seen.add(seatNumber)) throw invalid("Seat " + seatNumber + " appears in more than one cabin zone");
+                    seats.add(new Seat(null, seatNumber, !blocked.contains(seatNumber), null, zone.getCabin()));
+                }
+            }
+        }
+        if (!seen.containsAll(blocked)) throw invalid("Blocked seats must be part of the layout");
+        return seats;
+    }
+
+    private static ResponseStatusException invalid(String reason) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, reason);
+    }
+}
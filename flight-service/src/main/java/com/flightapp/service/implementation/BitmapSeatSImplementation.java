@@ -0,0 +1,213 @@
+package com.flightapp.service.implementation;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flightapp.dto.AddSeatsResultDTO;
+import com.flightapp.dto.ReservationDTO;
+import com.flightapp.dto.SeatAvailabilityDTO;
+import com.flightapp.dto.SeatChangesDTO;
+import com.flightapp.entity.Seat;
+import com.flightapp.entity.SeatInventory;
+import com.flightapp.event.FlightChangedEvent;
+import com.flightapp.event.SeatMapChangedEvent;
+import com.flightapp.exception.SeatConflictException;
+import com.flightapp.inventory.FlightInventoryCounter;
+import com.flightapp.inventory.InventoryLanes;
+import com.flightapp.inventory.SeatBitmap;
+import com.flightapp.repository.SeatInventoryRepository;
+import com.flightapp.service.SeatService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * {@link SeatService} backed by one {@link SeatInventory} document per flight. Every read is a
+ * single document fetch and every change is a version-checked replace of that document, retried
+ * when another writer got there first.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "flightapp.seats.storage", havingValue = "bitmap")
+public class BitmapSeatSImplementation implements SeatService {
+	private static final Retry WRITE_CONFLICT_RETRY = Retry.backoff(10, Duration.ofMillis(5))
+			.filter(ex -> ex instanceof OptimisticLockingFailureException || ex instanceof DuplicateKeyException);
+
+	private final SeatInventoryRepository inventoryRepo;
+    private final FlightInventoryCounter inventoryCounter;
+    private final InventoryLanes lanes;
+    private final ApplicationEventPublisher events;
+
+    @Override
+    public Flux<Seat> getSeatsByFlightId(String flightId) {
+        return inventoryRepo.findById(flightId)
+                .flatMapIterable(inventory -> SeatBitmap.of(inventory).toSeats(flightId));
+    }
+
+    /** The inventory's own optimistic-locking version, read without its seat map. */
+    @Override
+    public Mono<Long> getSeatMapVersion(String flightId) {
+        return inventoryRepo.findVersionByFlightId(flightId).mapNotNull(SeatInventory::getVersion);
+    }
+
+    @Override
+    public Mono<SeatChangesDTO> getSeatChanges(String flightId, Long sinceVersion) {
+        return inventoryRepo.findById(flightId).map(inventory -> {
+            SeatBitmap bitmap = SeatBitmap.of(inventory);
+            long version = inventory.getVersion() == null ? 0L : inventory.getVersion();
+            if (sinceVersion == null || sinceVersion < bitmap.layoutVersion() || sinceVersion > version)
+                return new SeatChangesDTO(flightId, version, true, bitmap.toSeats(flightId));
+            return new SeatChangesDTO(flightId, version, false, bitmap.changedSince(flightId, sinceVersion));
+        });
+    }
+
+    @Override
+    public Mono<AddSeatsResultDTO> addSeats(String flightId, List<Seat> seats) {
+        AtomicInteger inserted = new AtomicInteger();
+        return lanes.submit(flightId, () -> modify(flightId, true, bitmap -> {
+                    inserted.set(0);
+                    seats.forEach(seat -> {
+                        if (bitmap.add(seat.getSeatNumber(), seat.isAvailable(), seat.getCabin())) inserted.incrementAndGet();
+                    });
+                }))
+                .then(Mono.fromSupplier(() -> new AddSeatsResultDTO(inserted.get(), seats.size() - inserted.get())))
+                .doOnNext(result -> events.publishEvent(new SeatMapChangedEvent(flightId)));
+    }
+
+    @Override
+    public Mono<Void> updateSeats(String flightId, Flux<Seat> seats) {
+        return seats.collectList().flatMap(list -> lanes.submit(flightId, () -> replaceSeats(flightId, list)))
+                .doOnSuccess(v -> events.publishEvent(new SeatMapChangedEvent(flightId)));
+    }
+
+    @Override
+    public Mono<Integer> installSeatMap(String flightId, List<Seat> seats) {
+        int sellable = (int) seats.stream().filter(Seat::isAvailable).count();
+        return lanes.submit(flightId, () -> inventoryRepo.findById(flightId)
+                .filter(inventory -> SeatBitmap.of(inventory).size() > 0)
+                .flatMap(inventory -> Mono.<Integer>error(new ResponseStatusException(HttpStatus.CONFLICT, "Flight already has a seat map")))
+                .switchIfEmpty(Mono.defer(() -> inventoryCounter.reset(flightId, sellable)))
+                .flatMap(availableSeats -> replaceSeats(flightId, seats).thenReturn(availableSeats)))
+                .doOnNext(availableSeats -> {
+                    events.publishEvent(FlightChangedEvent.inventory(flightId));
+                    events.publishEvent(new SeatMapChangedEvent(flightId));
+                });
+    }
+
+    private Mono<Void> replaceSeats(String flightId, List<Seat> seats) {
+        return inventoryRepo.findById(flightId)
+                .defaultIfEmpty(new SeatInventory(flightId))
+                .flatMap(inventory -> {
+                    SeatBitmap replacement = SeatBitmap.empty();
+                    replacement.stamp(nextVersion(inventory));
+                    seats.forEach(seat -> replacement.add(seat.getSeatNumber(), seat.isAvailable(), seat.getCabin()));
+                    replacement.writeTo(inventory);
+                    return inventoryRepo.save(inventory);
+                })
+                .retryWhen(WRITE_CONFLICT_RETRY)
+                .then();
+    }
+
+    @Override
+    public Mono<Void> bookSeats(String flightId, List<String> seatNumbers) {
+        return lanes.submit(flightId, () -> claimSeats(flightId, seatNumbers))
+                .doOnSuccess(v -> events.publishEvent(new SeatMapChangedEvent(flightId)));
+    }
+
+    private Mono<Void> claimSeats(String flightId, List<String> seatNumbers) {
+        List<String> requested = seatNumbers.stream().distinct().toList();
+        if (requested.isEmpty() || requested.size() != seatNumbers.size())
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Seat numbers must be non-empty and unique"));
+        return modify(flightId, false, bitmap -> {
+            if (!bitmap.missing(requested).isEmpty())
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "One or more selected seats do not exist on this flight");
+            List<String> conflicts = bitmap.unavailable(requested);
+            if (!conflicts.isEmpty()) throw new SeatConflictException(conflicts);
+            bitmap.setAvailable(requested, false);
+        });
+    }
+
+    @Override
+    public Mono<ReservationDTO> reserveSeats(String flightId, List<String> seatNumbers) {
+        if (seatNumbers == null || seatNumbers.isEmpty())
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one seat number must be provided"));
+        return lanes.submit(flightId, () -> claimSeats(flightId, seatNumbers)
+                .then(Mono.defer(() -> inventoryCounter.decrement(flightId, seatNumbers.size())
+                        .onErrorResume(ex -> modify(flightId, false, bitmap -> bitmap.setAvailable(seatNumbers, true)).then(Mono.error(ex))))))
+                .doOnNext(availableSeats -> {
+                    events.publishEvent(FlightChangedEvent.inventory(flightId));
+                    events.publishEvent(new SeatMapChangedEvent(flightId));
+                })
+                .map(availableSeats -> new ReservationDTO(flightId, seatNumbers, availableSeats));
+    }
+
+    /**
+     * Reads the counts stored with each inventory instead of its bitmap. Inventories written before
+     * the counts were recorded are counted from their bitmap until their next write.
+     */
+    @Override
+    public Flux<SeatAvailabilityDTO> getAvailability(List<String> flightIds) {
+        return inventoryRepo.findCountsByFlightIdIn(flightIds)
+                .collectMap(SeatInventory::getFlightId, Function.identity())
+                .flatMapMany(found -> Flux.fromIterable(flightIds.stream().distinct().filter(found::containsKey).toList())
+                        .concatMap(flightId -> {
+                            SeatInventory counts = found.get(flightId);
+                            if (counts.getTotalSeats() != null)
+                                return Mono.just(new SeatAvailabilityDTO(flightId, counts.getTotalSeats(), counts.getAvailableSeats(),
+                                        counts.getCabinAvailability() == null ? List.of() : counts.getCabinAvailability()));
+                            return inventoryRepo.findById(flightId).map(inventory -> {
+                                SeatBitmap bitmap = SeatBitmap.of(inventory);
+                                return new SeatAvailabilityDTO(flightId, bitmap.size(), bitmap.availableCount(), bitmap.cabinAvailability());
+                            });
+                        }));
+    }
+
+    @Override
+    public Flux<Seat> findSeats(Map<String, List<String>> seatNumbersByFlight) {
+        if (seatNumbersByFlight.isEmpty()) return Flux.empty();
+        return inventoryRepo.findAllById(seatNumbersByFlight.keySet()).flatMapIterable(inventory -> {
+            String flightId = inventory.getFlightId();
+            SeatBitmap bitmap = SeatBitmap.of(inventory);
+            return seatNumbersByFlight.get(flightId).stream()
+                    .filter(bitmap::contains)
+                    .map(seatNumber -> new Seat(flightId + "-" + seatNumber, seatNumber, bitmap.isAvailable(seatNumber), flightId))
+                    .toList();
+        });
+    }
+
+    private Mono<Void> modify(String flightId, boolean createIfMissing, Consumer<SeatBitmap> change) {
+        Mono<SeatInventory> missing = createIfMissing
+                ? Mono.fromSupplier(() -> new SeatInventory(flightId))
+                : Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "One or more selected seats do not exist on this flight"));
+        return Mono.defer(() -> inventoryRepo.findById(flightId)
+                        .switchIfEmpty(missing)
+                        .flatMap(inventory -> {
+                            SeatBitmap bitmap = SeatBitmap.of(inventory);
+                            bitmap.stamp(nextVersion(inventory));
+                            change.accept(bitmap);
+                            bitmap.writeTo(inventory);
+                            return inventoryRepo.save(inventory);
+                        }))
+                .retryWhen(WRITE_CONFLICT_RETRY)
+                .then();
+    }
+
+    /** The version the inventory will have once saved; new documents are saved at version 0. */
+    private static long nextVersion(SeatInventory inventory) {
+        return inventory.getVersion() == null ? 0L : inventory.getVersion() + 1;
+    }
+}
@@ -0,0 +1,114 @@
+package com.flightapp.service.implementation;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flightapp.dto.ItineraryDTO;
+import com.flightapp.dto.SearchRequestDTO;
+import com.flightapp.entity.Flight;
+import com.flightapp.inventory.FlightInventoryCounter;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.search.FlightScheduleLoader;
+import com.flightapp.search.ConnectionQuery;
+import com.flightapp.search.Itinerary;
+import com.flightapp.search.ItinerarySort;
+import com.flightapp.service.ConnectionSearchService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Connecting-flight search over the in-memory {@link com.flightapp.search.ConnectionGraph}. The
+ * graph ranks candidates with the seat counts it last saw; the flights of the best candidates are
+ * then re-read with live counts so itineraries through a flight that sold out in the meantime are
+ * dropped. Three times the requested number of candidates are ranked to leave room for that.
+ */
+@Service
+public class ConnectionSearchSImplementation implements ConnectionSearchService {
+	private static final int DEFAULT_LIMIT = 10;
+	private static final int MAX_LIMIT = 50;
+	private static final int MAX_WINDOW_DAYS = 7;
+	private static final int CANDIDATE_FACTOR = 3;
+
+	private final FlightScheduleLoader scheduleLoader;
+	private final FlightRepository flightRepo;
+	private final FlightInventoryCounter inventoryCounter;
+	private final Duration minConnection;
+	private final Duration maxConnection;
+
+    public ConnectionSearchSImplementation(FlightScheduleLoader scheduleLoader, FlightRepository flightRepo,
+                                           FlightInventoryCounter inventoryCounter,
+                                           @Value("${flightapp.connections.min-connection:45m}") Duration minConnection,
+                                           @Value("${flightapp.connections.max-connection:12h}") Duration maxConnection) {
+        this.scheduleLoader = scheduleLoader;
+        this.flightRepo = flightRepo;
+        this.inventoryCounter = inventoryCounter;
+        this.minConnection = minConnection;
+        this.maxConnection = maxConnection;
+    }
+
+    @Override
+    public Flux<ItineraryDTO> searchConnections(SearchRequestDTO searchRequest) {
+        ConnectionQuery query;
+        try {
+            query = toQuery(searchRequest);
+        } catch (ResponseStatusException ex) {
+            return Flux.error(ex);
+        }
+        ConnectionQuery candidates = new ConnectionQuery(query.fromPlace(), query.toPlace(), query.departureAfter(),
+                query.departureBefore(), query.passengers(), query.maxStops(), query.minConnection(), query.maxConnection(),
+                query.sort(), query.limit() * CANDIDATE_FACTOR);
+        return scheduleLoader.graph()
+                .map(graph -> graph.search(candidates))
+                .flatMapMany(itineraries -> liveFlights(itineraries).flatMapMany(live -> Flux.fromIterable(itineraries)
+                        .filter(itinerary -> itinerary.legs().stream()
+                                .allMatch(leg -> live.containsKey(leg.getId()) && live.get(leg.getId()).getAvailableSeats() >= query.passengers()))
+                        .take(query.limit())
+                        .map(itinerary -> new ItineraryDTO(itinerary.legs().stream().map(leg -> live.get(leg.getId())).toList(),
+                                itinerary.stops(), itinerary.durationMinutes(), itinerary.totalPrice()))));
+    }
+
+    private Mono<Map<String, Flight>> liveFlights(List<Itinerary> itineraries) {
+        List<String> ids = itineraries.stream().flatMap(itinerary -> itinerary.legs().stream()).map(Flight::getId).distinct().toList();
+        if (ids.isEmpty()) return Mono.just(Map.of());
+        return flightRepo.findAllById(ids)
+                .concatMap(inventoryCounter::withLiveCount)
+                .collect(Collectors.toMap(Flight::getId, Function.identity()));
+    }
+
+    private ConnectionQuery toQuery(SearchRequestDTO request) {
+        if (request.getFrom() == null || request.getFrom().isBlank() || request.getTo() == null || request.getTo().isBlank())
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Source and destination are required");
+        if (Objects.equals(request.getFrom(), request.getTo()))
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Source and destination must differ");
+        int passengers = request.getPassengers() == null ? 1 : request.getPassengers();
+        if (passengers < 1) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Passengers must be at least 1");
+        int maxStops = request.getMaxStops() == null ? 2 : request.getMaxStops();
+        if (maxStops < 0 || maxStops > 2) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "maxStops must be between 0 and 2");
+        int limit = request.getLimit() == null ? DEFAULT_LIMIT : request.getLimit();
+        if (limit < 1 || limit > MAX_LIMIT)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_LIMIT);
+        LocalDate today = LocalDate.now();
+        LocalDate firstDay = request.getDepartureFrom() == null ? today : request.getDepartureFrom();
+        LocalDate lastDay = request.getDepartureTo() == null ? firstDay : request.getDepartureTo();
+        if (lastDay.isBefore(firstDay))
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "departureTo cannot be before departureFrom");
+        if (lastDay.isAfter(firstDay.plusDays(MAX_WINDOW_DAYS - 1L)))
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Connection search covers at most " + MAX_WINDOW_DAYS + " days");
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime after = firstDay.atStartOfDay().isBefore(now) ? now : firstDay.atStartOfDay();
+        return new ConnectionQuery(request.getFrom(), request.getTo(), after, lastDay.plusDays(1).atStartOfDay(), passengers, maxStops,
+                minConnection, maxConnection, ItinerarySort.parse(request.getSort()), limit);
+    }
+}
@@ -0,0 +1,34 @@
+package com.flightapp.service.implementation;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flightapp.dto.FareCalendarDayDTO;
+import com.flightapp.search.FlightRoute;
+import com.flightapp.search.FlightScheduleLoader;
+import com.flightapp.service.FareCalendarService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+/** Month view of a route served from the in-memory {@link com.flightapp.search.FareCalendar}. */
+@Service
+@RequiredArgsConstructor
+public class FareCalendarSImplementation implements FareCalendarService {
+	private final FlightScheduleLoader scheduleLoader;
+
+    @Override
+    public Flux<FareCalendarDayDTO> getFareCalendar(String from, String to, YearMonth month, int passengers) {
+        if (from == null || from.isBlank() || to == null || to.isBlank())
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Source and destination are required"));
+        if (month == null) return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Month is required"));
+        if (passengers < 1) return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Passengers must be at least 1"));
+        return scheduleLoader.fareCalendar()
+                .flatMapIterable(calendar -> calendar.month(new FlightRoute(from, to), month, passengers, LocalDateTime.now()))
+                .map(day -> new FareCalendarDayDTO(day.date(), day.flights(), day.minOneWay(), day.minRoundTrip(), day.availableSeats()));
+    }
+}
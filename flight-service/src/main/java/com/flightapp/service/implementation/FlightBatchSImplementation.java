@@ -0,0 +1,82 @@
+package com.flightapp.service.implementation;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flightapp.dto.FlightBatchItemDTO;
+import com.flightapp.dto.FlightBatchRequestDTO;
+import com.flightapp.entity.Seat;
+import com.flightapp.inventory.FlightInventoryCounter;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.search.RequestOrder;
+import com.flightapp.service.FlightBatchService;
+import com.flightapp.service.SeatService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Answers a list of flight ids with one {@code $in} query for the flights and, if seat numbers
+ * were asked for, one lookup for all their seats. Flights are streamed back in request order as
+ * they arrive.
+ */
+@Service
+@RequiredArgsConstructor
+public class FlightBatchSImplementation implements FlightBatchService {
+	static final int MAX_FLIGHTS = 100;
+
+	private final FlightRepository flightRepo;
+	private final FlightInventoryCounter inventoryCounter;
+	private final SeatService seatService;
+
+    @Override
+    public Flux<FlightBatchItemDTO> getFlights(FlightBatchRequestDTO request) {
+        List<String> flightIds = request.getFlightIds() == null ? List.of()
+                : request.getFlightIds().stream().filter(Objects::nonNull).distinct().toList();
+        if (flightIds.isEmpty() || flightIds.size() > MAX_FLIGHTS)
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Between 1 and " + MAX_FLIGHTS + " flight ids are required"));
+        Map<String, List<String>> seatNumbers = new LinkedHashMap<>();
+        if (request.getSeatNumbers() != null) {
+            request.getSeatNumbers().forEach((flightId, numbers) -> {
+                if (flightIds.contains(flightId) && numbers != null && !numbers.isEmpty()) seatNumbers.put(flightId, numbers);
+            });
+        }
+        Mono<Map<String, Map<String, Boolean>>> seats = seatNumbers.isEmpty() ? Mono.just(Map.of())
+                : seatService.findSeats(seatNumbers).collectList().map(FlightBatchSImplementation::byFlight);
+        return seats.flatMapMany(seatsByFlight -> {
+            Flux<FlightBatchItemDTO> found = flightRepo.findAllById(flightIds)
+                    .concatMap(inventoryCounter::withLiveCount)
+                    .map(flight -> new FlightBatchItemDTO(flight.getId(), flight, seatsOf(seatsByFlight, seatNumbers, flight.getId()), null));
+            return RequestOrder.of(flightIds, found, FlightBatchItemDTO::getFlightId,
+                    flightId -> new FlightBatchItemDTO(flightId, null, null, "Flight not found"));
+        });
+    }
+
+    private static Map<String, Map<String, Boolean>> byFlight(List<Seat> seats) {
+        Map<String, Map<String, Boolean>> byFlight = new HashMap<>();
+        for (Seat seat : seats) byFlight.computeIfAbsent(seat.getFlightId(), id -> new HashMap<>()).put(seat.getSeatNumber(), seat.isAvailable());
+        return byFlight;
+    }
+
+    /** Seats asked for on this flight, in request order; {@code null} when none were asked for. */
+    private static Map<String, Boolean> seatsOf(Map<String, Map<String, Boolean>> seatsByFlight, Map<String, List<String>> requested,
+            String flightId) {
+        List<String> numbers = requested.get(flightId);
+        if (numbers == null) return null;
+        Map<String, Boolean> found = seatsByFlight.getOrDefault(flightId, Map.of());
+        Map<String, Boolean> ordered = new LinkedHashMap<>();
+        for (String number : numbers) {
+            Boolean available = found.get(number);
+            if (available != null) ordered.put(number, available);
+        }
+        return ordered;
+    }
+}
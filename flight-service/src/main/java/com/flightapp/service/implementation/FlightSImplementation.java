@@ -1,19 +1,32 @@
 package com.flightapp.service.implementation;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
-import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
-import org.springframework.data.mongodb.core.query.Criteria;
-import org.springframework.data.mongodb.core.query.Query;
-import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.flightapp.dto.FlightPageDTO;
+import com.flightapp.dto.FlightSearchResultDTO;
+import com.flightapp.dto.InventoryAdjustmentDTO;
+import com.flightapp.dto.InventoryDTO;
+import com.flightapp.dto.SearchRequestDTO;
 import com.flightapp.entity.Flight;
-import com.flightapp.entity.Seat;
+import com.flightapp.event.FlightChangedEvent;
+import com.flightapp.inventory.FlightInventoryCounter;
+import com.flightapp.inventory.InventoryLanes;
 import com.flightapp.repository.FlightRepository;
-import com.flightapp.repository.SeatRepository;
+import com.flightapp.search.FlightField;
+import com.flightapp.search.FlightListQuery;
+import com.flightapp.search.FlightRoute;
+import com.flightapp.search.FlightSearchCache;
+import com.flightapp.search.FlightSearchCursor;
+import com.flightapp.search.FlightSearchQuery;
+import com.flightapp.search.FlightSort;
 import com.flightapp.service.FlightService;
 
 import reactor.core.publisher.Flux;
@@ -21,67 +34,186 @@ import reactor.core.publisher.Mono;
 
 @Service
 public class FlightSImplementation implements FlightService{
+	private static final int DEFAULT_SEARCH_LIMIT = 20;
+	private static final int MAX_SEARCH_LIMIT = 100;
+	private static final int DEFAULT_LIST_LIMIT = 100;
+	private static final int MAX_LIST_LIMIT = 1000;
+
 	private final FlightRepository flightRepo;
-    private final SeatRepository seatRepo;
-    private final ReactiveMongoTemplate mongoTemplate;
+    private final FlightInventoryCounter inventoryCounter;
+    private final InventoryLanes lanes;
+    private final FlightSearchCache searchCache;
+    private final ApplicationEventPublisher events;
     
-    public FlightSImplementation(FlightRepository flightRepo, SeatRepository seatRepo, ReactiveMongoTemplate mongoTemplate) {
+    public FlightSImplementation(FlightRepository flightRepo, FlightInventoryCounter inventoryCounter,
+    		InventoryLanes lanes, FlightSearchCache searchCache, ApplicationEventPublisher events) {
         this.flightRepo = flightRepo;
-        this.seatRepo = seatRepo;
-        this.mongoTemplate = mongoTemplate;
+        this.inventoryCounter = inventoryCounter;
+        this.lanes = lanes;
+        this.searchCache = searchCache;
+        this.events = events;
     }
     
     @Override
-    public Flux<Flight> getAllFlights() {
-        return flightRepo.findAll();
+    public Mono<FlightPageDTO> listFlights(String after, Integer limit, String fields) {
+        int pageSize = limit == null ? DEFAULT_LIST_LIMIT : limit;
+        if (pageSize < 1 || pageSize > MAX_LIST_LIMIT)
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_LIST_LIMIT));
+        return Mono.fromCallable(() -> FlightField.parse(fields)).flatMap(selected ->
+            list(new FlightListQuery(after, selected, pageSize + 1)).collectList().map(rows -> {
+                boolean more = rows.size() > pageSize;
+                List<Flight> page = more ? rows.subList(0, pageSize) : rows;
+                String nextCursor = more ? page.get(page.size() - 1).getId() : null;
+                return new FlightPageDTO(page.stream().map(flight -> FlightField.project(flight, selected)).toList(), nextCursor);
+            }));
+    }
+
+    @Override
+    public Flux<Map<String, Object>> streamFlights(String after, Integer limit, String fields) {
+        if (limit != null && limit < 1)
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be at least 1"));
+        return Mono.fromCallable(() -> FlightField.parse(fields)).flatMapMany(selected ->
+            list(new FlightListQuery(after, selected, limit)).map(flight -> FlightField.project(flight, selected)));
+    }
+
+    /** Listed flights carry the live counter whenever their seat count was asked for. */
+    private Flux<Flight> list(FlightListQuery query) {
+        Flux<Flight> flights = flightRepo.list(query);
+        return query.fields().contains(FlightField.AVAILABLE_SEATS) ? flights.concatMap(inventoryCounter::withLiveCount) : flights;
     }
 
     @Override
     public Mono<Flight> getFlightById(String id) {
-        return flightRepo.findById(id);
+        return flightRepo.findById(id).flatMap(inventoryCounter::withLiveCount);
     }
 
+    /**
+     * Edits the flight on its lane. The seat counter is not editable here: it only moves through
+     * {@link FlightInventoryCounter}, and an omitted capacity keeps the stored one.
+     */
     @Override
     public Mono<Void> updateFlight(String id, Flight flight) {
+        if (flight.getCapacity() != null && flight.getCapacity() < 1)
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Capacity must be positive"));
         flight.setId(id);
-        return flightRepo.save(flight).then();
+        return lanes.submit(id, () -> flightRepo.findById(id)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Flight not found")))
+            .flatMap(previous -> {
+                if (flight.getCapacity() == null) flight.setCapacity(previous.getCapacity());
+                return resize(previous, flight.getCapacity())
+                    .then(Mono.defer(() -> flightRepo.updateDetails(flight)))
+                    .doOnNext(saved -> events.publishEvent(FlightChangedEvent.of(saved, previous)));
+            }))
+            .then();
+    }
+
+    /** A capacity edit moves the counter's bound first, so it is refused while more seats are available. */
+    private Mono<Integer> resize(Flight previous, Integer capacity) {
+        if (capacity == null || capacity.equals(previous.getCapacity())) return Mono.empty();
+        return inventoryCounter.resize(previous.getId(), capacity);
     }
     
     @Override
     public Mono<Flight> addFlight(Flight flight) {
+        if (flight.getCapacity() == null) flight.setCapacity(flight.getAvailableSeats());
+        if (flight.getAvailableSeats() > flight.getCapacity())
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Available seats cannot exceed flight capacity"));
         return flightRepo.findByFlightNumber(flight.getFlightNumber())
             .flatMap(existingFlight -> Mono.<Flight>error(new ResponseStatusException(HttpStatus.CONFLICT,
-            		"Flight with number " + flight.getFlightNumber() + " already exists"))).switchIfEmpty(flightRepo.save(flight));
+            		"Flight with number " + flight.getFlightNumber() + " already exists"))).switchIfEmpty(flightRepo.save(flight))
+            .doOnNext(saved -> events.publishEvent(FlightChangedEvent.of(saved)));
     }
 
+    /**
+     * One page of flights on the route, served from the {@link FlightSearchCache} when possible.
+     * The page is cut from the stored rows before live counts are applied, so the cursor always
+     * points at the last row read even if the overlay then drops flights that sold out in the
+     * meantime. Cached rows are copied before the overlay and rows that departed since they were
+     * cached are dropped.
+     */
     @Override
-    public Flux<Flight> searchFlights(String from, String to) {
-        return flightRepo.findByFromPlaceAndToPlace(from, to);
+    public Mono<FlightSearchResultDTO> searchFlights(SearchRequestDTO searchRequest) {
+        FlightSearchQuery query;
+        try {
+            query = toQuery(searchRequest);
+        } catch (ResponseStatusException ex) {
+            return Mono.error(ex);
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate departureFrom = searchRequest.getDepartureFrom() == null || searchRequest.getDepartureFrom().isBefore(today)
+                ? today : searchRequest.getDepartureFrom();
+        FlightSearchCache.Key key = searchCache.key(new FlightRoute(query.fromPlace(), query.toPlace()), departureFrom,
+                searchRequest.getDepartureTo(), query.passengers(), query.sort(), searchRequest.getCursor(), query.limit());
+        return searchCache.get(key, () -> loadPage(query)).flatMap(page -> {
+            LocalDateTime now = LocalDateTime.now();
+            return Flux.fromIterable(page.rows())
+                    .filter(flight -> flight.getDepartureTime() == null || !flight.getDepartureTime().isBefore(now))
+                    .map(FlightSImplementation::copy)
+                    .concatMap(inventoryCounter::withLiveCount)
+                    .filter(flight -> flight.getAvailableSeats() >= query.passengers())
+                    .collectList()
+                    .map(flights -> new FlightSearchResultDTO(flights, page.nextCursor()));
+        });
     }
 
-    @Override
-    public Flux<Seat> getSeatsByFlightId(String flightId) {
-        return seatRepo.findByFlightId(flightId);
+    private Mono<FlightSearchCache.Page> loadPage(FlightSearchQuery query) {
+        return flightRepo.search(query).collectList().map(rows -> {
+            boolean more = rows.size() > query.limit();
+            List<Flight> page = more ? List.copyOf(rows.subList(0, query.limit())) : rows;
+            String nextCursor = more ? FlightSearchCursor.after(query.sort(), page.get(page.size() - 1)).encode() : null;
+            return new FlightSearchCache.Page(page, nextCursor);
+        });
+    }
+
+    private static Flight copy(Flight flight) {
+        return new Flight(flight.getId(), flight.getFromPlace(), flight.getToPlace(), flight.getArrivalTime(), flight.getDepartureTime(),
+                flight.getAvailableSeats(), flight.getPrice(), flight.getAirlineId(), flight.getFlightNumber(), flight.getCapacity());
+    }
+
+    private static FlightSearchQuery toQuery(SearchRequestDTO request) {
+        if (request.getFrom() == null || request.getFrom().isBlank() || request.getTo() == null || request.getTo().isBlank())
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Source and destination are required");
+        int passengers = request.getPassengers() == null ? 1 : request.getPassengers();
+        if (passengers < 1) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Passengers must be at least 1");
+        int limit = request.getLimit() == null ? DEFAULT_SEARCH_LIMIT : request.getLimit();
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        if (request.getDepartureFrom() != null && request.getDepartureTo() != null
+                && request.getDepartureTo().isBefore(request.getDepartureFrom()))
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "departureTo cannot be before departureFrom");
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime after = request.getDepartureFrom() == null || request.getDepartureFrom().atStartOfDay().isBefore(now)
+                ? now : request.getDepartureFrom().atStartOfDay();
+        LocalDateTime before = request.getDepartureTo() == null ? null : request.getDepartureTo().plusDays(1).atStartOfDay();
+        FlightSort sort = FlightSort.parse(request.getSort());
+        FlightSearchCursor cursor = request.getCursor() == null || request.getCursor().isBlank()
+                ? null : FlightSearchCursor.decode(request.getCursor(), sort);
+        return new FlightSearchQuery(request.getFrom(), request.getTo(), after, before, passengers, sort, cursor, limit);
     }
 
     @Override
-    public Mono<Void> updateSeats(String flightId, List<Seat> seats) {
-        return seatRepo.findByFlightId(flightId).flatMap(seatRepo::delete)
-                .thenMany(Flux.fromIterable(seats)).flatMap(seatRepo::save).then();
+    public Mono<InventoryDTO> reduceAvailableSeats(String flightId, int seatCnt) {
+        return lanes.submit(flightId, () -> inventoryCounter.decrement(flightId, seatCnt))
+                .doOnNext(availableSeats -> events.publishEvent(FlightChangedEvent.inventory(flightId)))
+                .map(availableSeats -> new InventoryDTO(flightId, availableSeats));
     }
 
     @Override
-    public Mono<Flight> reduceAvailableSeats(String flightId, int seatCnt) {
-        Query query = new Query(Criteria.where("id").is(flightId).and("availableSeats").gte(seatCnt));
-        Update update = new Update().inc("availableSeats", -seatCnt); 
-        return mongoTemplate.findAndModify(query, update, Flight.class).switchIfEmpty(Mono.error(new RuntimeException("Not enough seats available or Flight not found")));
+    public Mono<InventoryDTO> increaseAvailableSeats(String flightId, int seatCount) {
+        return lanes.submit(flightId, () -> inventoryCounter.adjust(flightId, seatCount))
+                .doOnNext(availableSeats -> events.publishEvent(FlightChangedEvent.inventory(flightId)))
+                .map(availableSeats -> new InventoryDTO(flightId, availableSeats));
     }
 
+    /**
+     * Applies each adjustment independently on its flight's lane. A rejected adjustment is reported
+     * in its own result and does not stop the others.
+     */
     @Override
-    public Mono<Flight> increaseAvailableSeats(String flightId, int seatCount) {
-        return flightRepo.findById(flightId)
-                .flatMap(f -> {f.setAvailableSeats(f.getAvailableSeats() + seatCount);
-                    return flightRepo.save(f);
-                });
+    public Flux<InventoryDTO> adjustInventory(List<InventoryAdjustmentDTO> adjustments) {
+        return Flux.fromIterable(adjustments)
+                .flatMapSequential(adjustment -> increaseAvailableSeats(adjustment.getFlightId(), adjustment.getDelta())
+                        .onErrorResume(ResponseStatusException.class, ex ->
+                                Mono.just(new InventoryDTO(adjustment.getFlightId(), null, ex.getReason()))));
     }
 }
\ No newline at end of file
@@ -0,0 +1,133 @@
+package com.flightapp.service.implementation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flightapp.dto.AddSeatsResultDTO;
+import com.flightapp.dto.ReservationDTO;
+import com.flightapp.dto.SeatAvailabilityDTO;
+import com.flightapp.dto.SeatChangesDTO;
+import com.flightapp.entity.Seat;
+import com.flightapp.event.FlightChangedEvent;
+import com.flightapp.event.SeatMapChangedEvent;
+import com.flightapp.inventory.FlightInventoryCounter;
+import com.flightapp.inventory.InMemorySeatStore;
+import com.flightapp.inventory.InventoryLanes;
+import com.flightapp.inventory.SeatAvailabilityEngine;
+import com.flightapp.service.SeatService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link SeatService} served entirely from the {@link SeatAvailabilityEngine}. Mongo is only
+ * read when a flight is first touched; writes reach it through the journal and batch flush.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "flightapp.seats.storage", havingValue = "memory")
+public class InMemorySeatSImplementation implements SeatService {
+	private final InMemorySeatStore store;
+	private final FlightInventoryCounter inventoryCounter;
+	private final InventoryLanes lanes;
+	private final ApplicationEventPublisher events;
+
+    @Override
+    public Flux<Seat> getSeatsByFlightId(String flightId) {
+        return store.forFlight(flightId).flatMapIterable(engine -> engine.seats(flightId));
+    }
+
+    @Override
+    public Mono<Long> getSeatMapVersion(String flightId) {
+        return store.forFlight(flightId).flatMap(engine -> {
+            OptionalLong version = engine.version(flightId);
+            return version.isPresent() ? Mono.just(version.getAsLong()) : Mono.empty();
+        });
+    }
+
+    @Override
+    public Mono<SeatChangesDTO> getSeatChanges(String flightId, Long sinceVersion) {
+        return store.forFlight(flightId).flatMap(engine -> Mono.justOrEmpty(engine.changes(flightId, sinceVersion)));
+    }
+
+    @Override
+    public Mono<AddSeatsResultDTO> addSeats(String flightId, List<Seat> seats) {
+        return lanes.submit(flightId, () -> flight(flightId, HttpStatus.NOT_FOUND, "Flight not found")
+                .map(engine -> engine.addSeats(flightId, seats))
+                .map(inserted -> new AddSeatsResultDTO(inserted, seats.size() - inserted)))
+                .doOnNext(result -> events.publishEvent(new SeatMapChangedEvent(flightId)));
+    }
+
+    @Override
+    public Mono<Void> updateSeats(String flightId, Flux<Seat> seats) {
+        return seats.collectList().flatMap(list -> lanes.submit(flightId, () -> flight(flightId, HttpStatus.NOT_FOUND, "Flight not found")
+                .doOnNext(engine -> engine.replaceSeats(flightId, list))
+                .then()))
+                .doOnSuccess(v -> events.publishEvent(new SeatMapChangedEvent(flightId)));
+    }
+
+    @Override
+    public Mono<Integer> installSeatMap(String flightId, List<Seat> seats) {
+        int sellable = (int) seats.stream().filter(Seat::isAvailable).count();
+        return lanes.submit(flightId, () -> flight(flightId, HttpStatus.NOT_FOUND, "Flight not found")
+                .flatMap(engine -> engine.availability(flightId).filter(seatMap -> seatMap.getTotalSeats() > 0).isPresent()
+                        ? Mono.<Integer>error(new ResponseStatusException(HttpStatus.CONFLICT, "Flight already has a seat map"))
+                        : inventoryCounter.reset(flightId, sellable).doOnNext(availableSeats -> engine.replaceSeats(flightId, seats))))
+                .doOnNext(availableSeats -> {
+                    events.publishEvent(FlightChangedEvent.inventory(flightId));
+                    events.publishEvent(new SeatMapChangedEvent(flightId));
+                });
+    }
+
+    @Override
+    public Mono<Void> bookSeats(String flightId, List<String> seatNumbers) {
+        List<String> requested = seatNumbers.stream().distinct().toList();
+        if (requested.isEmpty() || requested.size() != seatNumbers.size())
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Seat numbers must be non-empty and unique"));
+        return lanes.submit(flightId, () -> flight(flightId, HttpStatus.BAD_REQUEST, "One or more selected seats do not exist on this flight")
+                .doOnNext(engine -> engine.claim(flightId, requested))
+                .then())
+                .doOnSuccess(v -> events.publishEvent(new SeatMapChangedEvent(flightId)));
+    }
+
+    @Override
+    public Mono<ReservationDTO> reserveSeats(String flightId, List<String> seatNumbers) {
+        if (seatNumbers == null || seatNumbers.isEmpty())
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one seat number must be provided"));
+        List<String> requested = seatNumbers.stream().distinct().toList();
+        if (requested.size() != seatNumbers.size())
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Seat numbers must be non-empty and unique"));
+        return lanes.submit(flightId, () -> flight(flightId, HttpStatus.BAD_REQUEST, "One or more selected seats do not exist on this flight")
+                .map(engine -> new ReservationDTO(flightId, seatNumbers, engine.reserve(flightId, requested))))
+                .doOnNext(reservation -> {
+                    events.publishEvent(FlightChangedEvent.inventory(flightId));
+                    events.publishEvent(new SeatMapChangedEvent(flightId));
+                });
+    }
+
+    @Override
+    public Flux<SeatAvailabilityDTO> getAvailability(List<String> flightIds) {
+        return Flux.fromIterable(flightIds)
+                .flatMapSequential(flightId -> store.forFlight(flightId).flatMap(engine -> Mono.justOrEmpty(engine.availability(flightId))));
+    }
+
+    @Override
+    public Flux<Seat> findSeats(Map<String, List<String>> seatNumbersByFlight) {
+        return Flux.fromIterable(seatNumbersByFlight.entrySet())
+                .flatMapSequential(requested -> store.forFlight(requested.getKey())
+                        .flatMapIterable(engine -> engine.seats(requested.getKey()))
+                        .filter(seat -> requested.getValue().contains(seat.getSeatNumber())));
+    }
+
+    private Mono<SeatAvailabilityEngine> flight(String flightId, HttpStatus status, String message) {
+        return store.forFlight(flightId).switchIfEmpty(Mono.error(new ResponseStatusException(status, message)));
+    }
+}
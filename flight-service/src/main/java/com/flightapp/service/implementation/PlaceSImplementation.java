@@ -0,0 +1,32 @@
+package com.flightapp.service.implementation;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flightapp.dto.PlaceSuggestionDTO;
+import com.flightapp.search.FlightScheduleLoader;
+import com.flightapp.service.PlaceService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+/** Place typeahead answered from the in-memory {@link com.flightapp.search.PlaceIndex}. */
+@Service
+@RequiredArgsConstructor
+public class PlaceSImplementation implements PlaceService {
+	private static final int MAX_LIMIT = 50;
+
+	private final FlightScheduleLoader scheduleLoader;
+
+    @Override
+    public Flux<PlaceSuggestionDTO> suggestPlaces(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank())
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Prefix is required"));
+        if (limit < 1 || limit > MAX_LIMIT)
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_LIMIT));
+        return scheduleLoader.places()
+                .flatMapIterable(index -> index.suggest(prefix, limit))
+                .map(suggestion -> new PlaceSuggestionDTO(suggestion.place(), suggestion.flights()));
+    }
+}
@@ -1,56 +1,257 @@
 package com.flightapp.service.implementation;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.flightapp.dto.AddSeatsResultDTO;
+import com.flightapp.dto.ReservationDTO;
+import com.flightapp.dto.SeatAvailabilityDTO;
+import com.flightapp.dto.SeatChangesDTO;
+import com.flightapp.entity.Flight;
 import com.flightapp.entity.Seat;
+import com.flightapp.entity.SeatAvailability;
+import com.flightapp.event.FlightChangedEvent;
+import com.flightapp.event.SeatMapChangedEvent;
+import com.flightapp.exception.SeatConflictException;
+import com.flightapp.inventory.FlightInventoryCounter;
+import com.flightapp.inventory.InventoryLanes;
+import com.flightapp.inventory.SeatAvailabilityCounter;
+import com.flightapp.inventory.SeatMapReplacer;
 import com.flightapp.repository.SeatRepository;
 import com.flightapp.service.SeatService;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
 
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 @Service
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "flightapp.seats.storage", havingValue = "documents", matchIfMissing = true)
 public class SeatSImplementation implements SeatService{
+	private static final String SEAT_MAP_EXISTS = "Flight already has a seat map";
+	private static final String SEATS_CHANGED = "Seats changed while booking, please retry";
+
 	private final SeatRepository seatRepo;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final FlightInventoryCounter inventoryCounter;
+    private final InventoryLanes lanes;
+    private final SeatMapReplacer seatMapReplacer;
+    private final ApplicationEventPublisher events;
+    private final SeatAvailabilityCounter availabilityCounter;
 
     @Override
     public Flux<Seat> getSeatsByFlightId(String flightId) {
         return seatRepo.findByFlightId(flightId);
     }
+
+    @Override
+    public Mono<Long> getSeatMapVersion(String flightId) {
+        return availabilityCounter.find(List.of(flightId)).next().map(SeatAvailability::getVersion);
+    }
+
+    /**
+     * Reads the published version before the seats, so a change that is still being written is
+     * either already in the result or stamped above the returned version.
+     */
+    @Override
+    public Mono<SeatChangesDTO> getSeatChanges(String flightId, Long sinceVersion) {
+        return availabilityCounter.find(List.of(flightId)).next().flatMap(counts -> {
+            long version = counts.getVersion();
+            if (sinceVersion == null || sinceVersion < counts.getLayoutVersion() || sinceVersion > version)
+                return seatRepo.findByFlightId(flightId).collectList().map(seats -> new SeatChangesDTO(flightId, version, true, seats));
+            if (sinceVersion == version) return Mono.just(new SeatChangesDTO(flightId, version, false, List.of()));
+            Query changed = new Query(Criteria.where("flightId").is(flightId).and("version").gt(sinceVersion));
+            return mongoTemplate.find(changed, Seat.class).collectList().map(seats -> new SeatChangesDTO(flightId, version, false, seats));
+        });
+    }
     
+    /**
+     * Inserts all seats in one unordered bulk write. Seats that already exist are rejected by the
+     * unique (flightId, seatNumber) index and counted as skipped instead of failing the request.
+     */
     @Override
-    public Mono<Void> addSeats(String flightId, List<Seat> seats) {
-        return Flux.fromIterable(seats)
-            .flatMap(newSeat -> {
-                newSeat.setFlightId(flightId);            
-                return seatRepo.findByFlightIdAndSeatNumber(flightId, newSeat.getSeatNumber())
-                    .flatMap(existing -> Mono.empty()).switchIfEmpty(seatRepo.save(newSeat)); 
-            }).then();
+    public Mono<AddSeatsResultDTO> addSeats(String flightId, List<Seat> seats) {
+        if (seats.isEmpty()) return Mono.just(new AddSeatsResultDTO(0, 0));
+        List<Seat> newSeats = seats.stream()
+                .map(seat -> new Seat(seat.getId(), seat.getSeatNumber(), seat.isAvailable(), flightId, seat.getCabin()))
+                .toList();
+        return lanes.submit(flightId, () -> mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Seat.class)
+                .insert(newSeats)
+                .execute()
+                .map(result -> new AddSeatsResultDTO(result.getInsertedCount(), 0))
+                .onErrorResume(ex -> duplicateOnly(ex) != null, ex -> {
+                    MongoBulkWriteException failure = duplicateOnly(ex);
+                    int inserted = failure.getWriteResult().getInsertedCount();
+                    return Mono.just(new AddSeatsResultDTO(inserted, newSeats.size() - inserted));
+                })
+                .flatMap(result -> availabilityCounter.recount(flightId).thenReturn(result)))
+                .doOnNext(result -> events.publishEvent(new SeatMapChangedEvent(flightId)));
+    }
+
+    /** The bulk failure behind {@code ex} if every error in it is a duplicate key, otherwise {@code null}. */
+    private static MongoBulkWriteException duplicateOnly(Throwable ex) {
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            if (t instanceof MongoBulkWriteException bulk) {
+                boolean duplicatesOnly = bulk.getWriteConcernError() == null
+                        && bulk.getWriteErrors().stream().allMatch(e -> e.getCategory() == ErrorCategory.DUPLICATE_KEY);
+                return duplicatesOnly ? bulk : null;
+            }
+        }
+        return null;
     }
 
+    /**
+     * Streams the upload in batches: each batch is read off the lane and then applied on it, so a
+     * slow client never holds the lane and the upload is never buffered as a whole. Seats missing
+     * from the upload are removed only once it has been read to the end; an upload that fails part
+     * way keeps every seat, with the batches before the failure applied, and is recounted.
+     */
     @Override
-    public Mono<Void> updateSeats(String flightId, List<Seat> seats) {
-        return seatRepo.findByFlightId(flightId)
-                .flatMap(seatRepo::delete)
-                .thenMany(Flux.fromIterable(seats))
-                .flatMap(seatRepo::save).then();
+    public Mono<Void> updateSeats(String flightId, Flux<Seat> seats) {
+        return Mono.defer(() -> {
+            Set<String> seen = new HashSet<>();
+            AtomicBoolean written = new AtomicBoolean();
+            Mono<Void> recount = lanes.submit(flightId, () -> availabilityCounter.recount(flightId).then())
+                    .doOnSuccess(v -> events.publishEvent(new SeatMapChangedEvent(flightId)));
+            return seats.doOnNext(SeatSImplementation::requireSeatNumber)
+                    .filter(seat -> seen.add(seat.getSeatNumber()))
+                    .buffer(SeatMapReplacer.BATCH_SIZE)
+                    .concatMap(batch -> lanes.submit(flightId, () -> seatMapReplacer.upsert(flightId, batch)
+                            .doOnSubscribe(s -> written.set(true))))
+                    .then(lanes.submit(flightId, () -> seatMapReplacer.removeAllExcept(flightId, seen)))
+                    .then(recount)
+                    .onErrorResume(ex -> !written.get() ? Mono.error(ex)
+                            : recount.onErrorResume(e -> Mono.empty()).then(Mono.error(ex)));
+        });
     }
+
+    /** Resets the counter before writing seats, so a failed write can simply be retried. */
+    @Override
+    public Mono<Integer> installSeatMap(String flightId, List<Seat> seats) {
+        int sellable = (int) seats.stream().filter(Seat::isAvailable).count();
+        return lanes.submit(flightId, () -> mongoTemplate.exists(new Query(Criteria.where("flightId").is(flightId)), Seat.class)
+                .flatMap(exists -> exists
+                        ? Mono.<Integer>error(new ResponseStatusException(HttpStatus.CONFLICT, SEAT_MAP_EXISTS))
+                        : inventoryCounter.reset(flightId, sellable))
+                .flatMap(availableSeats -> seatMapReplacer.replace(flightId, seats)
+                        .then(Mono.defer(() -> availabilityCounter.recount(flightId)))
+                        .thenReturn(availableSeats)))
+                .doOnNext(availableSeats -> {
+                    events.publishEvent(FlightChangedEvent.inventory(flightId));
+                    events.publishEvent(new SeatMapChangedEvent(flightId));
+                });
+    }
+
+    private static void requireSeatNumber(Seat seat) {
+        if (seat.getSeatNumber() == null || seat.getSeatNumber().isBlank())
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Seat number cannot be blank");
+    }
+
+    /**
+     * Claims all seats with one conditional multi-document update. Every matched seat is tagged
+     * with a per-request claim id, so a partial claim can be rolled back without touching seats
+     * that other requests won in the meantime.
+     */
     @Override
     public Mono<Void> bookSeats(String flightId, List<String> seatNumbers) {
-        return seatRepo.findByFlightIdAndSeatNumberIn(flightId, seatNumbers)
+        return lanes.submit(flightId, () -> claimSeats(flightId, seatNumbers))
+                .doOnSuccess(v -> events.publishEvent(new SeatMapChangedEvent(flightId)));
+    }
+
+    private Mono<Void> claimSeats(String flightId, List<String> seatNumbers) {
+        List<String> requested = seatNumbers.stream().distinct().toList();
+        if (requested.isEmpty() || requested.size() != seatNumbers.size())
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Seat numbers must be non-empty and unique"));
+        String claimId = UUID.randomUUID().toString();
+        Query query = new Query(Criteria.where("flightId").is(flightId).and("seatNumber").in(requested).and("available").is(true));
+        return availabilityCounter.nextVersion(flightId).flatMap(version -> mongoTemplate
+                .updateMulti(query, new Update().set("available", false).set("claimId", claimId).set("version", version), Seat.class)
+                .flatMap(result -> {
+                    if (result.getMatchedCount() == requested.size()) return availabilityCounter.adjust(flightId, requested, -1, version);
+                    return rollbackClaim(flightId, claimId).then(claimFailure(flightId, requested));
+                }));
+    }
+
+    private Mono<Void> rollbackClaim(String flightId, String claimId) {
+        Query query = new Query(Criteria.where("flightId").is(flightId).and("claimId").is(claimId));
+        return mongoTemplate.updateMulti(query, new Update().set("available", true).unset("claimId"), Seat.class).then();
+    }
+
+    /**
+     * Explains a claim that matched fewer seats than requested. The seats are read back after the
+     * rollback, so if every one of them is free again the conflict is gone and the caller should retry.
+     */
+    private Mono<Void> claimFailure(String flightId, List<String> requested) {
+        return seatRepo.findByFlightIdAndSeatNumberIn(flightId, requested)
                 .collectList()
                 .flatMap(seats -> {
-                    if (seats.size() != seatNumbers.size()) return Mono.<Void>error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "One or more selected seats do not exist on this flight"));
-                    for (Seat seat : seats) {
-                        if (!seat.isAvailable()) return Mono.<Void>error(new ResponseStatusException(HttpStatus.CONFLICT, "Seat " + seat.getSeatNumber() + " is already booked"));
-                    }
-                    seats.forEach(s -> s.setAvailable(false));
-                    return seatRepo.saveAll(seats).then();
+                    if (seats.size() != requested.size()) return Mono.<Void>error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "One or more selected seats do not exist on this flight"));
+                    List<String> conflicts = seats.stream().filter(s -> !s.isAvailable()).map(Seat::getSeatNumber).toList();
+                    if (conflicts.isEmpty()) return Mono.<Void>error(new ResponseStatusException(HttpStatus.CONFLICT, SEATS_CHANGED));
+                    return Mono.<Void>error(new SeatConflictException(conflicts));
                 });
     }
-}
\ No newline at end of file
+
+    /**
+     * Claims the seats and decrements {@link Flight#getAvailableSeats()} in a single request.
+     * If the counter cannot be decremented the claimed seats are released again, so the seat
+     * documents and the flight counter never disagree after the call returns.
+     */
+    @Override
+    public Mono<ReservationDTO> reserveSeats(String flightId, List<String> seatNumbers) {
+        if (seatNumbers == null || seatNumbers.isEmpty())
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one seat number must be provided"));
+        return lanes.submit(flightId, () -> claimSeats(flightId, seatNumbers)
+                .then(Mono.defer(() -> inventoryCounter.decrement(flightId, seatNumbers.size())
+                        .onErrorResume(ex -> releaseSeats(flightId, seatNumbers).then(Mono.error(ex))))))
+                .doOnNext(availableSeats -> {
+                    events.publishEvent(FlightChangedEvent.inventory(flightId));
+                    events.publishEvent(new SeatMapChangedEvent(flightId));
+                })
+                .map(availableSeats -> new ReservationDTO(flightId, seatNumbers, availableSeats));
+    }
+
+    private Mono<Void> releaseSeats(String flightId, List<String> seatNumbers) {
+        Query query = new Query(Criteria.where("flightId").is(flightId).and("seatNumber").in(seatNumbers));
+        return availabilityCounter.nextVersion(flightId).flatMap(version -> mongoTemplate
+                .updateMulti(query, new Update().set("available", true).unset("claimId").set("version", version), Seat.class)
+                .then(Mono.defer(() -> availabilityCounter.adjust(flightId, seatNumbers, 1, version))));
+    }
+
+    /** One query for all flights; seats of one flight that were only requested for another are dropped. */
+    @Override
+    public Flux<Seat> findSeats(Map<String, List<String>> seatNumbersByFlight) {
+        if (seatNumbersByFlight.isEmpty()) return Flux.empty();
+        List<String> seatNumbers = seatNumbersByFlight.values().stream().flatMap(List::stream).distinct().toList();
+        Query query = new Query(Criteria.where("flightId").in(seatNumbersByFlight.keySet()).and("seatNumber").in(seatNumbers));
+        return mongoTemplate.find(query, Seat.class)
+                .filter(seat -> seatNumbersByFlight.get(seat.getFlightId()).contains(seat.getSeatNumber()));
+    }
+
+    @Override
+    public Flux<SeatAvailabilityDTO> getAvailability(List<String> flightIds) {
+        return availabilityCounter.find(flightIds)
+                .filter(counts -> counts.getTotalSeats() > 0)
+                .collectMap(SeatAvailability::getFlightId)
+                .flatMapIterable(found -> flightIds.stream().distinct().filter(found::containsKey)
+                        .map(found::get)
+                        .map(counts -> new SeatAvailabilityDTO(counts.getFlightId(), counts.getTotalSeats(), counts.getAvailableSeats(), counts.getCabins()))
+                        .toList());
+    }
+}
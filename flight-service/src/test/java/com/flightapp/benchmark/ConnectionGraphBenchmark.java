@@ -0,0 +1,122 @@
+package com.flightapp.benchmark;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.flightapp.entity.Flight;
+import com.flightapp.entity.Price;
+import com.flightapp.search.ConnectionGraph;
+import com.flightapp.search.ConnectionQuery;
+import com.flightapp.search.Itinerary;
+import com.flightapp.search.ItinerarySort;
+
+/**
+ * Build and query cost of the {@link ConnectionGraph} on a synthetic hub-and-spoke schedule:
+ * a week of flights between {@code airports} places where the first few are hubs that most
+ * flights touch. Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.flightapp.benchmark.ConnectionGraphBenchmark}.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ConnectionGraphBenchmark {
+	private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 0, 0);
+	private static final int HUBS = 8;
+
+	@State(Scope.Benchmark)
+	public static class Schedule {
+		@Param({ "10000", "50000" })
+		public int flights;
+
+		@Param({ "200" })
+		public int airports;
+
+		List<Flight> schedule;
+		ConnectionGraph graph;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			Random random = new Random(42);
+			schedule = new ArrayList<>(flights);
+			for (int i = 0; i < flights; i++) {
+				int from = random.nextInt(4) == 0 ? random.nextInt(airports) : random.nextInt(HUBS);
+				int to = random.nextInt(4) == 0 ? random.nextInt(HUBS) : random.nextInt(airports);
+				if (to == from) to = (to + 1) % airports;
+				LocalDateTime departure = START.plusMinutes(random.nextInt(7 * 24 * 60));
+				schedule.add(new Flight("F" + i, "P" + from, "P" + to, departure.plusMinutes(60 + random.nextInt(240)), departure,
+						1 + random.nextInt(180), new Price(1000 + random.nextInt(9000), 0), "A1", "FN" + i));
+			}
+			graph = new ConnectionGraph();
+			graph.rebuild(schedule);
+		}
+
+		ConnectionQuery next(ItinerarySort sort) {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			int from = HUBS + random.nextInt(airports - HUBS);
+			int to = HUBS + random.nextInt(airports - HUBS);
+			if (to == from) to = HUBS + (to - HUBS + 1) % (airports - HUBS);
+			LocalDateTime day = START.plusDays(random.nextInt(6));
+			return new ConnectionQuery("P" + from, "P" + to, day, day.plusDays(1), 1, 2, Duration.ofMinutes(45), Duration.ofHours(12), sort, 30);
+		}
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	@Warmup(iterations = 3, batchSize = 1)
+	@Measurement(iterations = 10, batchSize = 1)
+	public ConnectionGraph build(Schedule state) {
+		ConnectionGraph graph = new ConnectionGraph();
+		graph.rebuild(state.schedule);
+		return graph;
+	}
+
+	/** Two-stop search between two non-hub places, ranked by duration. */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public List<Itinerary> searchByDuration(Schedule state) {
+		return state.graph.search(state.next(ItinerarySort.DURATION));
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public List<Itinerary> searchByPrice(Schedule state) {
+		return state.graph.search(state.next(ItinerarySort.PRICE));
+	}
+
+	/** Incremental refresh of one flight, as done for every flight change event. */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public ConnectionGraph upsert(Schedule state) {
+		state.graph.upsert(state.schedule.get(ThreadLocalRandom.current().nextInt(state.flights)));
+		return state.graph;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ConnectionGraphBenchmark.class.getSimpleName()).build()).run();
+	}
+}
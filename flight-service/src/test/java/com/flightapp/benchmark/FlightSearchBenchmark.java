@@ -0,0 +1,139 @@
+package com.flightapp.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.flightapp.dto.FlightSearchResultDTO;
+import com.flightapp.dto.SearchRequestDTO;
+import com.flightapp.entity.Flight;
+import com.flightapp.entity.Price;
+import com.flightapp.inventory.FlightInventoryCounter;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.search.FlightSearchCache;
+import com.flightapp.search.FlightSearchQuery;
+import com.flightapp.service.implementation.FlightSImplementation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Searches per second through {@link FlightSImplementation#searchFlights} with and without the
+ * route search cache. Mongo is replaced by an in-process repository that answers after
+ * {@code mongoLatencyMicros}, so the numbers isolate what the cache saves per round trip. Routes
+ * are drawn from a skewed distribution, a few hot city pairs and a long tail, as in production
+ * search traffic. Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.flightapp.benchmark.FlightSearchBenchmark}.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FlightSearchBenchmark {
+	private static final int FLIGHTS_PER_ROUTE = 20;
+
+	@State(Scope.Benchmark)
+	public static class Search {
+		@Param({ "false", "true" })
+		public boolean cached;
+
+		@Param({ "0", "500" })
+		public long mongoLatencyMicros;
+
+		@Param({ "2000" })
+		public int routes;
+
+		FlightSImplementation service;
+		SearchRequestDTO[] requests;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			LocalDateTime departure = LocalDateTime.now().plusDays(7);
+			List<List<Flight>> flights = new ArrayList<>();
+			requests = new SearchRequestDTO[routes];
+			for (int r = 0; r < routes; r++) {
+				List<Flight> route = new ArrayList<>();
+				for (int f = 0; f < FLIGHTS_PER_ROUTE; f++) {
+					route.add(new Flight("F" + r + "-" + f, "P" + r, "Q" + r, departure.plusHours(f + 2), departure.plusHours(f),
+							180, new Price(2000 + f, 3500 + f), "A1", "6E" + r + f));
+				}
+				flights.add(route);
+				SearchRequestDTO request = new SearchRequestDTO();
+				request.setFrom("P" + r);
+				request.setTo("Q" + r);
+				requests[r] = request;
+			}
+			FlightRepository repository = repository(flights, Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(mongoLatencyMicros)));
+			FlightInventoryCounter counter = new FlightInventoryCounter() {
+				@Override
+				public Mono<Integer> adjust(String flightId, int delta) {
+					return Mono.just(0);
+				}
+
+				@Override
+				public Mono<Integer> resize(String flightId, int capacity) {
+					return Mono.just(0);
+				}
+
+				@Override
+				public Mono<Integer> reset(String flightId, int seats) {
+					return Mono.just(seats);
+				}
+			};
+			FlightSearchCache cache = new FlightSearchCache(repository, new SimpleMeterRegistry(), cached, 10_000,
+					Duration.ofSeconds(5), Duration.ofSeconds(60));
+			service = new FlightSImplementation(repository, counter, null, cache, event -> { });
+		}
+
+		/** Skewed route choice: low route numbers are searched far more often than high ones. */
+		SearchRequestDTO next() {
+			int route = (int) Math.pow(routes, ThreadLocalRandom.current().nextDouble()) - 1;
+			return requests[Math.min(route, routes - 1)];
+		}
+	}
+
+	@Benchmark
+	@Threads(4)
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public FlightSearchResultDTO search(Search state) {
+		return state.service.searchFlights(state.next()).block();
+	}
+
+	/** Only {@code search} is implemented; the route number is parsed back out of the origin. */
+	private static FlightRepository repository(List<List<Flight>> flights, Duration latency) {
+		return (FlightRepository) Proxy.newProxyInstance(FlightRepository.class.getClassLoader(), new Class<?>[] { FlightRepository.class },
+				(proxy, method, args) -> {
+					if (!method.getName().equals("search")) throw new UnsupportedOperationException(method.getName());
+					FlightSearchQuery query = (FlightSearchQuery) args[0];
+					List<Flight> route = flights.get(Integer.parseInt(query.fromPlace().substring(1)));
+					Flux<Flight> rows = Flux.fromIterable(route).take(query.limit() + 1);
+					return latency.isZero() ? rows : Mono.delay(latency).thenMany(rows);
+				});
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(FlightSearchBenchmark.class.getSimpleName()).build()).run();
+	}
+}
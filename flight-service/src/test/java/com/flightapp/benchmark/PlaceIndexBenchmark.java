@@ -0,0 +1,106 @@
+package com.flightapp.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.flightapp.entity.Flight;
+import com.flightapp.entity.Price;
+import com.flightapp.search.PlaceIndex;
+
+/**
+ * Per-keystroke cost of {@link PlaceIndex#suggest} on a schedule over {@code places} synthetic
+ * two-word place names. Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.flightapp.benchmark.PlaceIndexBenchmark}.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PlaceIndexBenchmark {
+	private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 0, 0);
+	private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+
+	@State(Scope.Benchmark)
+	public static class Schedule {
+		@Param({ "5000" })
+		public int places;
+
+		@Param({ "50000" })
+		public int flights;
+
+		String[] names;
+		List<Flight> schedule;
+		PlaceIndex index;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			Random random = new Random(42);
+			names = new String[places];
+			for (int i = 0; i < places; i++) names[i] = word(random) + " " + word(random);
+			schedule = new ArrayList<>(flights);
+			for (int i = 0; i < flights; i++) {
+				int from = random.nextInt(places);
+				int to = (from + 1 + random.nextInt(places - 1)) % places;
+				LocalDateTime departure = START.plusMinutes(random.nextInt(30 * 24 * 60));
+				schedule.add(new Flight("F" + i, names[from], names[to], departure.plusHours(2), departure,
+						100, new Price(2000, 3500), "A1", "FN" + i));
+			}
+			index = new PlaceIndex();
+			index.rebuild(schedule);
+		}
+
+		String prefix(int length) {
+			String name = names[ThreadLocalRandom.current().nextInt(places)];
+			return name.substring(0, Math.min(length, name.length()));
+		}
+
+		private static String word(Random random) {
+			StringBuilder word = new StringBuilder();
+			for (int i = 0, n = 4 + random.nextInt(6); i < n; i++) word.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+			return word.toString();
+		}
+	}
+
+	/** First keystroke: the widest range of matches. */
+	@Benchmark
+	public List<PlaceIndex.Suggestion> suggestOneLetter(Schedule state) {
+		return state.index.suggest(state.prefix(1), 10);
+	}
+
+	@Benchmark
+	public List<PlaceIndex.Suggestion> suggestThreeLetters(Schedule state) {
+		return state.index.suggest(state.prefix(3), 10);
+	}
+
+	/** Incremental refresh of one flight, as done for every flight change event. */
+	@Benchmark
+	public PlaceIndex upsert(Schedule state) {
+		state.index.upsert(state.schedule.get(ThreadLocalRandom.current().nextInt(state.flights)));
+		return state.index;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(PlaceIndexBenchmark.class.getSimpleName()).build()).run();
+	}
+}
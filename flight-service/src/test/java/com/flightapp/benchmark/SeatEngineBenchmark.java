@@ -0,0 +1,166 @@
+package com.flightapp.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.flightapp.entity.Seat;
+import com.flightapp.inventory.SeatAvailabilityEngine;
+import com.flightapp.inventory.SeatBitmap;
+import com.flightapp.inventory.SeatJournal;
+
+/**
+ * Throughput of the in-memory seat engine and the time it takes to rebuild it from the journal.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.flightapp.benchmark.SeatEngineBenchmark}.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SeatEngineBenchmark {
+	private static final int SEATS_PER_FLIGHT = 180;
+
+	@State(Scope.Benchmark)
+	public static class Engine {
+		@Param({ "1", "1000" })
+		public int flights;
+
+		SeatJournal journal;
+		SeatAvailabilityEngine engine;
+		Path dir;
+
+		@Setup(Level.Trial)
+		public void setup() throws IOException {
+			dir = Files.createTempDirectory("seat-journal-bench");
+			journal = new SeatJournal(dir, false);
+			engine = new SeatAvailabilityEngine(journal);
+			for (int f = 0; f < flights; f++) engine.load("F" + f, layout("F" + f), SEATS_PER_FLIGHT, null, 0L);
+		}
+
+		/** Rotating and dropping segments keeps the journal from growing for the whole trial. */
+		@TearDown(Level.Iteration)
+		public void truncate() {
+			engine.drainDirty();
+			journal.deleteUpTo(journal.rotate());
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() throws IOException {
+			journal.close();
+			deleteRecursively(dir);
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class Journal {
+		@Param({ "100000" })
+		public int entries;
+
+		Path dir;
+
+		@Setup(Level.Trial)
+		public void setup() throws IOException {
+			dir = Files.createTempDirectory("seat-journal-replay");
+			try (SeatJournal journal = new SeatJournal(dir, false)) {
+				SeatAvailabilityEngine engine = new SeatAvailabilityEngine(journal);
+				for (int f = 0; f < 100; f++) engine.load("F" + f, layout("F" + f), SEATS_PER_FLIGHT, null, 0L);
+				for (int i = 0; i < entries; i++) {
+					String flightId = "F" + (i % 100);
+					int round = i / 100;
+					if (round > 0 && round % SEATS_PER_FLIGHT == 0) {
+						engine.replaceSeats(flightId, seats(flightId));
+						engine.adjust(flightId, SEATS_PER_FLIGHT);
+					}
+					engine.reserve(flightId, List.of("S" + round % SEATS_PER_FLIGHT));
+				}
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() throws IOException {
+			deleteRecursively(dir);
+		}
+	}
+
+	/** Claim plus counter decrement on a random seat; a conflict resets the flight so the run never sells out. */
+	@Benchmark
+	@Threads(4)
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public int reserve(Engine state) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		String flightId = "F" + random.nextInt(state.flights);
+		try {
+			return state.engine.reserve(flightId, List.of("S" + random.nextInt(SEATS_PER_FLIGHT)));
+		} catch (RuntimeException conflict) {
+			state.engine.replaceSeats(flightId, seats(flightId));
+			return state.engine.adjust(flightId, SEATS_PER_FLIGHT);
+		}
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public int availability(Engine state) {
+		return state.engine.availableSeats("F" + ThreadLocalRandom.current().nextInt(state.flights)).orElse(0);
+	}
+
+	/** Restart cost: load 100 flight snapshots and replay the journal on top of them. */
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	@Warmup(iterations = 3, batchSize = 1)
+	@Measurement(iterations = 10, batchSize = 1)
+	public SeatAvailabilityEngine restart(Journal state) throws IOException {
+		try (SeatJournal journal = new SeatJournal(state.dir, false)) {
+			SeatAvailabilityEngine engine = new SeatAvailabilityEngine(journal);
+			for (int f = 0; f < 100; f++) engine.load("F" + f, layout("F" + f), SEATS_PER_FLIGHT, null, 0L);
+			journal.replay(engine::replay);
+			return engine;
+		}
+	}
+
+	private static SeatBitmap layout(String flightId) {
+		return SeatBitmap.fromSeats(seats(flightId));
+	}
+
+	private static List<Seat> seats(String flightId) {
+		List<Seat> seats = new ArrayList<>(SEATS_PER_FLIGHT);
+		for (int s = 0; s < SEATS_PER_FLIGHT; s++) seats.add(new Seat(null, "S" + s, true, flightId));
+		return seats;
+	}
+
+	private static void deleteRecursively(Path dir) throws IOException {
+		try (Stream<Path> files = Files.walk(dir)) {
+			for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(SeatEngineBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,115 @@
+package com.flightapp.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.flightapp.entity.Seat;
+import com.flightapp.inventory.SeatMapReplacer;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Seat map replacement against a real Mongo: the old delete-all-then-save-all loop versus the
+ * diff-based bulk write. Every invocation flips the map between two versions that differ in a
+ * tenth of the seats. Needs a reachable Mongo, {@code mongodb://localhost:27017} by default:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.flightapp.benchmark.SeatMapReplaceBenchmark -Dflightapp.benchmark.mongo-uri=...}.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class SeatMapReplaceBenchmark {
+	private static final String FLIGHT_ID = "BENCH-FLIGHT";
+
+	@Param({ "180", "400" })
+	public int seats;
+
+	private MongoClient client;
+	private ReactiveMongoTemplate mongoTemplate;
+	private SeatMapReplacer replacer;
+	private List<List<Seat>> versions;
+	private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        client = MongoClients.create(System.getProperty("flightapp.benchmark.mongo-uri", "mongodb://localhost:27017"));
+        mongoTemplate = new ReactiveMongoTemplate(client, "flightapp-benchmark");
+        replacer = new SeatMapReplacer(mongoTemplate);
+        versions = List.of(seatMap(0), seatMap(1));
+        clear();
+        mongoTemplate.insertAll(copy(versions.get(0))).blockLast();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clear();
+        client.close();
+    }
+
+    @Benchmark
+    public void deleteAndSaveEachSeat() {
+        List<Seat> target = versions.get(next++ & 1);
+        mongoTemplate.find(byFlight(), Seat.class)
+                .flatMap(mongoTemplate::remove)
+                .thenMany(Flux.fromIterable(copy(target)))
+                .flatMap(mongoTemplate::save)
+                .blockLast();
+    }
+
+    @Benchmark
+    public void diffBulkWrite() {
+        replacer.replace(FLIGHT_ID, versions.get(next++ & 1)).block();
+    }
+
+    private void clear() {
+        mongoTemplate.remove(byFlight(), Seat.class).block();
+    }
+
+    private static Query byFlight() {
+        return new Query(Criteria.where("flightId").is(FLIGHT_ID));
+    }
+
+    /** Version 0 has every seat free, version 1 has every tenth seat taken. */
+    private List<Seat> seatMap(int version) {
+        List<Seat> map = new ArrayList<>(seats);
+        for (int i = 0; i < seats; i++) {
+            String seatNumber = (i / 6 + 1) + String.valueOf((char) ('A' + i % 6));
+            map.add(new Seat(null, seatNumber, version == 0 || i % 10 != 0, FLIGHT_ID));
+        }
+        return map;
+    }
+
+    private static List<Seat> copy(List<Seat> seats) {
+        return seats.stream().map(s -> new Seat(null, s.getSeatNumber(), s.isAvailable(), s.getFlightId())).toList();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SeatMapReplaceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,81 @@
+package com.flightapp.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.flightapp.entity.Seat;
+import com.flightapp.entity.SeatAvailability;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class SeatIndexInitializerTest {
+	@Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+	@Mock
+    private ReactiveIndexOperations indexOps;
+
+    private SeatIndexInitializer initializer;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        when(mongoTemplate.indexOps(Seat.class)).thenReturn(indexOps);
+        when(indexOps.createIndex(any(IndexDefinition.class))).thenReturn(Mono.just("index"));
+        when(mongoTemplate.remove(any(Query.class), eq(Seat.class))).thenReturn(Mono.just(DeleteResult.acknowledged(2)));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(SeatAvailability.class)))
+            .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+        initializer = new SeatIndexInitializer(mongoTemplate);
+    }
+
+    @Test
+    void testDuplicateSeatsAreRemovedKeepingTheFirstBeforeTheUniqueIndex() {
+        when(indexOps.getIndexInfo()).thenReturn(Flux.empty());
+        Document group = new Document("_id", new Document("flightId", "F101").append("seatNumber", "1A"))
+            .append("ids", List.of("booked", "spare1", "spare2")).append("count", 3);
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Seat.class), eq(Document.class))).thenReturn(Flux.just(group));
+
+        initializer.run();
+
+        ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(removed.capture(), eq(Seat.class));
+        assertEquals(List.of("spare1", "spare2"), removed.getValue().getQueryObject().get("_id", Document.class).get("$in"));
+        verify(mongoTemplate).updateFirst(any(Query.class), eq(new Update().set("stale", true)), eq(SeatAvailability.class));
+        verify(indexOps, times(2)).createIndex(any(IndexDefinition.class));
+    }
+
+    @Test
+    void testNoDuplicateScanOnceTheUniqueIndexExists() {
+        when(indexOps.getIndexInfo()).thenReturn(Flux.just(
+                new IndexInfo(List.of(), SeatIndexInitializer.UNIQUE_INDEX, true, false, null)));
+
+        initializer.run();
+
+        verify(mongoTemplate, never()).aggregate(any(Aggregation.class), eq(Seat.class), eq(Document.class));
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(Seat.class));
+    }
+}
@@ -0,0 +1,70 @@
+package com.flightapp.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flightapp.dto.SeatMapGenerationDTO;
+import com.flightapp.entity.AircraftLayout;
+import com.flightapp.entity.CabinZone;
+import com.flightapp.service.AircraftLayoutService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class AircraftLayoutControllerTest {
+	@Mock
+    private AircraftLayoutService layoutService;
+    private WebTestClient client;
+    private AircraftLayout layout;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        AircraftLayoutController controller = new AircraftLayoutController(layoutService);
+        client = WebTestClient.bindToController(controller).build();
+        layout = new AircraftLayout("L1", "A320", List.of(new CabinZone("ECONOMY", 1, 30, "ABCDEF")), List.of());
+    }
+
+    @Test
+    void testAddLayout() {
+        when(layoutService.addLayout(any())).thenReturn(Mono.just(layout));
+        client.post().uri("/api/flight/layouts/add").bodyValue(layout).exchange().expectStatus().isCreated()
+        .expectBody().jsonPath("$.cabins[0].columns").isEqualTo("ABCDEF");
+        verify(layoutService).addLayout(any());
+    }
+
+    @Test
+    void testAddLayout_Invalid() {
+        when(layoutService.addLayout(any())).thenReturn(Mono.error(
+                new ResponseStatusException(HttpStatus.BAD_REQUEST, "Layout must have at least one cabin zone")));
+        client.post().uri("/api/flight/layouts/add").bodyValue(layout).exchange().expectStatus().isBadRequest()
+        .expectBody().jsonPath("$.message").isEqualTo("Layout must have at least one cabin zone");
+    }
+
+    @Test
+    void testGenerateSeatMap() {
+        when(layoutService.generateSeatMap("L1", "F101")).thenReturn(Mono.just(new SeatMapGenerationDTO("F101", "L1", 180, 180)));
+        client.post().uri("/api/flight/layouts/L1/generate/F101").exchange().expectStatus().isOk()
+        .expectBody().jsonPath("$.totalSeats").isEqualTo(180).jsonPath("$.message").doesNotExist();
+    }
+
+    @Test
+    void testGenerateSeatMaps() {
+        when(layoutService.generateSeatMaps("L1", List.of("F1", "F2"))).thenReturn(Flux.just(
+                new SeatMapGenerationDTO("F1", "L1", 180, 180),
+                new SeatMapGenerationDTO("F2", "L1", null, null, "Flight not found")));
+        client.post().uri("/api/flight/layouts/L1/generate").bodyValue(List.of("F1", "F2")).exchange().expectStatus().isOk()
+        .expectBody().jsonPath("$[0].sellableSeats").isEqualTo(180).jsonPath("$[1].message").isEqualTo("Flight not found");
+    }
+}
@@ -0,0 +1,51 @@
+package com.flightapp.controller;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flightapp.dto.FareCalendarDayDTO;
+import com.flightapp.service.FareCalendarService;
+
+import reactor.core.publisher.Flux;
+
+class FareCalendarControllerTest {
+	@Mock
+    private FareCalendarService fareCalendarService;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        client = WebTestClient.bindToController(new FareCalendarController(fareCalendarService)).build();
+    }
+
+    @Test
+    void testGetFareCalendar() {
+        when(fareCalendarService.getFareCalendar("HYD", "DEL", YearMonth.of(2030, 1), 2)).thenReturn(Flux.just(
+                new FareCalendarDayDTO(LocalDate.of(2030, 1, 5), 2, 2500f, 5000f, 12)));
+        client.get().uri("/api/flight/flights/calendar?from=HYD&to=DEL&month=2030-01&passengers=2").exchange()
+        .expectStatus().isOk()
+        .expectBody().jsonPath("$[0].date").isEqualTo("2030-01-05").jsonPath("$[0].minOneWay").isEqualTo(2500.0);
+        verify(fareCalendarService).getFareCalendar("HYD", "DEL", YearMonth.of(2030, 1), 2);
+    }
+
+    @Test
+    void testGetFareCalendar_InvalidRequest() {
+        when(fareCalendarService.getFareCalendar("HYD", "DEL", YearMonth.of(2030, 1), 0)).thenReturn(Flux.error(
+                new ResponseStatusException(HttpStatus.BAD_REQUEST, "Passengers must be at least 1")));
+        client.get().uri("/api/flight/flights/calendar?from=HYD&to=DEL&month=2030-01&passengers=0").exchange()
+        .expectStatus().isBadRequest()
+        .expectBody().jsonPath("$.message").isEqualTo("Passengers must be at least 1");
+    }
+}
@@ -0,0 +1,56 @@
+package com.flightapp.controller;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.flightapp.dto.FlightBatchItemDTO;
+import com.flightapp.dto.FlightBatchRequestDTO;
+import com.flightapp.entity.Flight;
+import com.flightapp.service.FlightBatchService;
+
+import reactor.core.publisher.Flux;
+
+class FlightBatchControllerTest {
+	@Mock
+    private FlightBatchService flightBatchService;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        client = WebTestClient.bindToController(new FlightBatchController(flightBatchService)).build();
+    }
+
+    @Test
+    void testGetFlights() {
+        Flight flight = new Flight();
+        flight.setId("F1");
+        flight.setFlightNumber("6E101");
+        when(flightBatchService.getFlights(new FlightBatchRequestDTO(List.of("F1", "F2"), null))).thenReturn(Flux.just(
+                new FlightBatchItemDTO("F1", flight, null, null), new FlightBatchItemDTO("F2", null, null, "Flight not found")));
+        client.get().uri("/api/flight/flights/batch?ids=F1,F2").exchange()
+        .expectStatus().isOk()
+        .expectBody().jsonPath("$[0].flight.flightNumber").isEqualTo("6E101").jsonPath("$[0].seats").doesNotExist()
+        .jsonPath("$[1].message").isEqualTo("Flight not found");
+    }
+
+    @Test
+    void testGetFlightsWithSeats() {
+        FlightBatchRequestDTO request = new FlightBatchRequestDTO(List.of("F1"), Map.of("F1", List.of("1A")));
+        when(flightBatchService.getFlights(request)).thenReturn(Flux.just(
+                new FlightBatchItemDTO("F1", new Flight(), Map.of("1A", false), null)));
+        client.post().uri("/api/flight/flights/batch").bodyValue(request).exchange()
+        .expectStatus().isOk()
+        .expectBody().jsonPath("$[0].seats.1A").isEqualTo(false);
+        verify(flightBatchService).getFlights(request);
+    }
+}
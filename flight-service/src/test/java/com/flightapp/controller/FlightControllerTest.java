@@ -1,18 +1,29 @@
 package com.flightapp.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.flightapp.dto.FlightPageDTO;
+import com.flightapp.dto.FlightSearchResultDTO;
+import com.flightapp.dto.InventoryAdjustmentDTO;
+import com.flightapp.dto.InventoryDTO;
 import com.flightapp.entity.Flight;
 import com.flightapp.entity.Price;
 import com.flightapp.service.FlightService;
@@ -44,6 +55,35 @@ class FlightControllerTest {
         verify(flightService).getFlightById(flight.getId());
     }
 
+    @Test
+    void testGetAllFlights_PageWithCursorHeader() {
+        when(flightService.listFlights(null, 1, "fromPlace")).thenReturn(Mono.just(
+                new FlightPageDTO(List.of(Map.of("id", "F1", "fromPlace", "HYD")), "F1")));
+        client.get().uri("/api/flight/flights?limit=1&fields=fromPlace").exchange()
+        .expectStatus().isOk()
+        .expectHeader().valueEquals(FlightController.NEXT_CURSOR_HEADER, "F1")
+        .expectBody().jsonPath("$[0].fromPlace").isEqualTo("HYD").jsonPath("$[0].toPlace").doesNotExist();
+    }
+
+    @Test
+    void testGetAllFlights_UnknownField() {
+        when(flightService.listFlights(null, null, "crew")).thenReturn(Mono.error(
+                new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown field: crew")));
+        client.get().uri("/api/flight/flights?fields=crew").exchange()
+        .expectStatus().isBadRequest()
+        .expectBody().jsonPath("$.message").isEqualTo("Unknown field: crew");
+    }
+
+    @Test
+    void testStreamFlights_Ndjson() {
+        when(flightService.streamFlights("F1", null, null)).thenReturn(Flux.just(
+                Map.of("id", "F2"), Map.of("id", "F3")));
+        client.get().uri("/api/flight/flights?after=F1").accept(MediaType.APPLICATION_NDJSON).exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+        .expectBody(String.class).isEqualTo("{\"id\":\"F2\"}\n{\"id\":\"F3\"}\n");
+    }
+
     @Test
     void testAddFlight() {
         when(flightService.addFlight(any())).thenReturn(Mono.just(flight));
@@ -54,16 +94,38 @@ class FlightControllerTest {
 
     @Test
     void testSearchFlights() {
-        when(flightService.searchFlights("HYD", "DEL")).thenReturn(Flux.just(flight));
-        client.get().uri("/api/flight/flights/search?from=HYD&to=DEL").exchange().expectStatus().isOk()
+        when(flightService.searchFlights(any())).thenReturn(Mono.just(new FlightSearchResultDTO(List.of(flight), "next")));
+        client.get().uri("/api/flight/flights/search?from=HYD&to=DEL&departureFrom=2030-01-01&passengers=2").exchange().expectStatus().isOk()
+        .expectHeader().valueEquals("X-Next-Cursor", "next")
         .expectBody().jsonPath("$[0].airlineId").isEqualTo("A1");
-        verify(flightService).searchFlights("HYD", "DEL");
+        verify(flightService).searchFlights(argThat(request -> "HYD".equals(request.getFrom())
+                && LocalDate.of(2030, 1, 1).equals(request.getDepartureFrom()) && request.getPassengers() == 2));
+    }
+
+    @Test
+    void testSearchFlights_InvalidRequest() {
+        when(flightService.searchFlights(any())).thenReturn(Mono.error(
+                new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid search cursor")));
+        client.post().uri("/api/flight/flights/search").bodyValue(Map.of("from", "HYD", "to", "DEL", "cursor", "x"))
+        .exchange().expectStatus().isBadRequest()
+        .expectHeader().doesNotExist("X-Next-Cursor")
+        .expectBody().jsonPath("$.message").isEqualTo("Invalid search cursor");
     }
 
     @Test
     void testIncreaseInventory() {
-        when(flightService.increaseAvailableSeats(flight.getId(), 10)).thenReturn(Mono.just(flight));
-        client.put().uri("/api/flight/flights/" + flight.getId() + "/inventory?add=10").exchange().expectStatus().isOk();
+        when(flightService.increaseAvailableSeats(flight.getId(), 10)).thenReturn(Mono.just(new InventoryDTO(flight.getId(), 110)));
+        client.put().uri("/api/flight/flights/" + flight.getId() + "/inventory?add=10").exchange().expectStatus().isOk()
+        .expectBody().jsonPath("$.availableSeats").isEqualTo(110).jsonPath("$.fromPlace").doesNotExist();
         verify(flightService).increaseAvailableSeats(flight.getId(), 10);
     }
+
+    @Test
+    void testAdjustInventoryBatch() {
+        List<InventoryAdjustmentDTO> adjustments = List.of(new InventoryAdjustmentDTO("F1", 2), new InventoryAdjustmentDTO("F2", -3));
+        when(flightService.adjustInventory(adjustments)).thenReturn(Flux.just(new InventoryDTO("F1", 12),
+                new InventoryDTO("F2", null, "Not enough seats available")));
+        client.put().uri("/api/flight/flights/inventory").bodyValue(adjustments).exchange().expectStatus().isOk()
+        .expectBody().jsonPath("$[0].availableSeats").isEqualTo(12).jsonPath("$[1].message").isEqualTo("Not enough seats available");
+    }
 }
@@ -0,0 +1,48 @@
+package com.flightapp.controller;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flightapp.dto.PlaceSuggestionDTO;
+import com.flightapp.service.PlaceService;
+
+import reactor.core.publisher.Flux;
+
+class PlaceControllerTest {
+	@Mock
+    private PlaceService placeService;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        client = WebTestClient.bindToController(new PlaceController(placeService)).build();
+    }
+
+    @Test
+    void testSuggestPlaces() {
+        when(placeService.suggestPlaces("de", 10)).thenReturn(Flux.just(
+                new PlaceSuggestionDTO("Delhi", 3), new PlaceSuggestionDTO("Dehradun", 2)));
+        client.get().uri("/api/flight/places?prefix=de").exchange()
+        .expectStatus().isOk()
+        .expectBody().jsonPath("$[0].place").isEqualTo("Delhi").jsonPath("$[1].flights").isEqualTo(2);
+        verify(placeService).suggestPlaces("de", 10);
+    }
+
+    @Test
+    void testSuggestPlaces_InvalidLimit() {
+        when(placeService.suggestPlaces("de", 500)).thenReturn(Flux.error(
+                new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and 50")));
+        client.get().uri("/api/flight/places?prefix=de&limit=500").exchange()
+        .expectStatus().isBadRequest()
+        .expectBody().jsonPath("$.message").isEqualTo("Limit must be between 1 and 50");
+    }
+}
@@ -1,48 +1,174 @@
 package com.flightapp.controller;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.FluxExchangeResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.flightapp.dto.AddSeatsResultDTO;
+import com.flightapp.dto.ReservationDTO;
+import com.flightapp.dto.SeatAvailabilityDTO;
+import com.flightapp.dto.SeatChangesDTO;
+import com.flightapp.entity.CabinAvailability;
 import com.flightapp.entity.Seat;
+import com.flightapp.exception.SeatConflictException;
+import com.flightapp.inventory.SeatMapFeed;
 import com.flightapp.service.SeatService;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 class SeatControllerTest {
 	@Mock
     private SeatService seatService;
+	@Mock
+    private SeatMapFeed seatMapFeed;
     private WebTestClient client;
     private Seat seat;
 
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
-        SeatController controller = new SeatController(seatService);
+        SeatController controller = new SeatController(seatService, seatMapFeed);
         client = WebTestClient.bindToController(controller).build();
         seat = new Seat("S1", "1A", true, "F101");
     }
 
+    @Test
+    void testGetAvailability() {
+        when(seatService.getAvailability(List.of("F101", "F202"))).thenReturn(Flux.just(
+                new SeatAvailabilityDTO("F101", 180, 42, List.of(new CabinAvailability("ECONOMY", 150, 40)))));
+        client.get().uri("/api/flight/seats/availability?flightIds=F101,F202,F101").exchange().expectStatus().isOk()
+         .expectBody().jsonPath("$[0].availableSeats").isEqualTo(42).jsonPath("$[0].cabins[0].cabin").isEqualTo("ECONOMY");
+        verify(seatService).getAvailability(List.of("F101", "F202"));
+    }
+
+    @Test
+    void testGetAvailability_TooManyFlights() {
+        String ids = String.join(",", IntStream.rangeClosed(0, SeatController.MAX_AVAILABILITY_FLIGHTS)
+                .mapToObj(i -> "F" + i).toList());
+        client.get().uri("/api/flight/seats/availability?flightIds=" + ids).exchange().expectStatus().isBadRequest()
+         .expectBody().jsonPath("$.message").isEqualTo("Between 1 and 100 flight ids are required");
+    }
+
     @Test
     void testGetSeatsByFlight() {
-        when(seatService.getSeatsByFlightId("F101")).thenReturn(Flux.just(seat));
+        when(seatService.getSeatChanges("F101", null)).thenReturn(Mono.just(new SeatChangesDTO("F101", 7, true, List.of(seat))));
         client.get().uri("/api/flight/seats/F101").exchange().expectStatus().isOk()
+         .expectHeader().valueEquals(HttpHeaders.ETAG, "\"7\"")
          .expectBody().jsonPath("$[0].seatNumber").isEqualTo("1A");
-        verify(seatService).getSeatsByFlightId("F101");
+        verify(seatService, never()).getSeatMapVersion(any());
+    }
+
+    @Test
+    void testGetSeatsByFlight_NotModifiedWhenVersionMatches() {
+        when(seatService.getSeatMapVersion("F101")).thenReturn(Mono.just(7L));
+        client.get().uri("/api/flight/seats/F101").header(HttpHeaders.IF_NONE_MATCH, "\"6\", W/\"7\"").exchange()
+         .expectStatus().isNotModified()
+         .expectHeader().valueEquals(HttpHeaders.ETAG, "\"7\"");
+        verify(seatService, never()).getSeatChanges(any(), any());
+    }
+
+    @Test
+    void testGetSeatsByFlight_StaleETagGetsSeatMap() {
+        when(seatService.getSeatMapVersion("F101")).thenReturn(Mono.just(8L));
+        when(seatService.getSeatChanges("F101", null)).thenReturn(Mono.just(new SeatChangesDTO("F101", 8, true, List.of(seat))));
+        client.get().uri("/api/flight/seats/F101").header(HttpHeaders.IF_NONE_MATCH, "\"7\"").exchange()
+         .expectStatus().isOk()
+         .expectHeader().valueEquals(HttpHeaders.ETAG, "\"8\"");
+    }
+
+    @Test
+    void testGetSeatChanges() {
+        when(seatService.getSeatChanges("F101", 7L)).thenReturn(Mono.just(new SeatChangesDTO("F101", 9, false, List.of(seat))));
+        client.get().uri("/api/flight/seats/F101/changes?since=7").exchange().expectStatus().isOk()
+         .expectHeader().valueEquals(HttpHeaders.ETAG, "\"9\"")
+         .expectBody().jsonPath("$.version").isEqualTo(9).jsonPath("$.full").isEqualTo(false)
+         .jsonPath("$.seats[0].seatNumber").isEqualTo("1A");
+    }
+
+    @Test
+    void testGetSeatChanges_NoSeatMap() {
+        when(seatService.getSeatChanges("F404", 7L)).thenReturn(Mono.empty());
+        client.get().uri("/api/flight/seats/F404/changes?since=7").exchange().expectStatus().isNotFound()
+         .expectBody().jsonPath("$.message").isEqualTo("Seat map not found");
+    }
+
+    @Test
+    void testStreamSeatChanges_ResumesFromLastEventId() {
+        when(seatMapFeed.subscribe("F101", 7L)).thenReturn(Flux.just(new SeatChangesDTO("F101", 9, false, List.of(seat)),
+                new SeatChangesDTO("F101", 12, true, List.of(seat))));
+        FluxExchangeResult<String> result = client.get().uri("/api/flight/seats/F101/live").accept(MediaType.TEXT_EVENT_STREAM)
+            .header("Last-Event-ID", "7").exchange().expectStatus().isOk().returnResult(String.class);
+        StepVerifier.create(result.getResponseBody().take(2))
+            .expectNextMatches(data -> data.contains("\"version\":9"))
+            .expectNextMatches(data -> data.contains("\"full\":true"))
+            .verifyComplete();
+    }
+
+    @Test
+    void testStreamSeatChanges_NoSeatMap() {
+        when(seatMapFeed.subscribe("F404", null))
+            .thenReturn(Flux.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Seat map not found")));
+        client.get().uri("/api/flight/seats/F404/live").accept(MediaType.TEXT_EVENT_STREAM).exchange()
+            .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testAddSeatsReportsCounts() {
+        when(seatService.addSeats("F101", List.of(seat))).thenReturn(Mono.just(new AddSeatsResultDTO(0, 1)));
+        client.post().uri("/api/flight/seats/F101/add").bodyValue(List.of(seat)).exchange().expectStatus().isOk()
+         .expectBody().jsonPath("$.inserted").isEqualTo(0).jsonPath("$.skipped").isEqualTo(1);
     }
 
     @Test
     void testUpdateSeats() {
-        when(seatService.updateSeats("F101", List.of(seat))).thenReturn(Mono.empty());
+        List<Seat> received = new ArrayList<>();
+        when(seatService.updateSeats(eq("F101"), any())).thenAnswer(inv -> inv.<Flux<Seat>>getArgument(1).doOnNext(received::add).then());
         client.put().uri("/api/flight/seats/F101/update").bodyValue(List.of(seat)).exchange().expectStatus().isOk();
-        verify(seatService).updateSeats("F101", List.of(seat));
+        assertEquals(List.of("1A"), received.stream().map(Seat::getSeatNumber).toList());
+    }
+
+    @Test
+    void testUpdateSeatsAsNdjsonStream() {
+        List<Seat> received = new ArrayList<>();
+        when(seatService.updateSeats(eq("F101"), any())).thenAnswer(inv -> inv.<Flux<Seat>>getArgument(1).doOnNext(received::add).then());
+        String body = "{\"seatNumber\":\"1A\",\"available\":true}\n{\"seatNumber\":\"1B\",\"available\":false}\n";
+        client.put().uri("/api/flight/seats/F101/update").contentType(MediaType.APPLICATION_NDJSON).bodyValue(body)
+            .exchange().expectStatus().isOk();
+        assertEquals(List.of("1A", "1B"), received.stream().map(Seat::getSeatNumber).toList());
+    }
+
+    @Test
+    void testReserveSeats() {
+        when(seatService.reserveSeats("F101", List.of("1A"))).thenReturn(Mono.just(new ReservationDTO("F101", List.of("1A"), 99)));
+        client.post().uri("/api/flight/seats/F101/reserve").bodyValue(List.of("1A")).exchange().expectStatus().isOk()
+         .expectBody().jsonPath("$.availableSeats").isEqualTo(99);
+        verify(seatService).reserveSeats("F101", List.of("1A"));
+    }
+
+    @Test
+    void testBookSeats_Conflict() {
+        when(seatService.bookSeats("F101", List.of("1A", "1B"))).thenReturn(Mono.error(new SeatConflictException(List.of("1B"))));
+        client.post().uri("/api/flight/seats/F101/book").bodyValue(List.of("1A", "1B")).exchange().expectStatus().isEqualTo(409)
+         .expectBody().jsonPath("$.conflictingSeats[0]").isEqualTo("1B");
     }
 }
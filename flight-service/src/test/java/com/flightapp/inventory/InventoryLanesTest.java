@@ -0,0 +1,82 @@
+package com.flightapp.inventory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+class InventoryLanesTest {
+	private SimpleMeterRegistry registry;
+	private InventoryLanes lanes;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        lanes = new InventoryLanes(registry, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        lanes.destroy();
+    }
+
+    @Test
+    void testMutationsForOneFlightNeverOverlap() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Flux<Integer> mutations = Flux.range(0, 50).flatMap(i -> lanes.submit("F101", () -> Mono.fromCallable(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    return i;
+                }).delayElement(Duration.ofMillis(1)).doOnNext(v -> running.decrementAndGet())));
+        StepVerifier.create(mutations).expectNextCount(50).verifyComplete();
+        assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    void testErrorsArePropagatedAndReleaseTheLane() {
+        StepVerifier.create(lanes.submit("F101", () -> Mono.error(new IllegalStateException("boom"))))
+                .expectError(IllegalStateException.class).verify();
+        StepVerifier.create(lanes.submit("F101", () -> Mono.just("next"))).expectNext("next").verifyComplete();
+    }
+
+    @Test
+    void testHungMutationTimesOutAndReleasesTheLane() {
+        InventoryLanes timed = new InventoryLanes(registry, 1, Duration.ofMillis(50));
+        try {
+            StepVerifier.create(timed.submit("F101", Mono::never))
+                    .expectErrorMatches(ex -> ex instanceof ResponseStatusException rse
+                            && rse.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE)
+                    .verify(Duration.ofSeconds(5));
+            StepVerifier.create(timed.submit("F202", () -> Mono.just("next"))).expectNext("next").verifyComplete();
+        } finally {
+            timed.destroy();
+        }
+    }
+
+    @Test
+    void testQueueDepthIsExposedPerLane() {
+        Sinks.One<String> gate = Sinks.one();
+        Mono<String> blocked = lanes.submit("F101", gate::asMono);
+        Mono<String> queued = lanes.submit("F101", () -> Mono.just("second")).cache();
+        blocked.subscribe();
+        queued.subscribe();
+        double depth = registry.find("inventory.lane.queue.depth").gauges().stream().mapToDouble(g -> g.value()).sum();
+        assertEquals(2.0, depth);
+        gate.tryEmitValue("first");
+        StepVerifier.create(queued).expectNext("second").verifyComplete();
+        assertTrue(registry.find("inventory.lane.latency").timers().stream().anyMatch(t -> t.count() > 0));
+    }
+}
@@ -0,0 +1,190 @@
+package com.flightapp.inventory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flightapp.dto.SeatAvailabilityDTO;
+import com.flightapp.dto.SeatChangesDTO;
+import com.flightapp.entity.CabinAvailability;
+import com.flightapp.entity.Seat;
+import com.flightapp.exception.SeatConflictException;
+
+class SeatAvailabilityEngineTest {
+	@TempDir
+	Path journalDir;
+
+	private SeatJournal journal;
+	private SeatAvailabilityEngine engine;
+
+    @BeforeEach
+    void setup() {
+        journal = new SeatJournal(journalDir, false);
+        engine = new SeatAvailabilityEngine(journal);
+        engine.load("F101", layout(), 3, 10, 0L);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        journal.close();
+    }
+
+    @Test
+    void testReserveClaimsSeatsAndDecrementsCounter() {
+        assertEquals(1, engine.reserve("F101", List.of("1A", "1B")));
+        assertFalse(engine.seats("F101").get(0).isAvailable());
+        assertTrue(engine.seats("F101").get(2).isAvailable());
+    }
+
+    @Test
+    void testReserveConflictLeavesStateUntouched() {
+        engine.claim("F101", List.of("1B"));
+        SeatConflictException ex = assertThrows(SeatConflictException.class, () -> engine.reserve("F101", List.of("1A", "1B")));
+        assertEquals(List.of("1B"), ex.getConflictingSeats());
+        assertTrue(engine.seats("F101").get(0).isAvailable());
+        assertEquals(3, engine.availableSeats("F101").getAsInt());
+    }
+
+    @Test
+    void testAdjustStaysWithinZeroAndCapacity() {
+        assertThrows(ResponseStatusException.class, () -> engine.adjust("F101", -4));
+        assertThrows(ResponseStatusException.class, () -> engine.adjust("F101", 8));
+        assertThrows(ResponseStatusException.class, () -> engine.adjust("UNKNOWN", 1));
+        assertEquals(10, engine.adjust("F101", 7));
+        assertEquals(0, engine.adjust("F101", -10));
+    }
+
+    @Test
+    void testResizeMovesCounterBound() {
+        assertThrows(ResponseStatusException.class, () -> engine.resize("F101", 2));
+        assertEquals(3, engine.resize("F101", 4));
+        assertThrows(ResponseStatusException.class, () -> engine.adjust("F101", 2));
+        assertEquals(4, engine.adjust("F101", 1));
+    }
+
+    @Test
+    void testResetOnlyBeforeAnySeatIsSold() {
+        assertThrows(ResponseStatusException.class, () -> engine.reset("F101", 6));
+        engine.adjust("F101", 7);
+        assertEquals(6, engine.reset("F101", 6));
+        assertEquals(6, engine.availableSeats("F101").getAsInt());
+        assertThrows(ResponseStatusException.class, () -> engine.adjust("F101", 1));
+    }
+
+    @Test
+    void testAddSeatsSkipsExistingSeatNumbers() {
+        assertEquals(1, engine.addSeats("F101", List.of(new Seat(null, "1A", true, "F101"), new Seat(null, "2A", true, "F101"))));
+        assertEquals(4, engine.seats("F101").size());
+    }
+
+    @Test
+    void testJournalReplayRebuildsStateOnTopOfSnapshot() throws Exception {
+        engine.reserve("F101", List.of("1A"));
+        engine.adjust("F101", 5);
+        engine.addSeats("F101", List.of(new Seat(null, "2A", true, "F101")));
+        journal.close();
+
+        journal = new SeatJournal(journalDir, false);
+        SeatAvailabilityEngine restarted = new SeatAvailabilityEngine(journal);
+        restarted.load("F101", layout(), 3, 10, 0L);
+        journal.replay(restarted::replay);
+
+        assertEquals(7, restarted.availableSeats("F101").getAsInt());
+        assertEquals(4, restarted.seats("F101").size());
+        assertFalse(restarted.seats("F101").get(0).isAvailable());
+    }
+
+    @Test
+    void testJournalReplayKeepsSeparatorsInsideSeatNumbers() throws Exception {
+        engine.load("F:1,\t2", layout(), 3, 10, 0L);
+        engine.addSeats("F:1,\t2", List.of(new Seat(null, "12:A", true, "F:1,\t2", "BUSINESS,1"),
+                new Seat(null, "A,1\n%2C", true, "F:1,\t2")));
+        engine.reserve("F:1,\t2", List.of("12:A"));
+        journal.close();
+
+        journal = new SeatJournal(journalDir, false);
+        SeatAvailabilityEngine restarted = new SeatAvailabilityEngine(journal);
+        restarted.load("F:1,\t2", layout(), 3, 10, 0L);
+        journal.replay(restarted::replay);
+
+        List<Seat> seats = restarted.seats("F:1,\t2");
+        assertEquals(5, seats.size());
+        assertEquals("12:A", seats.get(3).getSeatNumber());
+        assertEquals("BUSINESS,1", seats.get(3).getCabin());
+        assertFalse(seats.get(3).isAvailable());
+        assertEquals("A,1\n%2C", seats.get(4).getSeatNumber());
+        assertTrue(seats.get(4).isAvailable());
+    }
+
+    @Test
+    void testReplaySkipsEntriesAlreadyInSnapshot() {
+        engine.reserve("F101", List.of("1A"));
+        List<SeatAvailabilityEngine.Snapshot> snapshots = engine.drainDirty();
+        assertEquals(1, snapshots.size());
+
+        SeatAvailabilityEngine restarted = new SeatAvailabilityEngine(journal);
+        SeatAvailabilityEngine.Snapshot snapshot = snapshots.get(0);
+        restarted.load("F101", SeatBitmap.of(snapshot.inventory()), snapshot.availableSeats(), 10, snapshot.version());
+        journal.replay(restarted::replay);
+
+        assertEquals(2, restarted.availableSeats("F101").getAsInt());
+        assertTrue(restarted.drainDirty().isEmpty());
+    }
+
+    @Test
+    void testAvailabilityFollowsClaimsAndLayoutChanges() {
+        engine.load("F202", SeatBitmap.fromSeats(List.of(new Seat("S1", "1A", true, "F202", "BUSINESS"),
+                new Seat("S2", "10A", true, "F202", "ECONOMY"), new Seat("S3", "10B", false, "F202", "ECONOMY"))), 2, 3, 0L);
+        engine.reserve("F202", List.of("10A"));
+        engine.addSeats("F202", List.of(new Seat(null, "10C", true, "F202", "ECONOMY"), new Seat(null, "99Z", true, "F202")));
+        assertEquals(new SeatAvailabilityDTO("F202", 5, 3, List.of(new CabinAvailability("BUSINESS", 1, 1),
+                new CabinAvailability("ECONOMY", 3, 1))), engine.availability("F202").get());
+        engine.replaceSeats("F202", List.of(new Seat(null, "1A", false, "F202", "BUSINESS")));
+        assertEquals(List.of(new CabinAvailability("BUSINESS", 1, 0)), engine.availability("F202").get().getCabins());
+        assertTrue(engine.availability("UNKNOWN").isEmpty());
+    }
+
+    @Test
+    void testChangesSinceVersionListOnlyFlippedSeats() {
+        engine.reserve("F101", List.of("1B"));
+        engine.adjust("F101", 1);
+        engine.claim("F101", List.of("1C"));
+        assertEquals(3, engine.version("F101").getAsLong());
+        SeatChangesDTO changes = engine.changes("F101", 1L).get();
+        assertFalse(changes.isFull());
+        assertEquals(List.of("1C"), changes.getSeats().stream().map(Seat::getSeatNumber).toList());
+        assertEquals(List.of("1B", "1C"), engine.changes("F101", 0L).get().getSeats().stream().map(Seat::getSeatNumber).toList());
+        assertTrue(engine.changes("F101", 3L).get().getSeats().isEmpty());
+        assertTrue(engine.changes("F101", 9L).get().isFull());
+
+        engine.addSeats("F101", List.of(new Seat(null, "2A", true, "F101")));
+        assertTrue(engine.changes("F101", 3L).get().isFull());
+        assertEquals(4, engine.changes("F101", 3L).get().getSeats().size());
+        assertFalse(engine.changes("F101", 4L).get().isFull());
+    }
+
+    @Test
+    void testSeatVersionsSurviveSnapshot() {
+        engine.claim("F101", List.of("1A"));
+        engine.claim("F101", List.of("1B"));
+        SeatAvailabilityEngine.Snapshot snapshot = engine.drainDirty().get(0);
+        SeatAvailabilityEngine restarted = new SeatAvailabilityEngine(journal);
+        restarted.load("F101", SeatBitmap.of(snapshot.inventory()), snapshot.availableSeats(), 10, snapshot.version());
+        assertEquals(List.of("1B"), restarted.changes("F101", 1L).get().getSeats().stream().map(Seat::getSeatNumber).toList());
+    }
+
+    private static SeatBitmap layout() {
+        return SeatBitmap.fromSeats(List.of(new Seat("S1", "1A", true, "F101"),
+                new Seat("S2", "1B", true, "F101"), new Seat("S3", "1C", true, "F101")));
+    }
+}
@@ -0,0 +1,108 @@
+package com.flightapp.inventory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flightapp.dto.SeatChangesDTO;
+import com.flightapp.entity.Seat;
+import com.flightapp.event.SeatMapChangedEvent;
+import com.flightapp.service.SeatService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class SeatMapFeedTest {
+	private static final SeatMapChangedEvent CHANGED = new SeatMapChangedEvent("F101");
+
+	@Mock
+    private SeatService seatService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SeatMapFeed feed;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        feed = new SeatMapFeed(seatService, meterRegistry, 2, Duration.ofHours(1));
+        when(seatService.getSeatMapVersion("F101")).thenReturn(Mono.just(1L));
+        when(seatService.getSeatChanges("F101", null)).thenReturn(Mono.just(full(1)));
+    }
+
+    @Test
+    void testChangesReadOnceAndFannedOut() {
+        when(seatService.getSeatChanges("F101", 1L)).thenReturn(Mono.just(delta(2)));
+        StepVerifier first = StepVerifier.create(feed.subscribe("F101", null).take(2))
+            .expectNext(full(1), delta(2)).expectComplete().verifyLater();
+        StepVerifier second = StepVerifier.create(feed.subscribe("F101", null).take(2))
+            .expectNext(full(1), delta(2)).expectComplete().verifyLater();
+        feed.onSeatMapChanged(CHANGED);
+        first.verify(Duration.ofSeconds(5));
+        second.verify(Duration.ofSeconds(5));
+        verify(seatService, times(1)).getSeatChanges("F101", 1L);
+        assertEquals(0, meterRegistry.get("seat.feed.flights").gauge().value());
+    }
+
+    @Test
+    void testSlowSubscriberGetsSnapshotInsteadOfMissedChanges() {
+        for (long version = 1; version <= 20; version++)
+            when(seatService.getSeatChanges("F101", version)).thenReturn(Mono.just(delta(version + 1)));
+        when(seatService.getSeatChanges("F101", null)).thenReturn(Mono.just(full(1)), Mono.just(full(21)));
+        StepVerifier.create(feed.subscribe("F101", null), 1)
+            .expectNext(full(1))
+            .then(() -> {
+                for (int i = 0; i < 20; i++) feed.onSeatMapChanged(CHANGED);
+            })
+            .thenRequest(100)
+            .thenConsumeWhile(changes -> !changes.isFull() && changes.getVersion() < 10)
+            .expectNext(full(21))
+            .thenCancel()
+            .verify();
+        assertEquals(1, meterRegistry.get("seat.feed.snapshots").counter().count());
+    }
+
+    @Test
+    void testChangeThatSkipsVersionsIsReplacedBySnapshot() {
+        when(seatService.getSeatChanges("F101", 0L)).thenReturn(Mono.just(delta(0)));
+        when(seatService.getSeatChanges("F101", 1L)).thenReturn(Mono.just(delta(2)));
+        when(seatService.getSeatChanges("F101", null)).thenReturn(Mono.just(full(2)));
+        StepVerifier.create(feed.subscribe("F101", 0L))
+            .expectNext(delta(0))
+            .then(() -> feed.onSeatMapChanged(CHANGED))
+            .expectNext(full(2))
+            .thenCancel()
+            .verify();
+    }
+
+    @Test
+    void testUnknownFlightFailsWithoutJoiningAFeed() {
+        when(seatService.getSeatMapVersion("F404")).thenReturn(Mono.empty());
+        StepVerifier.create(feed.subscribe("F404", null))
+            .expectErrorMatches(ex -> ex instanceof ResponseStatusException e && e.getStatusCode() == HttpStatus.NOT_FOUND)
+            .verify(Duration.ofSeconds(5));
+        verify(seatService, never()).getSeatChanges("F404", null);
+        assertEquals(0, meterRegistry.get("seat.feed.flights").gauge().value());
+    }
+
+    private static SeatChangesDTO full(long version) {
+        return new SeatChangesDTO("F101", version, true, List.of(new Seat("F101-1A", "1A", version % 2 == 0, "F101")));
+    }
+
+    private static SeatChangesDTO delta(long version) {
+        return new SeatChangesDTO("F101", version, false, List.of(new Seat("F101-1A", "1A", version % 2 == 0, "F101")));
+    }
+}
@@ -0,0 +1,92 @@
+package com.flightapp.inventory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import com.flightapp.entity.Seat;
+import com.mongodb.client.result.DeleteResult;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class SeatMapReplacerTest {
+	@Mock
+    private ReactiveMongoTemplate mongoTemplate;
+	@Mock
+    private ReactiveBulkOperations bulk;
+
+    private SeatMapReplacer replacer;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        replacer = new SeatMapReplacer(mongoTemplate);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Seat.class)).thenReturn(bulk);
+        when(bulk.execute()).thenReturn(Mono.empty());
+        when(mongoTemplate.remove(any(Query.class), eq(Seat.class))).thenReturn(Mono.just(DeleteResult.acknowledged(0)));
+    }
+
+    @Test
+    void testWritesOnlyTheDifferenceInOneBulkWrite() {
+        when(mongoTemplate.find(any(Query.class), eq(Seat.class))).thenReturn(Flux.just(
+                new Seat("S1", "1A", true, "F101"),
+                new Seat("S2", "1B", true, "F101"),
+                new Seat("S3", "1C", true, "F101")));
+        List<Seat> replacement = List.of(
+                new Seat(null, "1A", true, "F101"),
+                new Seat(null, "1B", false, "F101"),
+                new Seat(null, "2A", true, "F101"));
+
+        StepVerifier.create(replacer.replace("F101", replacement)).verifyComplete();
+
+        ArgumentCaptor<Object> inserted = ArgumentCaptor.forClass(Object.class);
+        verify(bulk).insert(inserted.capture());
+        assertEquals("2A", ((Seat) inserted.getValue()).getSeatNumber());
+        verify(bulk, times(1)).updateOne(any(Query.class), any(UpdateDefinition.class));
+        verify(bulk, times(1)).execute();
+        ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(removed.capture(), eq(Seat.class));
+        assertEquals(Set.of("1A", "1B", "2A"),
+                Set.copyOf(removed.getValue().getQueryObject().get("seatNumber", Document.class).get("$nin", Collection.class)));
+    }
+
+    @Test
+    void testLargeMapIsWrittenInBatches() {
+        when(mongoTemplate.find(any(Query.class), eq(Seat.class))).thenReturn(Flux.empty());
+        List<Seat> replacement = IntStream.range(0, SeatMapReplacer.BATCH_SIZE + 1)
+                .mapToObj(i -> new Seat(null, "S" + i, true, "F101")).toList();
+        StepVerifier.create(replacer.replace("F101", replacement)).verifyComplete();
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(Seat.class));
+        verify(bulk, times(2)).execute();
+    }
+
+    @Test
+    void testUnchangedMapWritesNothing() {
+        when(mongoTemplate.find(any(Query.class), eq(Seat.class))).thenReturn(Flux.just(new Seat("S1", "1A", true, "F101")));
+        StepVerifier.create(replacer.replace("F101", List.of(new Seat(null, "1A", true, "F101")))).verifyComplete();
+        verify(bulk, never()).execute();
+    }
+}
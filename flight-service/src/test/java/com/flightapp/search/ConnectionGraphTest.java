@@ -0,0 +1,75 @@
+package com.flightapp.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.flightapp.entity.Flight;
+import com.flightapp.entity.Price;
+
+class ConnectionGraphTest {
+	private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private ConnectionGraph graph;
+
+    @BeforeEach
+    void setup() {
+        graph = new ConnectionGraph();
+        graph.rebuild(List.of(
+                flight("D1", "HYD", "DEL", 8, 0, 10, 0, 9000),
+                flight("A1", "HYD", "BOM", 6, 0, 7, 30, 2000),
+                flight("A2", "BOM", "DEL", 7, 50, 10, 0, 2500),
+                flight("A3", "BOM", "DEL", 8, 30, 10, 45, 2200),
+                flight("B1", "HYD", "BLR", 6, 0, 7, 0, 1000),
+                flight("B2", "BLR", "GOI", 8, 0, 9, 0, 1000),
+                flight("B3", "GOI", "DEL", 10, 0, 12, 30, 1000)));
+    }
+
+    @Test
+    void ranksDirectOneStopAndTwoStopByDuration() {
+        List<Itinerary> result = graph.search(query(ItinerarySort.DURATION, 2, 10));
+        assertEquals(List.of(List.of("D1"), List.of("A1", "A3"), List.of("B1", "B2", "B3")), ids(result));
+        assertEquals(120, result.get(0).durationMinutes());
+    }
+
+    @Test
+    void respectsMinimumConnectionTime() {
+        assertTrue(ids(graph.search(query(ItinerarySort.DURATION, 1, 10))).stream().noneMatch(legs -> legs.contains("A2")));
+    }
+
+    @Test
+    void ranksByPriceAndKeepsOnlyTheBest() {
+        List<Itinerary> result = graph.search(query(ItinerarySort.PRICE, 2, 2));
+        assertEquals(List.of(List.of("B1", "B2", "B3"), List.of("A1", "A3")), ids(result));
+        assertEquals(3000.0, result.get(0).totalPrice());
+    }
+
+    @Test
+    void upsertMovesFlightAndSkipsFullFlights() {
+        Flight moved = flight("A3", "BOM", "DEL", 12, 0, 14, 0, 2200);
+        moved.setAvailableSeats(0);
+        graph.upsert(moved);
+        assertEquals(List.of(List.of("D1"), List.of("B1", "B2", "B3")), ids(graph.search(query(ItinerarySort.DURATION, 2, 10))));
+        graph.remove("D1");
+        assertEquals(6, graph.size());
+    }
+
+    private static ConnectionQuery query(ItinerarySort sort, int maxStops, int limit) {
+        return new ConnectionQuery("HYD", "DEL", DAY, DAY.plusDays(1), 1, maxStops, Duration.ofMinutes(45), Duration.ofHours(12), sort, limit);
+    }
+
+    private static List<List<String>> ids(List<Itinerary> itineraries) {
+        return itineraries.stream().map(it -> it.legs().stream().map(Flight::getId).toList()).toList();
+    }
+
+    private static Flight flight(String id, String from, String to, int depH, int depM, int arrH, int arrM, float price) {
+        return new Flight(id, from, to, DAY.withHour(arrH).withMinute(arrM), DAY.withHour(depH).withMinute(depM), 10,
+                new Price(price, price * 2), "A1", id);
+    }
+}
@@ -0,0 +1,71 @@
+package com.flightapp.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.flightapp.entity.Flight;
+import com.flightapp.entity.Price;
+
+class FareCalendarTest {
+	private static final FlightRoute ROUTE = new FlightRoute("HYD", "DEL");
+	private static final YearMonth MONTH = YearMonth.of(2030, 1);
+	private static final LocalDateTime NOW = LocalDateTime.of(2029, 12, 1, 0, 0);
+
+    private FareCalendar calendar;
+
+    @BeforeEach
+    void setup() {
+        calendar = new FareCalendar();
+        calendar.rebuild(List.of(
+                flight("F1", 5, 3000, 10),
+                flight("F2", 5, 2500, 2),
+                flight("F3", 6, 4000, 0),
+                flight("F4", 40, 1000, 50)));
+    }
+
+    @Test
+    void cheapestFarePerDayWithinMonth() {
+        List<FareCalendar.Day> days = calendar.month(ROUTE, MONTH, 1, NOW);
+        assertEquals(2, days.size());
+        assertEquals(new FareCalendar.Day(LocalDate.of(2030, 1, 5), 2, 2500f, 5000f, 12), days.get(0));
+        assertEquals(1, days.get(1).flights());
+        assertNull(days.get(1).minOneWay());
+    }
+
+    @Test
+    void passengersExcludeFlightsWithTooFewSeats() {
+        assertEquals(3000f, calendar.month(ROUTE, MONTH, 3, NOW).get(0).minOneWay());
+    }
+
+    @Test
+    void upsertMovesFlightBetweenDays() {
+        calendar.upsert(flight("F2", 6, 2500, 2));
+        List<FareCalendar.Day> days = calendar.month(ROUTE, MONTH, 1, NOW);
+        assertEquals(3000f, days.get(0).minOneWay());
+        assertEquals(2500f, days.get(1).minOneWay());
+        calendar.remove("F1");
+        assertEquals(1, calendar.month(ROUTE, MONTH, 1, NOW).size());
+    }
+
+    @Test
+    void departedFlightsAndPastDaysAreLeftOut() {
+        assertEquals(List.of(LocalDate.of(2030, 1, 6)),
+                calendar.month(ROUTE, MONTH, 1, LocalDateTime.of(2030, 1, 5, 12, 0)).stream().map(FareCalendar.Day::date).toList());
+        calendar.prune(LocalDate.of(2030, 1, 6));
+        calendar.upsert(flight("F1", 7, 3000, 10));
+        assertEquals(2, calendar.month(ROUTE, MONTH, 1, NOW).size());
+    }
+
+    private static Flight flight(String id, int day, float oneWay, int seats) {
+        LocalDateTime departure = LocalDateTime.of(2030, 1, 1, 8, 0).plusDays(day - 1L);
+        return new Flight(id, "HYD", "DEL", departure.plusHours(2), departure, seats, new Price(oneWay, oneWay * 2), "A1", id);
+    }
+}
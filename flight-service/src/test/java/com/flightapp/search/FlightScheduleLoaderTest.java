@@ -0,0 +1,90 @@
+package com.flightapp.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.flightapp.entity.Flight;
+import com.flightapp.entity.Price;
+import com.flightapp.event.FlightChangedEvent;
+import com.flightapp.inventory.FlightInventoryCounter;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+class FlightScheduleLoaderTest {
+	private static final LocalDateTime DEPARTURE = LocalDateTime.now().plusDays(7);
+
+	@Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+	@Mock
+    private FlightInventoryCounter inventoryCounter;
+
+    private FlightScheduleLoader loader;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        when(mongoTemplate.find(any(Query.class), eq(Flight.class))).thenReturn(Flux.empty());
+        when(inventoryCounter.withLiveCount(any())).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        loader = new FlightScheduleLoader(mongoTemplate, inventoryCounter, Duration.ofHours(1), Duration.ofMillis(1));
+        loader.run();
+    }
+
+    @AfterEach
+    void teardown() {
+        loader.destroy();
+    }
+
+    @Test
+    void testSlowRefreshDoesNotOverwriteALaterChange() {
+        Sinks.One<Flight> slow = Sinks.one();
+        when(mongoTemplate.findById("F1", Flight.class)).thenReturn(slow.asMono(), Mono.just(flight("Goa")));
+        loader.onFlightChanged(FlightChangedEvent.inventory("F1"));
+        loader.onFlightChanged(FlightChangedEvent.inventory("F1"));
+        slow.tryEmitValue(flight("Pune"));
+        PlaceIndex places = loader.places().block();
+        assertEquals(List.of(new PlaceIndex.Suggestion("Goa", 1)), places.suggest("go", 10));
+        assertTrue(places.suggest("pu", 10).isEmpty());
+    }
+
+    @Test
+    void testFailedRefreshDoesNotStopLaterOnes() {
+        when(mongoTemplate.findById("F1", Flight.class))
+            .thenReturn(Mono.error(new IllegalStateException("down")), Mono.just(flight("Goa")));
+        loader.onFlightChanged(FlightChangedEvent.inventory("F1"));
+        loader.onFlightChanged(FlightChangedEvent.inventory("F1"));
+        assertEquals(List.of(new PlaceIndex.Suggestion("Goa", 1)), loader.places().block().suggest("go", 10));
+    }
+
+    @Test
+    void testFailedFirstBuildRecovers() {
+        IllegalStateException down = new IllegalStateException("down");
+        when(mongoTemplate.find(any(Query.class), eq(Flight.class)))
+            .thenReturn(Flux.error(down), Flux.error(down), Flux.error(down), Flux.error(down), Flux.just(flight("Goa")));
+        FlightScheduleLoader recovering = new FlightScheduleLoader(mongoTemplate, inventoryCounter, Duration.ofHours(1), Duration.ofMillis(1));
+        StepVerifier.create(recovering.places()).expectError().verify();
+        assertEquals(List.of(new PlaceIndex.Suggestion("Goa", 1)), recovering.places().block().suggest("go", 10));
+    }
+
+    private static Flight flight(String to) {
+        return new Flight("F1", "Hyderabad", to, DEPARTURE.plusHours(2), DEPARTURE, 100, new Price(2000, 3500), "A1", "FN1");
+    }
+}
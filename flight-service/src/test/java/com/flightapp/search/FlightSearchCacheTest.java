@@ -0,0 +1,92 @@
+package com.flightapp.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.flightapp.entity.Flight;
+import com.flightapp.entity.Price;
+import com.flightapp.event.FlightChangedEvent;
+import com.flightapp.repository.FlightRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class FlightSearchCacheTest {
+	private static final FlightRoute ROUTE = new FlightRoute("HYD", "DEL");
+
+    private FlightRepository flightRepo;
+    private SimpleMeterRegistry meterRegistry;
+    private Flight flight;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setup() {
+        flightRepo = mock(FlightRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        flight = new Flight("F1", "HYD", "DEL", null, null, 100, new Price(2000, 3500), "A1", "6E101");
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void inventoryChangeOfUnseenFlightResolvesRouteAndInvalidates() {
+        FlightSearchCache cache = cache(Duration.ofMinutes(1));
+        when(flightRepo.findById("F9")).thenReturn(Mono.just(new Flight("F9", "HYD", "DEL", null, null, 0, null, "A1", "6E109")));
+        StepVerifier.create(cache.get(key(cache), this::load)).expectNextCount(1).verifyComplete();
+        cache.onFlightChanged(FlightChangedEvent.inventory("F9"));
+        StepVerifier.create(cache.get(key(cache), this::load)).expectNextCount(1).verifyComplete();
+        assertEquals(2, loads.get());
+        assertEquals(1.0, meterRegistry.get("flight.search.cache.invalidations").counter().count());
+    }
+
+    @Test
+    void inventoryChangeOfCachedFlightInvalidatesWithoutLookup() {
+        FlightSearchCache cache = cache(Duration.ofMinutes(1));
+        StepVerifier.create(cache.get(key(cache), this::load)).expectNextCount(1).verifyComplete();
+        cache.onFlightChanged(FlightChangedEvent.inventory("F1"));
+        StepVerifier.create(cache.get(key(cache), this::load)).expectNextCount(1).verifyComplete();
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void pagePastRefreshTimeIsServedAndReloaded() {
+        FlightSearchCache cache = cache(Duration.ZERO);
+        StepVerifier.create(cache.get(key(cache), this::load)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(cache.get(key(cache), this::load)).expectNextCount(1).verifyComplete();
+        assertEquals(2.0, meterRegistry.get("flight.search.cache.stale").counter().count());
+        assertEquals(3, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void disabledCacheAlwaysLoads() {
+        FlightSearchCache cache = new FlightSearchCache(flightRepo, meterRegistry, false, 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        StepVerifier.create(cache.get(key(cache), this::load)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(cache.get(key(cache), this::load)).expectNextCount(1).verifyComplete();
+        assertEquals(2, loads.get());
+    }
+
+    private FlightSearchCache cache(Duration refreshAfter) {
+        return new FlightSearchCache(flightRepo, meterRegistry, true, 100, refreshAfter, Duration.ofMinutes(1));
+    }
+
+    private static FlightSearchCache.Key key(FlightSearchCache cache) {
+        return cache.key(ROUTE, LocalDate.of(2030, 1, 1), null, 1, FlightSort.DEPARTURE, null, 20);
+    }
+
+    private Mono<FlightSearchCache.Page> load() {
+        return Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            return new FlightSearchCache.Page(List.of(flight), null);
+        });
+    }
+}
@@ -0,0 +1,70 @@
+package com.flightapp.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.flightapp.entity.Flight;
+import com.flightapp.entity.Price;
+
+class PlaceIndexTest {
+	private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 5, 0, 0);
+
+    private PlaceIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new PlaceIndex();
+        index.rebuild(List.of(
+                flight("F1", "Hyderabad", "New Delhi", 8),
+                flight("F2", "Delhi", "Hyderabad", 9),
+                flight("F3", "Dehradun", "Delhi", 10),
+                flight("F4", "Hyderabad", "Dehradun", 11),
+                flight("F5", "Mumbai", "Delhi", 12)));
+    }
+
+    @Test
+    void rankedByFlightCount() {
+        assertEquals(List.of(new PlaceIndex.Suggestion("Delhi", 3), new PlaceIndex.Suggestion("Dehradun", 2),
+                new PlaceIndex.Suggestion("New Delhi", 1)), index.suggest("de", 10));
+        assertEquals(List.of(new PlaceIndex.Suggestion("Delhi", 3)), index.suggest("De", 1));
+    }
+
+    @Test
+    void matchesAnyWordStartIgnoringCase() {
+        assertEquals(List.of("New Delhi"), places("NEW"));
+        assertEquals(List.of("Delhi", "New Delhi"), places("delh"));
+        assertTrue(index.suggest("elhi", 10).isEmpty());
+    }
+
+    @Test
+    void upsertAndRemoveKeepCountsCurrent() {
+        index.upsert(flight("F5", "Mumbai", "Pune", 12));
+        assertEquals(List.of(new PlaceIndex.Suggestion("Pune", 1)), index.suggest("pu", 10));
+        assertEquals(2, index.suggest("delhi", 10).get(0).flights());
+        index.remove("F5");
+        assertTrue(index.suggest("mum", 10).isEmpty());
+        assertTrue(index.suggest("pu", 10).isEmpty());
+    }
+
+    @Test
+    void departedFlightsArePruned() {
+        index.prune(DAY.plusHours(10));
+        assertEquals(List.of("Dehradun", "Delhi"), places("de"));
+        assertTrue(index.suggest("new", 10).isEmpty());
+    }
+
+    private List<String> places(String prefix) {
+        return index.suggest(prefix, 10).stream().map(PlaceIndex.Suggestion::place).toList();
+    }
+
+    private static Flight flight(String id, String from, String to, int hour) {
+        LocalDateTime departure = DAY.plusHours(hour);
+        return new Flight(id, from, to, departure.plusHours(2), departure, 100, new Price(2000, 3500), "A1", "FN" + id);
+    }
+}
@@ -0,0 +1,112 @@
+package com.flightapp.service.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flightapp.dto.SeatMapGenerationDTO;
+import com.flightapp.entity.AircraftLayout;
+import com.flightapp.entity.CabinZone;
+import com.flightapp.entity.Seat;
+import com.flightapp.repository.AircraftLayoutRepository;
+import com.flightapp.service.SeatService;
+
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class AircraftLayoutSImplementationTest {
+	@Mock
+    private AircraftLayoutRepository layoutRepo;
+	@Mock
+    private SeatService seatService;
+
+    @InjectMocks
+    private AircraftLayoutSImplementation service;
+    private AircraftLayout layout;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        layout = new AircraftLayout("L1", "A320", List.of(
+                new CabinZone("BUSINESS", 1, 2, "AC"),
+                new CabinZone("ECONOMY", 3, 4, "ABC")), List.of("4B"));
+    }
+
+    @Test
+    void testExpand_RowsColumnsCabinsAndBlockedSeats() {
+        List<Seat> seats = AircraftLayoutSImplementation.expand(layout);
+        assertEquals(List.of("1A", "1C", "2A", "2C", "3A", "3B", "3C", "4A", "4B", "4C"),
+                seats.stream().map(Seat::getSeatNumber).toList());
+        assertEquals("BUSINESS", seats.get(0).getCabin());
+        assertEquals("ECONOMY", seats.get(9).getCabin());
+        assertEquals(List.of("4B"), seats.stream().filter(s -> !s.isAvailable()).map(Seat::getSeatNumber).toList());
+    }
+
+    @Test
+    void testAddLayout_RejectsOverlappingZones() {
+        layout.setCabins(List.of(new CabinZone("BUSINESS", 1, 2, "AC"), new CabinZone("ECONOMY", 2, 3, "ABC")));
+        StepVerifier.create(service.addLayout(layout))
+            .expectErrorMatches(ex -> ex instanceof ResponseStatusException rse && rse.getStatusCode().value() == 400)
+            .verify();
+        verify(layoutRepo, never()).save(any());
+    }
+
+    @Test
+    void testAddLayout_DuplicateName() {
+        when(layoutRepo.findByName("A320")).thenReturn(Mono.just(layout));
+        StepVerifier.create(service.addLayout(layout))
+            .expectErrorMatches(ex -> ex instanceof ResponseStatusException rse && rse.getStatusCode().value() == 409)
+            .verify();
+        verify(layoutRepo, never()).save(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGenerateSeatMap_InstallsSeatMapInOneCall() {
+        when(layoutRepo.findById("L1")).thenReturn(Mono.just(layout));
+        when(seatService.installSeatMap(eq("F101"), any())).thenReturn(Mono.just(9));
+        StepVerifier.create(service.generateSeatMap("L1", "F101"))
+            .expectNext(new SeatMapGenerationDTO("F101", "L1", 10, 9)).verifyComplete();
+        ArgumentCaptor<List<Seat>> seats = ArgumentCaptor.forClass(List.class);
+        verify(seatService).installSeatMap(eq("F101"), seats.capture());
+        assertEquals(10, seats.getValue().stream().filter(seat -> "F101".equals(seat.getFlightId())).count());
+        verify(seatService, never()).updateSeats(any(), any());
+    }
+
+    @Test
+    void testGenerateSeatMaps_ReportsUnknownAndSeatedFlights() {
+        when(layoutRepo.findById("L1")).thenReturn(Mono.just(layout));
+        when(seatService.installSeatMap(eq("F1"), any())).thenReturn(Mono.just(9));
+        when(seatService.installSeatMap(eq("F2"), any()))
+            .thenReturn(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Flight not found")));
+        when(seatService.installSeatMap(eq("F3"), any()))
+            .thenReturn(Mono.error(new ResponseStatusException(HttpStatus.CONFLICT, "Flight already has a seat map")));
+        StepVerifier.create(service.generateSeatMaps("L1", List.of("F1", "F2", "F3")))
+            .expectNext(new SeatMapGenerationDTO("F1", "L1", 10, 9))
+            .expectNext(new SeatMapGenerationDTO("F2", "L1", null, null, "Flight not found"))
+            .expectNext(new SeatMapGenerationDTO("F3", "L1", null, null, "Flight already has a seat map"))
+            .verifyComplete();
+    }
+
+    @Test
+    void testGenerateSeatMap_UnknownLayout() {
+        when(layoutRepo.findById("L9")).thenReturn(Mono.empty());
+        StepVerifier.create(service.generateSeatMap("L9", "F101"))
+            .expectErrorMatches(ex -> ex instanceof ResponseStatusException rse && rse.getStatusCode().value() == 404)
+            .verify();
+    }
+}
@@ -0,0 +1,145 @@
+package com.flightapp.service.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import com.flightapp.dto.SeatAvailabilityDTO;
+import com.flightapp.dto.SeatChangesDTO;
+import com.flightapp.entity.CabinAvailability;
+import com.flightapp.entity.Seat;
+import com.flightapp.entity.SeatInventory;
+import com.flightapp.exception.SeatConflictException;
+import com.flightapp.inventory.FlightInventoryCounter;
+import com.flightapp.inventory.InventoryLanes;
+import com.flightapp.inventory.SeatBitmap;
+import com.flightapp.repository.SeatInventoryRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class BitmapSeatSImplementationTest {
+	@Mock
+    private SeatInventoryRepository inventoryRepo;
+	@Mock
+    private FlightInventoryCounter inventoryCounter;
+
+    @Spy
+    private InventoryLanes lanes = new InventoryLanes(new SimpleMeterRegistry(), 2);
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @InjectMocks
+    private BitmapSeatSImplementation service;
+    private SeatInventory inventory;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        inventory = new SeatInventory("F101");
+        SeatBitmap.fromSeats(List.of(new Seat("S1", "1A", true, "F101"), new Seat("S2", "1B", false, "F101"))).writeTo(inventory);
+        inventory.setVersion(3L);
+    }
+
+    @Test
+    void testGetSeatsByFlightId() {
+        when(inventoryRepo.findById("F101")).thenReturn(Mono.just(inventory));
+        StepVerifier.create(service.getSeatsByFlightId("F101"))
+            .expectNextMatches(s -> s.getSeatNumber().equals("1A") && s.isAvailable())
+            .expectNextMatches(s -> s.getSeatNumber().equals("1B") && !s.isAvailable())
+            .verifyComplete();
+    }
+
+    @Test
+    void testBookSeats() {
+        when(inventoryRepo.findById("F101")).thenReturn(Mono.just(inventory));
+        when(inventoryRepo.save(any())).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        StepVerifier.create(service.bookSeats("F101", List.of("1A"))).verifyComplete();
+        ArgumentCaptor<SeatInventory> saved = ArgumentCaptor.forClass(SeatInventory.class);
+        verify(inventoryRepo).save(saved.capture());
+        SeatBitmap bitmap = SeatBitmap.of(saved.getValue());
+        assertFalse(bitmap.isAvailable("1A"));
+        assertEquals(0, saved.getValue().getAvailableSeats());
+    }
+
+    @Test
+    void testGetSeatChanges_OnlySeatsFlippedSinceVersion() {
+        when(inventoryRepo.findById("F101")).thenReturn(Mono.just(inventory));
+        when(inventoryRepo.save(any())).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        StepVerifier.create(service.bookSeats("F101", List.of("1A"))).verifyComplete();
+        inventory.setVersion(4L);
+        StepVerifier.create(service.getSeatChanges("F101", 3L))
+            .expectNextMatches(changes -> changes.getVersion() == 4 && !changes.isFull()
+                    && changes.getSeats().size() == 1 && !changes.getSeats().get(0).isAvailable())
+            .verifyComplete();
+        StepVerifier.create(service.getSeatChanges("F101", null))
+            .expectNextMatches(changes -> changes.isFull() && changes.getSeats().size() == 2)
+            .verifyComplete();
+    }
+
+    @Test
+    void testGetSeatChanges_LegacyInventoryOnlyAnswersCurrentVersion() {
+        inventory.setSeatVersions(null);
+        when(inventoryRepo.findById("F101")).thenReturn(Mono.just(inventory));
+        StepVerifier.create(service.getSeatChanges("F101", 2L)).expectNextMatches(SeatChangesDTO::isFull).verifyComplete();
+        StepVerifier.create(service.getSeatChanges("F101", 3L))
+            .expectNextMatches(changes -> !changes.isFull() && changes.getSeats().isEmpty())
+            .verifyComplete();
+    }
+
+    @Test
+    void testGetAvailability_ReadsStoredCounts() {
+        SeatInventory counts = new SeatInventory("F202");
+        counts.setAvailableSeats(7);
+        counts.setTotalSeats(9);
+        counts.setCabinAvailability(List.of(new CabinAvailability("ECONOMY", 9, 7)));
+        SeatInventory legacy = new SeatInventory("F101");
+        when(inventoryRepo.findCountsByFlightIdIn(List.of("F101", "NONE", "F202"))).thenReturn(Flux.just(counts, legacy));
+        when(inventoryRepo.findById("F101")).thenReturn(Mono.just(inventory));
+        StepVerifier.create(service.getAvailability(List.of("F101", "NONE", "F202")))
+            .expectNext(new SeatAvailabilityDTO("F101", 2, 1, List.of()))
+            .expectNext(new SeatAvailabilityDTO("F202", 9, 7, List.of(new CabinAvailability("ECONOMY", 9, 7))))
+            .verifyComplete();
+        verify(inventoryRepo, never()).findById("F202");
+    }
+
+    @Test
+    void testBookSeats_Conflict() {
+        when(inventoryRepo.findById("F101")).thenReturn(Mono.just(inventory));
+        StepVerifier.create(service.bookSeats("F101", List.of("1A", "1B")))
+            .expectErrorMatches(ex -> ex instanceof SeatConflictException conflict
+                    && conflict.getConflictingSeats().equals(List.of("1B")))
+            .verify();
+        verify(inventoryRepo, never()).save(any());
+    }
+
+    @Test
+    void testBookSeats_RetriesOnVersionConflict() {
+        when(inventoryRepo.findById("F101")).thenAnswer(inv -> {
+            SeatInventory copy = new SeatInventory("F101", inventory.getSeatNumbers(), inventory.getAvailability(), null, 1, null, 3L);
+            return Mono.just(copy);
+        });
+        when(inventoryRepo.save(any()))
+            .thenReturn(Mono.error(new OptimisticLockingFailureException("stale")))
+            .thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        StepVerifier.create(service.bookSeats("F101", List.of("1A"))).verifyComplete();
+    }
+}
@@ -0,0 +1,93 @@
+package com.flightapp.service.implementation;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flightapp.dto.SearchRequestDTO;
+import com.flightapp.entity.Flight;
+import com.flightapp.entity.Price;
+import com.flightapp.inventory.FlightInventoryCounter;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.search.ConnectionGraph;
+import com.flightapp.search.FlightScheduleLoader;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class ConnectionSearchSImplementationTest {
+	private static final LocalDate DAY = LocalDate.now().plusDays(10);
+
+    private FlightRepository flightRepo;
+    private FlightInventoryCounter inventoryCounter;
+    private ConnectionSearchSImplementation service;
+    private Flight direct;
+    private Flight first;
+    private Flight second;
+
+    @BeforeEach
+    void setup() {
+        flightRepo = mock(FlightRepository.class);
+        inventoryCounter = mock(FlightInventoryCounter.class);
+        FlightScheduleLoader loader = mock(FlightScheduleLoader.class);
+        direct = flight("D1", "HYD", "DEL", 8, 12);
+        first = flight("C1", "HYD", "BOM", 6, 7);
+        second = flight("C2", "BOM", "DEL", 8, 9);
+        ConnectionGraph graph = new ConnectionGraph();
+        graph.rebuild(List.of(direct, first, second));
+        when(loader.graph()).thenReturn(Mono.just(graph));
+        when(inventoryCounter.withLiveCount(any())).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        service = new ConnectionSearchSImplementation(loader, flightRepo, inventoryCounter, Duration.ofMinutes(45), Duration.ofHours(12));
+    }
+
+    @Test
+    void testSearchConnections_DropsItinerariesThroughSoldOutFlights() {
+        Flight soldOut = flight("C2", "BOM", "DEL", 8, 9);
+        soldOut.setAvailableSeats(0);
+        when(flightRepo.findAllById(anyIterable())).thenReturn(Flux.just(direct, first, soldOut));
+        StepVerifier.create(service.searchConnections(request(null)))
+            .expectNextMatches(itinerary -> itinerary.getStops() == 0 && itinerary.getLegs().get(0).getId().equals("D1"))
+            .verifyComplete();
+    }
+
+    @Test
+    void testSearchConnections_RanksOneStopFirstWhenFaster() {
+        when(flightRepo.findAllById(anyIterable())).thenReturn(Flux.just(direct, first, second));
+        StepVerifier.create(service.searchConnections(request(null)))
+            .expectNextMatches(itinerary -> itinerary.getStops() == 1 && itinerary.getDurationMinutes() == 180)
+            .expectNextMatches(itinerary -> itinerary.getStops() == 0)
+            .verifyComplete();
+    }
+
+    @Test
+    void testSearchConnections_RejectsTooManyStops() {
+        StepVerifier.create(service.searchConnections(request(3)))
+            .expectErrorMatches(ex -> ex instanceof ResponseStatusException rse && rse.getStatusCode().value() == 400)
+            .verify();
+    }
+
+    private static SearchRequestDTO request(Integer maxStops) {
+        SearchRequestDTO request = new SearchRequestDTO();
+        request.setFrom("HYD");
+        request.setTo("DEL");
+        request.setDepartureFrom(DAY);
+        request.setMaxStops(maxStops);
+        return request;
+    }
+
+    private static Flight flight(String id, String from, String to, int depHour, int arrHour) {
+        LocalDateTime day = DAY.atStartOfDay();
+        return new Flight(id, from, to, day.withHour(arrHour), day.withHour(depHour), 10, new Price(1000, 2000), "A1", id);
+    }
+}
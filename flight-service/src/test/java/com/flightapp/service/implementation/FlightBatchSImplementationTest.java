@@ -0,0 +1,95 @@
+package com.flightapp.service.implementation;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.flightapp.dto.FlightBatchItemDTO;
+import com.flightapp.dto.FlightBatchRequestDTO;
+import com.flightapp.entity.Flight;
+import com.flightapp.entity.Price;
+import com.flightapp.entity.Seat;
+import com.flightapp.inventory.FlightInventoryCounter;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.service.SeatService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class FlightBatchSImplementationTest {
+	@Mock
+    private FlightRepository flightRepo;
+
+    @Mock
+    private FlightInventoryCounter inventoryCounter;
+
+    @Mock
+    private SeatService seatService;
+
+    @InjectMocks
+    private FlightBatchSImplementation service;
+
+    private Flight f1;
+    private Flight f2;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        f1 = flight("F1");
+        f2 = flight("F2");
+        when(inventoryCounter.withLiveCount(any())).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+    }
+
+    @Test
+    void testGetFlights_InRequestOrderWithMissingFlights() {
+        when(flightRepo.findAllById(List.of("F2", "F9", "F1"))).thenReturn(Flux.just(f1, f2));
+        StepVerifier.create(service.getFlights(new FlightBatchRequestDTO(List.of("F2", "F9", "F1", "F2"), null)))
+            .expectNext(new FlightBatchItemDTO("F2", f2, null, null))
+            .expectNext(new FlightBatchItemDTO("F9", null, null, "Flight not found"))
+            .expectNext(new FlightBatchItemDTO("F1", f1, null, null))
+            .verifyComplete();
+        verify(seatService, never()).findSeats(any());
+    }
+
+    @Test
+    void testGetFlights_ReportsRequestedSeats() {
+        when(flightRepo.findAllById(List.of("F1", "F2"))).thenReturn(Flux.just(f2, f1));
+        when(seatService.findSeats(Map.of("F1", List.of("1B", "1A", "9Z")))).thenReturn(Flux.just(
+                new Seat("S1", "1A", true, "F1"), new Seat("S2", "1B", false, "F1")));
+        StepVerifier.create(service.getFlights(new FlightBatchRequestDTO(List.of("F1", "F2"),
+                Map.of("F1", List.of("1B", "1A", "9Z"), "F7", List.of("1A")))))
+            .expectNextMatches(item -> item.getFlight() == f1 && List.copyOf(item.getSeats().keySet()).equals(List.of("1B", "1A"))
+                    && !item.getSeats().get("1B"))
+            .expectNext(new FlightBatchItemDTO("F2", f2, null, null))
+            .verifyComplete();
+    }
+
+    @Test
+    void testGetFlights_TooManyIds() {
+        List<String> ids = IntStream.rangeClosed(0, FlightBatchSImplementation.MAX_FLIGHTS).mapToObj(i -> "F" + i).toList();
+        StepVerifier.create(service.getFlights(new FlightBatchRequestDTO(ids, null)))
+            .expectErrorMatches(ex -> ex instanceof ResponseStatusException rse && rse.getStatusCode() == HttpStatus.BAD_REQUEST)
+            .verify();
+        verify(flightRepo, never()).findAllById(any(Iterable.class));
+    }
+
+    private static Flight flight(String id) {
+        LocalDateTime departure = LocalDateTime.now().plusDays(1);
+        return new Flight(id, "HYD", "DEL", departure.plusHours(2), departure, 100, new Price(2000, 3500), "A1", "FN" + id);
+    }
+}
@@ -1,25 +1,51 @@
 package com.flightapp.service.implementation;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.flightapp.dto.FlightPageDTO;
+import com.flightapp.dto.FlightSearchResultDTO;
+import com.flightapp.dto.InventoryAdjustmentDTO;
+import com.flightapp.dto.InventoryDTO;
+import com.flightapp.dto.SearchRequestDTO;
 import com.flightapp.entity.Flight;
 import com.flightapp.entity.Price;
-import com.flightapp.entity.Seat;
+import com.flightapp.event.FlightChangedEvent;
+import com.flightapp.inventory.FlightInventoryCounter;
+import com.flightapp.inventory.InventoryLanes;
 import com.flightapp.repository.FlightRepository;
-import com.flightapp.repository.SeatRepository;
+import com.flightapp.search.FlightField;
+import com.flightapp.search.FlightListQuery;
+import com.flightapp.search.FlightSearchCache;
+import com.flightapp.search.FlightSearchCursor;
+import com.flightapp.search.FlightSearchQuery;
+import com.flightapp.search.FlightSort;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -29,13 +55,22 @@ class FlightSImplementationTest {
     private FlightRepository flightRepo;
 
     @Mock
-    private SeatRepository seatRepo;
+    private FlightInventoryCounter inventoryCounter;
+
+    @Spy
+    private InventoryLanes lanes = new InventoryLanes(new SimpleMeterRegistry(), 2);
+
+    @Spy
+    private FlightSearchCache searchCache = new FlightSearchCache(null, new SimpleMeterRegistry(), true, 100,
+            Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+    @Mock
+    private ApplicationEventPublisher events;
 
     @InjectMocks
     private FlightSImplementation service;
 
     private Flight flight;
-    private Seat seat;
 
     @BeforeEach
     void setup() {
@@ -43,7 +78,7 @@ class FlightSImplementationTest {
         flight = new Flight(UUID.randomUUID().toString(),"HYD", "DEL", LocalDateTime.now().plusDays(1),
         		LocalDateTime.now().plusDays(1).plusHours(2),100,new Price(2000, 3500),"A1","6E101"
         );
-        seat = new Seat("S1", "1A", true, flight.getId());
+        when(inventoryCounter.withLiveCount(any())).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
     }
 
     @Test
@@ -55,47 +90,88 @@ class FlightSImplementationTest {
 
     @Test
     void testUpdateFlight() {
-        when(flightRepo.save(any())).thenReturn(Mono.just(flight));
-        StepVerifier.create(service.updateFlight(flight.getId(), flight)).verifyComplete();
-        verify(flightRepo).save(any());
+        flight.setCapacity(120);
+        Flight edited = new Flight(null, "HYD", "BLR", flight.getArrivalTime(), flight.getDepartureTime(),
+                999, flight.getPrice(), "A1", "6E101");
+        when(flightRepo.findById(flight.getId())).thenReturn(Mono.just(flight));
+        when(flightRepo.updateDetails(any())).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        StepVerifier.create(service.updateFlight(flight.getId(), edited)).verifyComplete();
+        ArgumentCaptor<Flight> saved = ArgumentCaptor.forClass(Flight.class);
+        verify(flightRepo).updateDetails(saved.capture());
+        assertEquals(120, saved.getValue().getCapacity());
+        verify(flightRepo, never()).save(any());
+        verify(inventoryCounter, never()).resize(any(), anyInt());
+        verify(events).publishEvent(FlightChangedEvent.of(edited, flight));
     }
 
     @Test
-    void testGetSeatsByFlightId() {
-        when(seatRepo.findByFlightId(flight.getId())).thenReturn(Flux.just(seat));
-        StepVerifier.create(service.getSeatsByFlightId(flight.getId())).expectNext(seat).verifyComplete();
-        verify(seatRepo).findByFlightId(flight.getId());
+    void testUpdateFlight_NotFoundOrInvalidCapacity() {
+        when(flightRepo.findById("NONE")).thenReturn(Mono.empty());
+        StepVerifier.create(service.updateFlight("NONE", flight))
+            .expectErrorMatches(ex -> ex instanceof ResponseStatusException rse && rse.getStatusCode() == HttpStatus.NOT_FOUND)
+            .verify();
+        flight.setCapacity(0);
+        StepVerifier.create(service.updateFlight(flight.getId(), flight))
+            .expectErrorMatches(ex -> ex instanceof ResponseStatusException rse && rse.getStatusCode() == HttpStatus.BAD_REQUEST)
+            .verify();
     }
 
     @Test
-    void testUpdateSeats() {
-        when(seatRepo.findByFlightId(flight.getId())).thenReturn(Flux.just(seat));
-        when(seatRepo.delete(seat)).thenReturn(Mono.empty());
-        when(seatRepo.save(any())).thenReturn(Mono.just(seat));
-        StepVerifier.create(service.updateSeats(flight.getId(), List.of(seat))).verifyComplete();
+    void testUpdateFlight_CapacityEditGoesThroughCounter() {
+        Flight edited = new Flight(flight.getId(), "HYD", "DEL", flight.getArrivalTime(), flight.getDepartureTime(),
+                100, flight.getPrice(), "A1", "6E101", 150);
+        when(flightRepo.findById(flight.getId())).thenReturn(Mono.just(flight));
+        when(inventoryCounter.resize(flight.getId(), 150)).thenReturn(Mono.just(100));
+        when(flightRepo.updateDetails(any())).thenReturn(Mono.just(edited));
+        StepVerifier.create(service.updateFlight(flight.getId(), edited)).verifyComplete();
+        verify(inventoryCounter).resize(flight.getId(), 150);
     }
 
     @Test
-    void testReduceAvailableSeats_Success() {
+    void testUpdateFlight_CapacityBelowAvailableRejected() {
+        Flight edited = new Flight(flight.getId(), "HYD", "DEL", flight.getArrivalTime(), flight.getDepartureTime(),
+                100, flight.getPrice(), "A1", "6E101", 50);
         when(flightRepo.findById(flight.getId())).thenReturn(Mono.just(flight));
-        when(flightRepo.save(any())).thenReturn(Mono.just(flight));
-        StepVerifier.create(service.reduceAvailableSeats(flight.getId(), 5)).expectNextCount(1).verifyComplete();
-        verify(flightRepo).save(any());
+        when(inventoryCounter.resize(flight.getId(), 50))
+            .thenReturn(Mono.error(new ResponseStatusException(HttpStatus.CONFLICT, FlightInventoryCounter.OVER_CAPACITY)));
+        StepVerifier.create(service.updateFlight(flight.getId(), edited)).expectError(ResponseStatusException.class).verify();
+        verify(flightRepo, never()).updateDetails(any());
+    }
+
+    @Test
+    void testReduceAvailableSeats_Success() {
+        when(inventoryCounter.decrement(flight.getId(), 5)).thenReturn(Mono.just(95));
+        StepVerifier.create(service.reduceAvailableSeats(flight.getId(), 5))
+        .expectNext(new InventoryDTO(flight.getId(), 95)).verifyComplete();
+        verify(inventoryCounter).decrement(flight.getId(), 5);
     }
 
     @Test
     void testReduceAvailableSeats_NotEnoughSeats() {
-        flight.setAvailableSeats(1);
-        when(flightRepo.findById(flight.getId())).thenReturn(Mono.just(flight));
+        when(inventoryCounter.decrement(flight.getId(), 5)).thenReturn(Mono.error(
+                new ResponseStatusException(HttpStatus.CONFLICT, "Not enough seats available")));
         StepVerifier.create(service.reduceAvailableSeats(flight.getId(), 5))
-        .expectErrorMatches(ex -> ex.getMessage().equals("Not enough seats available")).verify();
+        .expectErrorMatches(ex -> ex instanceof ResponseStatusException
+                && ((ResponseStatusException) ex).getStatusCode() == HttpStatus.CONFLICT).verify();
     }
 
     @Test
     void testIncreaseAvailableSeats() {
-        when(flightRepo.findById(flight.getId())).thenReturn(Mono.just(flight));
-        when(flightRepo.save(any())).thenReturn(Mono.just(flight));
-        StepVerifier.create(service.increaseAvailableSeats(flight.getId(), 20)).expectNext(flight).verifyComplete();
+        when(inventoryCounter.adjust(flight.getId(), 20)).thenReturn(Mono.just(120));
+        StepVerifier.create(service.increaseAvailableSeats(flight.getId(), 20))
+        .expectNext(new InventoryDTO(flight.getId(), 120)).verifyComplete();
+        verify(events).publishEvent(FlightChangedEvent.inventory(flight.getId()));
+    }
+
+    @Test
+    void testAdjustInventory_ReportsRejectedAdjustmentsPerFlight() {
+        when(inventoryCounter.adjust("F1", -2)).thenReturn(Mono.just(8));
+        when(inventoryCounter.adjust("F2", 50)).thenReturn(Mono.error(
+                new ResponseStatusException(HttpStatus.CONFLICT, "Available seats cannot exceed flight capacity")));
+        StepVerifier.create(service.adjustInventory(List.of(new InventoryAdjustmentDTO("F1", -2), new InventoryAdjustmentDTO("F2", 50))))
+        .expectNext(new InventoryDTO("F1", 8))
+        .expectNext(new InventoryDTO("F2", null, "Available seats cannot exceed flight capacity"))
+        .verifyComplete();
     }
 
     @Test
@@ -107,7 +183,86 @@ class FlightSImplementationTest {
 
     @Test
     void testSearchFlights() {
-        when(flightRepo.findAll()).thenReturn(Flux.just(flight));
-        StepVerifier.create(service.searchFlights("HYD", "DEL")).expectNext(flight).verifyComplete();
+        when(flightRepo.search(any())).thenReturn(Flux.just(flight));
+        StepVerifier.create(service.searchFlights(search(null)))
+            .expectNext(new FlightSearchResultDTO(List.of(flight), null)).verifyComplete();
+    }
+
+    @Test
+    void testSearchFlights_IssuesCursorWhenMoreRowsFollow() {
+        Flight later = new Flight("F2", "HYD", "DEL", flight.getArrivalTime().plusHours(1), flight.getDepartureTime().plusHours(1),
+                50, new Price(2500, 4000), "A1", "6E102");
+        SearchRequestDTO request = search(null);
+        request.setLimit(1);
+        ArgumentCaptor<FlightSearchQuery> query = ArgumentCaptor.forClass(FlightSearchQuery.class);
+        when(flightRepo.search(query.capture())).thenReturn(Flux.just(flight, later));
+        StepVerifier.create(service.searchFlights(request))
+            .expectNextMatches(page -> page.getFlights().equals(List.of(flight))
+                    && FlightSearchCursor.decode(page.getNextCursor(), FlightSort.DEPARTURE).id().equals(flight.getId()))
+            .verifyComplete();
+        assertEquals(2, query.getValue().passengers());
+        assertEquals(1, query.getValue().limit());
+    }
+
+    @Test
+    void testSearchFlights_RejectsCursorOfAnotherSortOrder() {
+        SearchRequestDTO request = search(new FlightSearchCursor(FlightSort.PRICE, 2000.0, "F1").encode());
+        StepVerifier.create(service.searchFlights(request))
+            .expectErrorMatches(ex -> ex instanceof ResponseStatusException rse && rse.getStatusCode() == HttpStatus.BAD_REQUEST)
+            .verify();
+        verify(flightRepo, never()).search(any());
+    }
+
+    @Test
+    void testSearchFlights_CachedUntilRouteChanges() {
+        when(flightRepo.search(any())).thenReturn(Flux.just(flight));
+        StepVerifier.create(service.searchFlights(search(null))).expectNextCount(1).verifyComplete();
+        StepVerifier.create(service.searchFlights(search(null))).expectNextCount(1).verifyComplete();
+        verify(flightRepo, times(1)).search(any());
+        searchCache.onFlightChanged(FlightChangedEvent.of(flight));
+        StepVerifier.create(service.searchFlights(search(null))).expectNextCount(1).verifyComplete();
+        verify(flightRepo, times(2)).search(any());
+    }
+
+    @Test
+    void testSearchFlights_LiveCountsDoNotLeakIntoCache() {
+        when(flightRepo.search(any())).thenReturn(Flux.just(flight));
+        doAnswer(inv -> {
+            Flight live = inv.getArgument(0);
+            live.setAvailableSeats(1);
+            return Mono.just(live);
+        }).when(inventoryCounter).withLiveCount(any());
+        StepVerifier.create(service.searchFlights(search(null)))
+            .expectNextMatches(page -> page.getFlights().isEmpty()).verifyComplete();
+        assertEquals(100, flight.getAvailableSeats());
+    }
+
+    @Test
+    void testListFlights_ProjectsFieldsAndIssuesCursor() {
+        Flight second = new Flight("F2", "HYD", "BOM", null, null, 10, null, "A1", "6E102");
+        ArgumentCaptor<FlightListQuery> query = ArgumentCaptor.forClass(FlightListQuery.class);
+        when(flightRepo.list(query.capture())).thenReturn(Flux.just(flight, second));
+        StepVerifier.create(service.listFlights("F0", 1, "toPlace, availableSeats"))
+            .expectNext(new FlightPageDTO(List.of(Map.of("id", flight.getId(), "toPlace", "DEL", "availableSeats", 100)), flight.getId()))
+            .verifyComplete();
+        assertEquals(new FlightListQuery("F0", Set.of(FlightField.ID, FlightField.TO_PLACE, FlightField.AVAILABLE_SEATS), 2), query.getValue());
+        verify(inventoryCounter, times(2)).withLiveCount(any());
+    }
+
+    @Test
+    void testStreamFlights_RejectsUnknownField() {
+        StepVerifier.create(service.streamFlights(null, null, "crew"))
+            .expectErrorMatches(ex -> ex instanceof ResponseStatusException rse && rse.getStatusCode() == HttpStatus.BAD_REQUEST)
+            .verify();
+        verify(flightRepo, never()).list(any());
+    }
+
+    private static SearchRequestDTO search(String cursor) {
+        SearchRequestDTO request = new SearchRequestDTO();
+        request.setFrom("HYD");
+        request.setTo("DEL");
+        request.setPassengers(2);
+        request.setCursor(cursor);
+        return request;
     }
 }
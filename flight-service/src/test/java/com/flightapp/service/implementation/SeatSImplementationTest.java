@@ -1,19 +1,57 @@
 package com.flightapp.service.implementation;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.bson.BsonDocument;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.flightapp.dto.AddSeatsResultDTO;
+import com.flightapp.dto.SeatAvailabilityDTO;
+import com.flightapp.dto.SeatChangesDTO;
+import com.flightapp.entity.CabinAvailability;
 import com.flightapp.entity.Seat;
+import com.flightapp.entity.SeatAvailability;
+import com.flightapp.exception.SeatConflictException;
+import com.flightapp.inventory.FlightInventoryCounter;
+import com.flightapp.inventory.InventoryLanes;
+import com.flightapp.inventory.SeatAvailabilityCounter;
+import com.flightapp.inventory.SeatMapReplacer;
 import com.flightapp.repository.SeatRepository;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -21,6 +59,21 @@ import reactor.test.StepVerifier;
 class SeatSImplementationTest {
 	@Mock
     private SeatRepository seatRepo;
+	@Mock
+    private ReactiveMongoTemplate mongoTemplate;
+	@Mock
+    private FlightInventoryCounter inventoryCounter;
+	@Mock
+    private SeatMapReplacer seatMapReplacer;
+
+    @Spy
+    private InventoryLanes lanes = new InventoryLanes(new SimpleMeterRegistry(), 2);
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private SeatAvailabilityCounter availabilityCounter;
 
     @InjectMocks
     private SeatSImplementation service;
@@ -29,6 +82,9 @@ class SeatSImplementationTest {
     void setup() {
         MockitoAnnotations.openMocks(this);
         seat = new Seat("S1", "1A", true, "F101");
+        when(availabilityCounter.adjust(any(), anyList(), anyInt(), anyLong())).thenReturn(Mono.empty());
+        when(availabilityCounter.nextVersion(any())).thenReturn(Mono.just(8L), Mono.just(9L));
+        when(availabilityCounter.recount(any())).thenReturn(Mono.empty());
     }
 
     @Test
@@ -40,10 +96,210 @@ class SeatSImplementationTest {
 
     @Test
     void testUpdateSeats() {
+        when(seatMapReplacer.upsert("F101", List.of(seat))).thenReturn(Mono.empty());
+        when(seatMapReplacer.removeAllExcept("F101", Set.of("1A"))).thenReturn(Mono.empty());
+        StepVerifier.create(service.updateSeats("F101", Flux.just(seat, new Seat(null, "1A", false, "F101")))).verifyComplete();
+        verify(seatMapReplacer).upsert("F101", List.of(seat));
+        verify(seatMapReplacer).removeAllExcept("F101", Set.of("1A"));
+        verify(availabilityCounter).recount("F101");
+        verify(seatRepo, never()).delete(any());
+    }
+
+    @Test
+    void testUpdateSeats_StreamedInBatches() {
+        List<Seat> upload = IntStream.range(0, SeatMapReplacer.BATCH_SIZE + 1)
+                .mapToObj(i -> new Seat(null, "S" + i, true, "F101")).toList();
+        when(seatMapReplacer.upsert(eq("F101"), anyList())).thenReturn(Mono.empty());
+        when(seatMapReplacer.removeAllExcept(eq("F101"), any())).thenReturn(Mono.empty());
+        StepVerifier.create(service.updateSeats("F101", Flux.fromIterable(upload))).verifyComplete();
+        verify(seatMapReplacer).upsert("F101", upload.subList(0, SeatMapReplacer.BATCH_SIZE));
+        verify(seatMapReplacer).upsert("F101", upload.subList(SeatMapReplacer.BATCH_SIZE, upload.size()));
+        verify(availabilityCounter).recount("F101");
+    }
+
+    @Test
+    void testUpdateSeats_FailedUploadKeepsSeatsAndIsRecounted() {
+        Flux<Seat> upload = Flux.range(0, SeatMapReplacer.BATCH_SIZE)
+                .map(i -> new Seat(null, "S" + i, true, "F101"))
+                .concatWith(Flux.just(new Seat(null, "", true, "F101")));
+        when(seatMapReplacer.upsert(eq("F101"), anyList())).thenReturn(Mono.empty());
+        StepVerifier.create(service.updateSeats("F101", upload))
+                .expectErrorMatches(ex -> ex instanceof ResponseStatusException e && e.getStatusCode() == HttpStatus.BAD_REQUEST)
+                .verify();
+        verify(seatMapReplacer).upsert(eq("F101"), anyList());
+        verify(seatMapReplacer, never()).removeAllExcept(any(), any());
+        verify(availabilityCounter).recount("F101");
+    }
+
+    @Test
+    void testInstallSeatMap_ResetsCounterToSellableSeats() {
+        Seat blocked = new Seat(null, "1B", false, "F101");
+        when(mongoTemplate.exists(any(Query.class), eq(Seat.class))).thenReturn(Mono.just(false));
+        when(inventoryCounter.reset("F101", 1)).thenReturn(Mono.just(1));
+        when(seatMapReplacer.replace("F101", List.of(seat, blocked))).thenReturn(Mono.empty());
+        StepVerifier.create(service.installSeatMap("F101", List.of(seat, blocked))).expectNext(1).verifyComplete();
+        verify(seatMapReplacer).replace("F101", List.of(seat, blocked));
+        verify(availabilityCounter).recount("F101");
+    }
+
+    @Test
+    void testInstallSeatMap_RejectedWhenFlightHasSeats() {
+        when(mongoTemplate.exists(any(Query.class), eq(Seat.class))).thenReturn(Mono.just(true));
+        StepVerifier.create(service.installSeatMap("F101", List.of(seat)))
+                .expectErrorMatches(ex -> ex instanceof ResponseStatusException e && e.getStatusCode() == HttpStatus.CONFLICT)
+                .verify();
+        verify(inventoryCounter, never()).reset(any(), anyInt());
+        verify(seatMapReplacer, never()).replace(any(), any());
+    }
+
+    @Test
+    void testUpdateSeats_BlankSeatNumberRejectedBeforeTheLane() {
+        StepVerifier.create(service.updateSeats("F101", Flux.just(seat, new Seat(null, " ", true, "F101"))))
+                .expectErrorMatches(ex -> ex instanceof ResponseStatusException e && e.getStatusCode() == HttpStatus.BAD_REQUEST)
+                .verify();
+        verify(seatMapReplacer, never()).upsert(any(), any());
+        verify(availabilityCounter, never()).recount(any());
+    }
+
+    @Test
+    void testAddSeats_InsertsInOneBulkWrite() {
+        ReactiveBulkOperations bulk = mock(ReactiveBulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Seat.class)).thenReturn(bulk);
+        when(bulk.insert(anyList())).thenReturn(bulk);
+        when(bulk.execute()).thenReturn(Mono.just(BulkWriteResult.acknowledged(2, 0, 0, 0, List.of(), List.of())));
+        StepVerifier.create(service.addSeats("F101", List.of(seat, new Seat(null, "1B", true, null))))
+            .expectNext(new AddSeatsResultDTO(2, 0)).verifyComplete();
+        verify(seatRepo, never()).save(any());
+    }
+
+    @Test
+    void testAddSeats_CountsDuplicatesAsSkipped() {
+        ReactiveBulkOperations bulk = mock(ReactiveBulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Seat.class)).thenReturn(bulk);
+        when(bulk.insert(anyList())).thenReturn(bulk);
+        MongoBulkWriteException duplicate = new MongoBulkWriteException(
+            BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of()),
+            List.of(new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), 0)),
+            null, new ServerAddress(), Set.of());
+        when(bulk.execute()).thenReturn(Mono.error(duplicate));
+        StepVerifier.create(service.addSeats("F101", List.of(seat, new Seat(null, "1B", true, null))))
+            .expectNext(new AddSeatsResultDTO(1, 1)).verifyComplete();
+    }
+
+    @Test
+    void testBookSeats() {
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Seat.class)))
+            .thenReturn(Mono.just(UpdateResult.acknowledged(2, 2L, null)));
+        StepVerifier.create(service.bookSeats("F101", List.of("1A", "1B"))).verifyComplete();
+        verify(mongoTemplate, times(1)).updateMulti(any(Query.class), any(Update.class), eq(Seat.class));
+        verify(seatRepo, never()).saveAll(any(Iterable.class));
+        verify(availabilityCounter).adjust("F101", List.of("1A", "1B"), -1, 8L);
+    }
+
+    @Test
+    void testBookSeats_PartialClaimRolledBackWithConflicts() {
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Seat.class)))
+            .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+        when(seatRepo.findByFlightIdAndSeatNumberIn("F101", List.of("1A", "1B")))
+            .thenReturn(Flux.just(seat, new Seat("S2", "1B", false, "F101")));
+        StepVerifier.create(service.bookSeats("F101", List.of("1A", "1B")))
+            .expectErrorMatches(ex -> ex instanceof SeatConflictException conflict
+                    && conflict.getConflictingSeats().equals(List.of("1B")))
+            .verify();
+        verify(mongoTemplate, times(2)).updateMulti(any(Query.class), any(Update.class), eq(Seat.class));
+    }
+
+    @Test
+    void testBookSeats_UnknownSeat() {
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Seat.class)))
+            .thenReturn(Mono.just(UpdateResult.acknowledged(0, 0L, null)));
+        when(seatRepo.findByFlightIdAndSeatNumberIn("F101", List.of("9Z"))).thenReturn(Flux.empty());
+        StepVerifier.create(service.bookSeats("F101", List.of("9Z")))
+            .expectErrorMatches(ex -> ex instanceof ResponseStatusException rse && rse.getStatusCode().value() == 400)
+            .verify();
+    }
+
+    @Test
+    void testBookSeats_ConflictGoneAfterRollbackIsRetryable() {
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Seat.class)))
+            .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+        when(seatRepo.findByFlightIdAndSeatNumberIn("F101", List.of("1A", "1B")))
+            .thenReturn(Flux.just(seat, new Seat("S2", "1B", true, "F101")));
+        StepVerifier.create(service.bookSeats("F101", List.of("1A", "1B")))
+            .expectErrorMatches(ex -> !(ex instanceof SeatConflictException)
+                    && ex instanceof ResponseStatusException rse && rse.getStatusCode() == HttpStatus.CONFLICT)
+            .verify();
+    }
+
+    @Test
+    void testReserveSeats() {
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Seat.class)))
+            .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+        when(inventoryCounter.decrement("F101", 1)).thenReturn(Mono.just(99));
+        StepVerifier.create(service.reserveSeats("F101", List.of("1A")))
+            .expectNextMatches(r -> r.getAvailableSeats() == 99 && r.getSeatNumbers().equals(List.of("1A")))
+            .verifyComplete();
+        verify(mongoTemplate, times(1)).updateMulti(any(Query.class), any(Update.class), eq(Seat.class));
+    }
+
+    @Test
+    void testReserveSeats_ReleasesSeatsWhenInventoryExhausted() {
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Seat.class)))
+            .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+        when(inventoryCounter.decrement("F101", 1))
+            .thenReturn(Mono.error(new ResponseStatusException(HttpStatus.CONFLICT, "Not enough seats available or Flight not found")));
+        StepVerifier.create(service.reserveSeats("F101", List.of("1A")))
+            .expectError(ResponseStatusException.class).verify();
+        verify(mongoTemplate, times(2)).updateMulti(any(Query.class), any(Update.class), eq(Seat.class));
+        verify(availabilityCounter).adjust("F101", List.of("1A"), -1, 8L);
+        verify(availabilityCounter).adjust("F101", List.of("1A"), 1, 9L);
+    }
+
+    @Test
+    void testFindSeats_OneQueryFilteredPerFlight() {
+        when(mongoTemplate.find(any(Query.class), eq(Seat.class))).thenReturn(Flux.just(
+                new Seat("S1", "1A", true, "F1"), new Seat("S2", "1B", false, "F1"), new Seat("S3", "1A", false, "F2")));
+        StepVerifier.create(service.findSeats(Map.of("F1", List.of("1A"), "F2", List.of("1A", "1B"))))
+            .expectNextMatches(s -> s.getFlightId().equals("F1") && s.getSeatNumber().equals("1A"))
+            .expectNextMatches(s -> s.getFlightId().equals("F2") && !s.isAvailable())
+            .verifyComplete();
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Seat.class));
+    }
+
+    @Test
+    void testGetSeatChanges_QueriesSeatsStampedAfterVersion() {
+        SeatAvailability counts = new SeatAvailability("F101", 2, 1, List.of());
+        counts.setVersion(7);
+        counts.setLayoutVersion(3);
+        when(availabilityCounter.find(List.of("F101"))).thenReturn(Flux.just(counts));
+        when(mongoTemplate.find(any(Query.class), eq(Seat.class))).thenReturn(Flux.just(seat));
+        StepVerifier.create(service.getSeatChanges("F101", 5L))
+            .expectNext(new SeatChangesDTO("F101", 7, false, List.of(seat))).verifyComplete();
+        StepVerifier.create(service.getSeatChanges("F101", 7L))
+            .expectNext(new SeatChangesDTO("F101", 7, false, List.of())).verifyComplete();
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Seat.class));
+    }
+
+    @Test
+    void testGetSeatChanges_FullMapWhenLayoutChangedSince() {
+        SeatAvailability counts = new SeatAvailability("F101", 1, 1, List.of());
+        counts.setVersion(7);
+        counts.setLayoutVersion(6);
+        when(availabilityCounter.find(List.of("F101"))).thenReturn(Flux.just(counts));
         when(seatRepo.findByFlightId("F101")).thenReturn(Flux.just(seat));
-        when(seatRepo.delete(seat)).thenReturn(Mono.empty());
-        when(seatRepo.save(seat)).thenReturn(Mono.just(seat));
-        StepVerifier.create(service.updateSeats("F101", List.of(seat))).verifyComplete();
-        verify(seatRepo).findByFlightId("F101");
+        StepVerifier.create(service.getSeatChanges("F101", 5L))
+            .expectNext(new SeatChangesDTO("F101", 7, true, List.of(seat))).verifyComplete();
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Seat.class));
+    }
+
+    @Test
+    void testGetAvailability_InRequestOrder() {
+        SeatAvailability f1 = new SeatAvailability("F1", 3, 1, List.of(new CabinAvailability("ECONOMY", 3, 1)));
+        SeatAvailability f2 = new SeatAvailability("F2", 2, 2, List.of());
+        when(availabilityCounter.find(List.of("F2", "F3", "F1"))).thenReturn(Flux.just(f1, f2));
+        StepVerifier.create(service.getAvailability(List.of("F2", "F3", "F1")))
+            .expectNext(new SeatAvailabilityDTO("F2", 2, 2, List.of()))
+            .expectNext(new SeatAvailabilityDTO("F1", 3, 1, List.of(new CabinAvailability("ECONOMY", 3, 1))))
+            .verifyComplete();
     }
 }